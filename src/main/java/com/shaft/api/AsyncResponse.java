@@ -0,0 +1,83 @@
+package com.shaft.api;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A request that is being sent in the background. Its status code is checked
+ * in the background as well, so its response completes exceptionally when the
+ * status code doesn't match, even if it is never reported.
+ * <p>
+ * The report steps are attached to the test of the thread that writes them,
+ * so the request and its response are only reported when report is called,
+ * from the test's own thread.
+ */
+public class AsyncResponse {
+    private final RequestBuilder request;
+    private final String requestURL;
+    private final CompletableFuture<Response> sentResponse;
+    private final CompletableFuture<Response> validatedResponse;
+    private boolean isReported = false;
+    private Response reportedResponse;
+    private AssertionError reportedFailure;
+
+    AsyncResponse(RequestBuilder request) {
+        this.request = request;
+        // the request is prepared on the test's thread, and only sent in the background
+        this.requestURL = request.prepareRequestURL();
+        RequestSpecification specs = request.prepareRequestSpecs();
+        this.sentResponse = RequestExecutor.supplyAsync(() -> request.sendRequest(requestURL, specs));
+        this.validatedResponse = sentResponse.thenApply(this::validateStatusCode);
+    }
+
+    /**
+     * @return the response, without reporting it, which completes exceptionally
+     * with an AssertionError if the request failed or its status code didn't
+     * match the target status code
+     */
+    public CompletableFuture<Response> getResponse() {
+        // a copy, so that completing it doesn't change the outcome that is reported
+        return validatedResponse.copy();
+    }
+
+    /**
+     * Waits for the response, then validates and reports it like
+     * RequestBuilder.performRequest. It is reported only once, even if this is
+     * called many times.
+     *
+     * @return the validated response
+     */
+    public synchronized Response report() {
+        if (!isReported) {
+            isReported = true;
+            Response response = null;
+            Exception sendingFailure = null;
+            try {
+                response = sentResponse.join();
+            } catch (CompletionException | CancellationException e) {
+                sendingFailure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            try {
+                reportedResponse = request.reportResponse(requestURL, response, sendingFailure);
+            } catch (AssertionError failure) {
+                reportedFailure = failure;
+            }
+        }
+        if (reportedFailure != null) {
+            throw reportedFailure;
+        }
+        return reportedResponse;
+    }
+
+    private Response validateStatusCode(Response response) {
+        if (response == null || response.getStatusCode() != request.getTargetStatusCode()) {
+            throw new AssertionError("Expected the status code [" + request.getTargetStatusCode() + "] but found ["
+                    + (response == null ? "no response" : response.getStatusCode()) + "] for the request [" + requestURL + "].");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,134 @@
+package com.shaft.api;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A shared pool of keep-alive HTTP connections, which is used by all
+ * RestActions sessions instead of opening a new connection for every request.
+ * The pool is limited in total and per route (scheme, host, and port), and
+ * idle connections are kept alive for the duration that the server allows, or
+ * for apiKeepAliveTimeout seconds if the server doesn't specify one.
+ * <p>
+ * The base request specifications, which only depend on the service URI and
+ * the session headers and cookies, are built once and reused by all the
+ * requests that share them.
+ */
+class HttpConnectionPool implements HttpClientConfig.HttpClientFactory {
+    private static final int BASE_SPECS_CACHE_SIZE = 100;
+    private static final Map<List<Object>, RequestSpecification> baseSpecs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, RequestSpecification> eldest) {
+            return size() > BASE_SPECS_CACHE_SIZE;
+        }
+    };
+    private static PoolingClientConnectionManager connectionManager;
+    private static RestAssuredConfig config;
+    private static String configSettings;
+
+    private final PoolingClientConnectionManager pooledConnectionManager;
+    private final long keepAliveMillis;
+
+    private HttpConnectionPool(PoolingClientConnectionManager pooledConnectionManager, long keepAliveMillis) {
+        this.pooledConnectionManager = pooledConnectionManager;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * Returns the request specifications that are shared by all the requests of
+     * this service and session, building them if this is the first request that
+     * uses them
+     *
+     * @param serviceURI     the base URI of the target service
+     * @param sessionHeaders the headers of the current session
+     * @param sessionCookies the cookies of the current session
+     * @param config         the configuration returned by getConfig
+     * @return the cached base request specifications, which must not be modified
+     */
+    static synchronized RequestSpecification getBaseSpecs(String serviceURI, Map<String, String> sessionHeaders,
+                                                          Map<String, Object> sessionCookies, RestAssuredConfig config) {
+        // the key is a snapshot, so that later changes to the session create new specs
+        Map<String, String> headers = new HashMap<>(sessionHeaders);
+        Map<String, Object> cookies = new HashMap<>(sessionCookies);
+        return baseSpecs.computeIfAbsent(Arrays.asList(serviceURI, headers, cookies, config), key -> new RequestSpecBuilder()
+                .addHeaders(headers)
+                .addCookies(cookies)
+                .setConfig(config)
+                .build());
+    }
+
+    /**
+     * Returns the RestAssured configuration for the current timeouts and pool
+     * settings, and creates a new connection pool when the settings change
+     *
+     * @param connectionTimeout        the timeout until a connection is
+     *                                 established, in seconds
+     * @param socketTimeout            the timeout between two consecutive data
+     *                                 packets, in seconds
+     * @param connectionManagerTimeout the timeout to wait for a connection from
+     *                                 the pool, in seconds
+     * @return the shared RestAssured configuration
+     */
+    static synchronized RestAssuredConfig getConfig(int connectionTimeout, int socketTimeout, int connectionManagerTimeout) {
+        int poolSize = Integer.parseInt(System.getProperty("apiConnectionPoolSize", "100").trim());
+        int poolSizePerRoute = Integer.parseInt(System.getProperty("apiConnectionPoolSizePerRoute", "20").trim());
+        int keepAliveTimeout = Integer.parseInt(System.getProperty("apiKeepAliveTimeout", "30").trim());
+        String settings = connectionTimeout + ";" + socketTimeout + ";" + connectionManagerTimeout + ";"
+                + poolSize + ";" + poolSizePerRoute + ";" + keepAliveTimeout;
+        if (config == null || !settings.equals(configSettings)) {
+            closeAllConnections();
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                    .setParam("http.connection.timeout", connectionTimeout * 1000)
+                    .setParam("http.socket.timeout", socketTimeout * 1000)
+                    .setParam("http.connection-manager.timeout", connectionManagerTimeout * 1000);
+            if (poolSize > 0) {
+                connectionManager = new PoolingClientConnectionManager();
+                connectionManager.setMaxTotal(poolSize);
+                connectionManager.setDefaultMaxPerRoute(poolSizePerRoute > 0 ? Math.min(poolSizePerRoute, poolSize) : poolSize);
+                // the same client is reused, otherwise RestAssured shuts its connection manager down after every request
+                httpClientConfig = httpClientConfig
+                        .httpClientFactory(new HttpConnectionPool(connectionManager, TimeUnit.SECONDS.toMillis(keepAliveTimeout)))
+                        .reuseHttpClientInstance();
+            }
+            // fixing issue with non-unicode content being encoded with a non UTF-8 charset
+            config = (new RestAssuredConfig()).encoderConfig((new EncoderConfig()).defaultContentCharset("UTF-8")).and()
+                    .httpClient(httpClientConfig);
+            configSettings = settings;
+        }
+        return config;
+    }
+
+    /**
+     * Closes all the idle pooled connections, and clears the cached
+     * configuration and specifications. Requests that are still running aren't
+     * interrupted.
+     */
+    static synchronized void closeAllConnections() {
+        if (connectionManager != null) {
+            connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+            connectionManager = null;
+        }
+        baseSpecs.clear();
+        config = null;
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        DefaultHttpClient httpClient = new DefaultHttpClient(pooledConnectionManager);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAliveMillis > 0 ? serverKeepAliveMillis : keepAliveMillis;
+        });
+        return httpClient;
+    }
+}
@@ -0,0 +1,98 @@
+package com.shaft.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent latency histogram with logarithmic buckets, in the same way as
+ * HdrHistogram: every power of two is split into 128 linear sub-buckets, so
+ * any recorded value is reported within 1% of its actual value, using a fixed
+ * amount of memory regardless of how many values are recorded.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS_COUNT = SUB_BUCKETS_COUNT / 2;
+    private static final int BUCKETS_COUNT = SUB_BUCKETS_COUNT + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maximumValue = new AtomicLong();
+
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKETS_COUNT) {
+            return (int) value;
+        }
+        // the number of low bits that are dropped, so that the value fits in the upper half of the sub-buckets
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS_COUNT + (shift - 1) * HALF_SUB_BUCKETS_COUNT
+                + (int) (value >>> shift) - HALF_SUB_BUCKETS_COUNT;
+    }
+
+    private static long getHighestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS_COUNT) / HALF_SUB_BUCKETS_COUNT + 1;
+        long subBucket = (index - SUB_BUCKETS_COUNT) % HALF_SUB_BUCKETS_COUNT + HALF_SUB_BUCKETS_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @param value the value to be recorded, negative values are recorded as 0
+     */
+    void record(long value) {
+        long recordedValue = Math.max(0, value);
+        counts.incrementAndGet(getIndex(recordedValue));
+        totalCount.incrementAndGet();
+        maximumValue.accumulateAndGet(recordedValue, Math::max);
+    }
+
+    long getTotalCount() {
+        return totalCount.get();
+    }
+
+    long getMaximumValue() {
+        return maximumValue.get();
+    }
+
+    /**
+     * @param percentile the target percentile, between 0 and 100
+     * @return the value that the target percentage of recorded values are less
+     * than or equal to, or 0 if nothing was recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * total));
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKETS_COUNT; index++) {
+            cumulativeCount += counts.get(index);
+            if (cumulativeCount >= targetCount) {
+                return Math.min(getHighestEquivalentValue(index), maximumValue.get());
+            }
+        }
+        return maximumValue.get();
+    }
+
+    /**
+     * @return the recorded values as csv rows of the highest value of each
+     * non-empty bucket, its count, and the cumulative percentile
+     */
+    String toCsv() {
+        StringBuilder csv = new StringBuilder("Value,Count,Percentile\n");
+        long total = totalCount.get();
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKETS_COUNT; index++) {
+            long count = counts.get(index);
+            if (count > 0) {
+                cumulativeCount += count;
+                csv.append(getHighestEquivalentValue(index)).append(',').append(count).append(',')
+                        .append(String.format("%.3f", 100.0 * cumulativeCount / total)).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.shaft.api;
+
+import com.shaft.tools.io.ReportManager;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays one or more requests as a load profile for a fixed duration, either
+ * at a constant rate, at a rate that ramps up linearly, or as a fixed number
+ * of virtual users that send the requests back to back.
+ * <p>
+ * Responses aren't reported one by one. Instead, the latencies are recorded
+ * in a histogram, and the percentiles, throughput, and error rate are
+ * reported once the load test is done. When the requests are sent at a
+ * target rate, the latency is measured from the time that the request should
+ * have been sent, so that a slow server isn't hidden by the requests that
+ * were delayed because of it.
+ */
+public class LoadTestBuilder {
+    private final List<RequestBuilder> requests;
+    private final String loadTestName;
+    private LoadProfile loadProfile = LoadProfile.CONSTANT_RATE;
+    private Duration duration = Duration.ofSeconds(60);
+    private int startRate = 10;
+    private int targetRate = 10;
+    private int virtualUsers = 1;
+
+    LoadTestBuilder(String loadTestName, List<RequestBuilder> requests) {
+        this.loadTestName = loadTestName;
+        this.requests = new ArrayList<>(requests);
+    }
+
+    /**
+     * Sends the requests at a constant rate
+     *
+     * @param requestsPerSecond the target rate
+     * @return self-reference to be used for chaining actions
+     */
+    public LoadTestBuilder setConstantRate(int requestsPerSecond) {
+        this.loadProfile = LoadProfile.CONSTANT_RATE;
+        this.startRate = requestsPerSecond;
+        this.targetRate = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sends the requests at a rate that increases linearly over the duration of
+     * the load test
+     *
+     * @param startRate  the rate at the start of the load test, in requests per
+     *                   second
+     * @param targetRate the rate at the end of the load test, in requests per
+     *                   second
+     * @return self-reference to be used for chaining actions
+     */
+    public LoadTestBuilder setRampUp(int startRate, int targetRate) {
+        this.loadProfile = LoadProfile.RAMP_UP;
+        this.startRate = startRate;
+        this.targetRate = targetRate;
+        return this;
+    }
+
+    /**
+     * Sends the requests from a fixed number of virtual users, each of which
+     * sends its next request as soon as it receives the previous response
+     *
+     * @param virtualUsers the number of concurrent virtual users
+     * @return self-reference to be used for chaining actions
+     */
+    public LoadTestBuilder setVirtualUsers(int virtualUsers) {
+        this.loadProfile = LoadProfile.VIRTUAL_USERS;
+        this.virtualUsers = virtualUsers;
+        return this;
+    }
+
+    public LoadTestBuilder setDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Runs the load test, then reports and attaches its results
+     *
+     * @return the results of the load test
+     */
+    public LoadTestResults performLoadTest() {
+        if (requests.isEmpty() || duration.isZero() || duration.isNegative()
+                || (loadProfile == LoadProfile.VIRTUAL_USERS ? virtualUsers <= 0 : Math.max(startRate, targetRate) <= 0)) {
+            RestActions.failAction("Invalid load test [" + loadTestName + "]: it needs at least one request, a positive duration, and a positive rate or number of virtual users.");
+        }
+        LatencyHistogram latencies = new LatencyHistogram();
+        AtomicLong errorsCount = new AtomicLong();
+        long startTime = System.nanoTime();
+        if (loadProfile == LoadProfile.VIRTUAL_USERS) {
+            runVirtualUsers(latencies, errorsCount, startTime);
+        } else {
+            runAtTargetRate(latencies, errorsCount, startTime);
+        }
+        LoadTestResults results = new LoadTestResults(loadTestName, getLoadProfileDescription(), latencies,
+                errorsCount.get(), Duration.ofNanos(System.nanoTime() - startTime));
+        results.report();
+        return results;
+    }
+
+    private void runAtTargetRate(LatencyHistogram latencies, AtomicLong errorsCount, long startTime) {
+        long durationNanos = duration.toNanos();
+        Set<CompletableFuture<Boolean>> pendingRequests = ConcurrentHashMap.newKeySet();
+        long intendedOffsetNanos = 0;
+        for (long requestNumber = 0; intendedOffsetNanos < durationNanos; requestNumber++) {
+            long intendedStartTime = startTime + intendedOffsetNanos;
+            LockSupport.parkNanos(intendedStartTime - System.nanoTime());
+            RequestBuilder request = requests.get((int) (requestNumber % requests.size()));
+            CompletableFuture<Boolean> pendingRequest = RequestExecutor
+                    .supplyAsync(() -> sendAndRecord(request, intendedStartTime, latencies, errorsCount));
+            pendingRequests.add(pendingRequest);
+            pendingRequest.whenComplete((result, throwable) -> pendingRequests.remove(pendingRequest));
+            intendedOffsetNanos += (long) (TimeUnit.SECONDS.toNanos(1) / getRate(intendedOffsetNanos, durationNanos));
+        }
+        CompletableFuture.allOf(pendingRequests.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void runVirtualUsers(LatencyHistogram latencies, AtomicLong errorsCount, long startTime) {
+        long endTime = startTime + duration.toNanos();
+        // every virtual user has its own thread, because it waits for its responses for the whole load test
+        ExecutorService virtualUsersExecutor = Executors.newFixedThreadPool(virtualUsers, runnable -> {
+            Thread thread = new Thread(runnable, "SHAFT-VirtualUser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            for (int user = 0; user < virtualUsers; user++) {
+                int firstRequest = user;
+                users.add(virtualUsersExecutor.submit(() -> {
+                    for (long requestNumber = firstRequest; System.nanoTime() < endTime; requestNumber++) {
+                        sendAndRecord(requests.get((int) (requestNumber % requests.size())), System.nanoTime(),
+                                latencies, errorsCount);
+                    }
+                }));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } catch (ExecutionException e) {
+            ReportManager.log(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            virtualUsersExecutor.shutdownNow();
+        }
+    }
+
+    private boolean sendAndRecord(RequestBuilder request, long intendedStartTime, LatencyHistogram latencies,
+                                  AtomicLong errorsCount) {
+        boolean isSuccessful;
+        try {
+            Response response = request.sendRequest();
+            isSuccessful = response != null && response.getStatusCode() == request.getTargetStatusCode();
+        } catch (Exception e) {
+            isSuccessful = false;
+        }
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartTime));
+        if (!isSuccessful) {
+            errorsCount.incrementAndGet();
+        }
+        return isSuccessful;
+    }
+
+    private double getRate(long offsetNanos, long durationNanos) {
+        double rate = startRate + (targetRate - startRate) * ((double) offsetNanos / durationNanos);
+        // a ramp that starts from 0 still sends its first request
+        return Math.max(rate, 1);
+    }
+
+    private String getLoadProfileDescription() {
+        return switch (loadProfile) {
+            case CONSTANT_RATE -> "Constant rate of " + targetRate + " requests per second for " + duration.getSeconds() + " seconds";
+            case RAMP_UP -> "Ramp up from " + startRate + " to " + targetRate + " requests per second over " + duration.getSeconds() + " seconds";
+            case VIRTUAL_USERS -> virtualUsers + " virtual users for " + duration.getSeconds() + " seconds";
+        };
+    }
+
+    private enum LoadProfile {
+        CONSTANT_RATE, RAMP_UP, VIRTUAL_USERS
+    }
+}
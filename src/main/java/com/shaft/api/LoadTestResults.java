@@ -0,0 +1,112 @@
+package com.shaft.api;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.shaft.tools.io.ReportManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The latency percentiles, throughput, and error rate of a load test. All
+ * latencies are in milliseconds.
+ */
+public class LoadTestResults {
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String loadTestName;
+    private final String loadProfileDescription;
+    private final LatencyHistogram latencies;
+    private final long errorsCount;
+    private final Duration elapsedTime;
+
+    LoadTestResults(String loadTestName, String loadProfileDescription, LatencyHistogram latencies, long errorsCount,
+                    Duration elapsedTime) {
+        this.loadTestName = loadTestName;
+        this.loadProfileDescription = loadProfileDescription;
+        this.latencies = latencies;
+        this.errorsCount = errorsCount;
+        this.elapsedTime = elapsedTime;
+    }
+
+    public long getRequestsCount() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * @return the number of requests that failed, or whose status code didn't
+     * match their target status code
+     */
+    public long getErrorsCount() {
+        return errorsCount;
+    }
+
+    /**
+     * @return the percentage of requests that failed, between 0 and 100
+     */
+    public double getErrorRate() {
+        return getRequestsCount() == 0 ? 0 : 100.0 * errorsCount / getRequestsCount();
+    }
+
+    /**
+     * @return the number of completed requests per second
+     */
+    public double getThroughput() {
+        return getRequestsCount() / Math.max(elapsedTime.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * @param percentile the target percentile, for example 99.9
+     * @return the latency that the target percentage of requests didn't exceed
+     */
+    public double getLatencyPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaximumLatency() {
+        return latencies.getMaximumValue() / 1000.0;
+    }
+
+    void report() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Load Test: \"").append(loadTestName).append("\"");
+        summary.append(" | Profile: \"").append(loadProfileDescription).append("\"");
+        summary.append(" | Requests: \"").append(getRequestsCount()).append("\"");
+        summary.append(" | Throughput: \"").append(String.format("%.1f", getThroughput())).append(" requests/s\"");
+        summary.append(" | Error Rate: \"").append(String.format("%.2f", getErrorRate())).append("%\"");
+        for (double percentile : REPORTED_PERCENTILES) {
+            summary.append(" | ").append(getPercentileName(percentile)).append(": \"")
+                    .append(String.format("%.1f", getLatencyPercentile(percentile))).append("ms\"");
+        }
+        summary.append(" | Max: \"").append(String.format("%.1f", getMaximumLatency())).append("ms\"");
+
+        List<List<Object>> attachments = Arrays.asList(
+                Arrays.asList("Load Test Results", loadTestName + " Summary JSON", toJson()),
+                Arrays.asList("Load Test Results", loadTestName + " Latency Histogram CSV (microseconds)", latencies.toCsv()));
+        ReportManager.log(summary.toString(), attachments);
+    }
+
+    private String toJson() {
+        JsonObject results = new JsonObject();
+        results.addProperty("name", loadTestName);
+        results.addProperty("profile", loadProfileDescription);
+        results.addProperty("durationMillis", elapsedTime.toMillis());
+        results.addProperty("requests", getRequestsCount());
+        results.addProperty("errors", errorsCount);
+        results.addProperty("errorRatePercent", getErrorRate());
+        results.addProperty("throughputPerSecond", getThroughput());
+        JsonObject latencyPercentiles = new JsonObject();
+        for (double percentile : REPORTED_PERCENTILES) {
+            latencyPercentiles.addProperty(getPercentileName(percentile), getLatencyPercentile(percentile));
+        }
+        latencyPercentiles.addProperty("max", getMaximumLatency());
+        results.add("latencyMillis", latencyPercentiles);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(results);
+    }
+
+    private static String getPercentileName(double percentile) {
+        // p99.9 is named p999, as usual
+        return "p" + String.valueOf(percentile).replace(".0", "").replace(".", "");
+    }
+}
@@ -84,20 +84,62 @@ public class RequestBuilder {
         return this;
     }
 
+    int getTargetStatusCode() {
+        return targetStatusCode;
+    }
+
+    /**
+     * Sends this request without validating or reporting the response, which is
+     * used to replay it many times during a load test
+     *
+     * @return the response
+     */
+    Response sendRequest() {
+        return sendRequest(prepareRequestURL(), prepareRequestSpecs());
+    }
+
+    String prepareRequestURL() {
+        return session.prepareRequestURL(serviceURI, urlArguments, serviceName);
+    }
+
+    RequestSpecification prepareRequestSpecs() {
+        return session.prepareRequestSpecs(parameters, parametersType, requestBody, contentType, sessionCookies, sessionHeaders);
+    }
+
+    Response sendRequest(String request, RequestSpecification specs) {
+        return session.sendRequest(requestType, request, specs);
+    }
+
     public Response performRequest() {
-        String request = session.prepareRequestURL(serviceURI, urlArguments, serviceName);
-        RequestSpecification specs = session.prepareRequestSpecs(parameters, parametersType, requestBody, contentType, sessionCookies, sessionHeaders);
+        String request = prepareRequestURL();
+        RequestSpecification specs = prepareRequestSpecs();
 
         Response response = null;
+        Exception sendingFailure = null;
         try {
-            if (requestType.equals(RestActions.RequestType.POST) || requestType.equals(RestActions.RequestType.PATCH)
-                    || requestType.equals(RestActions.RequestType.PUT) || requestType.equals(RestActions.RequestType.GET)
-                    || requestType.equals(RestActions.RequestType.DELETE)) {
-                response = session.sendRequest(requestType, request, specs);
-            } else {
-                RestActions.failAction(request);
-            }
+            response = sendRequest(request, specs);
+        } catch (Exception rootCauseException) {
+            sendingFailure = rootCauseException;
+        }
+        return reportResponse(request, response, sendingFailure);
+    }
 
+    /**
+     * Validates the response of this request against its target status code,
+     * and reports it. This must be called from the test's own thread, so that
+     * the report steps are attached to the current test.
+     *
+     * @param request        the URL that the request was sent to
+     * @param response       the response, or null if sending the request failed
+     * @param sendingFailure the exception that was thrown while sending the
+     *                       request, or null if it was sent successfully
+     * @return the response
+     */
+    Response reportResponse(String request, Response response, Exception sendingFailure) {
+        try {
+            if (sendingFailure != null) {
+                throw sendingFailure;
+            }
             boolean responseStatus = session.evaluateResponseStatusCode(Objects.requireNonNull(response), targetStatusCode);
             String reportMessage = session.prepareReportMessage(response, targetStatusCode, requestType, serviceName,
                     contentType, urlArguments);
@@ -117,4 +159,16 @@ public class RequestBuilder {
         }
         return response;
     }
+
+    /**
+     * Sends this request in the background, on the shared requests executor,
+     * and checks its status code there. The response is only reported when
+     * AsyncResponse.report is called, from the test's own thread, so that the
+     * report steps are attached to that thread's test.
+     *
+     * @return the pending response
+     */
+    public AsyncResponse performRequestAsync() {
+        return new AsyncResponse(this);
+    }
 }
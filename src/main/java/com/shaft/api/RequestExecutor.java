@@ -0,0 +1,97 @@
+package com.shaft.api;
+
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs API requests in the background, on a shared executor that is limited
+ * to apiRequestsThreadPoolSize concurrent requests. Virtual threads are used
+ * when the running Java version supports them, otherwise a fixed pool of
+ * daemon threads.
+ * <p>
+ * Only the HTTP calls, and the checks of their status codes, are made in the
+ * background. The requests are prepared, and their responses are reported, on
+ * the test's own thread, since the report steps are attached to the test of
+ * the thread that writes them.
+ */
+class RequestExecutor {
+    private static final int THREAD_POOL_SIZE = Math.max(1,
+            Integer.parseInt(System.getProperty("apiRequestsThreadPoolSize", "50").trim()));
+    // virtual threads aren't pooled, so the number of concurrent requests is limited separately
+    private static final Semaphore runningRequests = new Semaphore(THREAD_POOL_SIZE);
+    private static final ExecutorService requestsExecutor = createRequestsExecutor();
+
+    private RequestExecutor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the task in the background, within the limit of concurrent requests
+     *
+     * @param task the task that sends one or more requests, without reporting
+     *             them
+     * @param <T>  the type of the task's result
+     * @return the result of the task
+     */
+    static <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            runningRequests.acquireUninterruptibly();
+            try {
+                return task.get();
+            } finally {
+                runningRequests.release();
+            }
+        }, requestsExecutor);
+    }
+
+    /**
+     * Performs all the requests concurrently, waits for all of them to finish,
+     * and fails if any of them failed
+     *
+     * @param requests the requests to be performed
+     * @return the responses, in the same order as the requests
+     */
+    static List<Response> performRequests(List<RequestBuilder> requests) {
+        List<AsyncResponse> pendingResponses = new ArrayList<>(requests.size());
+        requests.forEach(request -> pendingResponses.add(new AsyncResponse(request)));
+
+        List<Response> responses = new ArrayList<>(requests.size());
+        List<String> failedRequests = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < pendingResponses.size(); i++) {
+            try {
+                responses.add(pendingResponses.get(i).report());
+            } catch (AssertionError failure) {
+                responses.add(null);
+                failedRequests.add(String.valueOf(i + 1));
+                if (firstFailure == null) {
+                    firstFailure = failure;
+                }
+            }
+        }
+        if (!failedRequests.isEmpty()) {
+            RestActions.failAction("Performed [" + requests.size() + "] requests, and [" + failedRequests.size()
+                    + "] of them failed: requests number [" + String.join(", ", failedRequests) + "]", firstFailure);
+        } else {
+            RestActions.passAction("Performed [" + requests.size() + "] requests.");
+        }
+        return responses;
+    }
+
+    private static ExecutorService createRequestsExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(THREAD_POOL_SIZE, runnable -> {
+                Thread thread = new Thread(runnable, "SHAFT-RequestExecutor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+}
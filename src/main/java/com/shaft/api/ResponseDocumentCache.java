@@ -0,0 +1,195 @@
+package com.shaft.api;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.xml.XmlPath;
+import io.restassured.response.Response;
+
+import java.util.*;
+
+/**
+ * Caches the parsed body of every response, so that extracting many values
+ * from the same response parses its body only once, and caches the compiled
+ * form of the JSON paths that are used to extract them.
+ * <p>
+ * Simple JSON paths, made only of property names and list indices like
+ * "store.book[0].title", are compiled once into their steps, and evaluated by
+ * walking the parsed document directly. Other paths, like the ones that use
+ * Groovy closures, are evaluated by RestAssured against the same parsed
+ * document. Entries are dropped once their responses are no longer used.
+ */
+class ResponseDocumentCache {
+    private static final int COMPILED_PATHS_CACHE_SIZE = 500;
+    private static final List<Object> NOT_COMPILABLE = Collections.emptyList();
+    private static final Object NOT_EVALUATED = new Object();
+    private static final Map<Response, ParsedResponse> parsedResponses = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, List<Object>> compiledJsonPaths = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<Object>> eldest) {
+                    return size() > COMPILED_PATHS_CACHE_SIZE;
+                }
+            });
+
+    private ResponseDocumentCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param response the target API response object
+     * @param jsonPath the JSONPath expression, in RestAssured's GPath syntax
+     * @return the value as a string, like JsonPath.getString
+     */
+    static String getJsonValueAsString(Response response, String jsonPath) {
+        Object value = evaluateCompiledJsonPath(response, jsonPath);
+        if (value == NOT_EVALUATED) {
+            return getParsedResponse(response).getJsonPath(response).getString(jsonPath);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * @param response the target API response object
+     * @param jsonPath the JSONPath expression, in RestAssured's GPath syntax
+     * @return the value as a list, like JsonPath.getList
+     */
+    static List<Object> getJsonValueAsList(Response response, String jsonPath) {
+        Object value = evaluateCompiledJsonPath(response, jsonPath);
+        if (value == null || value instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) value;
+            return list;
+        }
+        // RestAssured decides how a single value is converted to a list
+        return getParsedResponse(response).getJsonPath(response).getList(jsonPath);
+    }
+
+    static XmlPath getXmlPath(Response response) {
+        return getParsedResponse(response).getXmlPath(response);
+    }
+
+    private static ParsedResponse getParsedResponse(Response response) {
+        return parsedResponses.computeIfAbsent(response, key -> new ParsedResponse());
+    }
+
+    private static Object evaluateCompiledJsonPath(Response response, String jsonPath) {
+        List<Object> steps = compiledJsonPaths.computeIfAbsent(jsonPath, ResponseDocumentCache::compileJsonPath);
+        if (steps == NOT_COMPILABLE) {
+            return NOT_EVALUATED;
+        }
+        Object value = getParsedResponse(response).getJsonDocument(response);
+        for (Object step : steps) {
+            if (value == null) {
+                return null;
+            }
+            value = step instanceof Integer ? getIndex(value, (Integer) step) : getProperty(value, (String) step);
+            if (value == NOT_EVALUATED) {
+                return NOT_EVALUATED;
+            }
+        }
+        return value;
+    }
+
+    private static Object getIndex(Object value, int index) {
+        if (!(value instanceof List)) {
+            return NOT_EVALUATED;
+        }
+        List<?> list = (List<?>) value;
+        // negative indices count from the end of the list, like in Groovy
+        int actualIndex = index < 0 ? list.size() + index : index;
+        return actualIndex >= 0 && actualIndex < list.size() ? list.get(actualIndex) : null;
+    }
+
+    private static Object getProperty(Object value, String property) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(property);
+        }
+        if (value instanceof List) {
+            // the property of every item in the list, like in Groovy
+            List<Object> values = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                if (item instanceof Map) {
+                    values.add(((Map<?, ?>) item).get(property));
+                } else if (item != null) {
+                    return NOT_EVALUATED;
+                }
+            }
+            return values;
+        }
+        return NOT_EVALUATED;
+    }
+
+    /**
+     * @return the steps of a simple path, as property names and list indices,
+     * or NOT_COMPILABLE if the path must be evaluated by RestAssured
+     */
+    private static List<Object> compileJsonPath(String jsonPath) {
+        List<Object> steps = new ArrayList<>();
+        String path = jsonPath.trim();
+        if (path.isEmpty() || path.equals("$")) {
+            return steps;
+        }
+        int position = 0;
+        boolean isPropertyExpected = path.charAt(0) != '[';
+        while (position < path.length()) {
+            char character = path.charAt(position);
+            if (character == '[') {
+                int end = path.indexOf(']', position);
+                if (end < 0 || !path.substring(position + 1, end).matches("-?\\d{1,9}")) {
+                    return NOT_COMPILABLE;
+                }
+                steps.add(Integer.parseInt(path.substring(position + 1, end)));
+                position = end + 1;
+                isPropertyExpected = false;
+            } else if (character == '.' && !isPropertyExpected && position + 1 < path.length()) {
+                position++;
+                isPropertyExpected = true;
+            } else if (isPropertyExpected && (Character.isLetter(character) || character == '_')) {
+                int end = position;
+                while (end < path.length() && (Character.isLetterOrDigit(path.charAt(end)) || path.charAt(end) == '_')) {
+                    end++;
+                }
+                String property = path.substring(position, end);
+                // these are properties of the list itself in Groovy, rather than of its items
+                if (property.equals("class") || property.equals("empty") || property.equals("size")) {
+                    return NOT_COMPILABLE;
+                }
+                steps.add(property);
+                position = end;
+                isPropertyExpected = false;
+            } else {
+                return NOT_COMPILABLE;
+            }
+        }
+        return isPropertyExpected ? NOT_COMPILABLE : steps;
+    }
+
+    // doesn't reference its response, which would keep the response's cache entry from ever being dropped
+    private static class ParsedResponse {
+        private JsonPath jsonPath;
+        private Object jsonDocument;
+        private boolean isJsonDocumentParsed;
+        private XmlPath xmlPath;
+
+        private synchronized JsonPath getJsonPath(Response response) {
+            if (jsonPath == null) {
+                jsonPath = response.jsonPath();
+            }
+            return jsonPath;
+        }
+
+        private synchronized Object getJsonDocument(Response response) {
+            if (!isJsonDocumentParsed) {
+                jsonDocument = getJsonPath(response).get("$");
+                isJsonDocumentParsed = true;
+            }
+            return jsonDocument;
+        }
+
+        private synchronized XmlPath getXmlPath(Response response) {
+            if (xmlPath == null) {
+                xmlPath = response.xmlPath();
+            }
+            return xmlPath;
+        }
+    }
+}
@@ -6,13 +6,12 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
 import com.shaft.validation.Assertions;
 import eu.medsea.mimeutil.MimeUtil;
 import eu.medsea.mimeutil.MimeUtil2;
 import io.restassured.builder.MultiPartSpecBuilder;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.config.EncoderConfig;
-import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.http.Cookie;
@@ -41,6 +40,7 @@ import java.io.*;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.given;
@@ -58,37 +58,66 @@ public class RestActions {
     private final String serviceURI;
     private final Map<String, String> sessionHeaders;
     private final Map<String, Object> sessionCookies;
-    private String headerAuthorization;
+    private volatile String headerAuthorization;
 
     public RestActions(String serviceURI) {
         initializeSystemProperties(System.getProperty("apiConnectionTimeout") == null);
         headerAuthorization = "";
         this.serviceURI = serviceURI;
-        sessionCookies = new HashMap<>();
-        sessionHeaders = new HashMap<>();
+        // the session is shared by all its requests, including the ones that are performed concurrently
+        sessionCookies = new ConcurrentHashMap<>();
+        sessionHeaders = new ConcurrentHashMap<>();
     }
 
     public static RequestBuilder buildNewRequest(String serviceURI, String serviceName, RequestType requestType) {
         return new RequestBuilder(new RestActions(serviceURI), serviceName, requestType);
     }
 
+    /**
+     * Performs all the requests concurrently, each one validated against its own
+     * target status code, and waits for all of them to finish. The number of
+     * concurrent requests is limited by apiRequestsThreadPoolSize. The action
+     * fails if any of the requests failed, after all of them have finished.
+     *
+     * @param requests the requests to be performed, which may belong to
+     *                 different sessions
+     * @return the responses, in the same order as the requests
+     */
+    public static List<Response> performRequestsConcurrently(List<RequestBuilder> requests) {
+        return RequestExecutor.performRequests(requests);
+    }
+
+    /**
+     * Builds a load test that replays the requests, in turn, using a constant
+     * rate, a ramp up, or a fixed number of virtual users, and reports the
+     * latency percentiles, throughput, and error rate
+     *
+     * @param loadTestName the name of the load test in the report
+     * @param requests     the requests to be replayed, each one is successful
+     *                     if it returns its target status code
+     * @return a load test builder to configure the load profile and run it
+     */
+    public static LoadTestBuilder buildNewLoadTest(String loadTestName, RequestBuilder... requests) {
+        return new LoadTestBuilder(loadTestName, Arrays.asList(requests));
+    }
+
     protected static void passAction(String actionName, String testData, Object requestBody, Response response,
                                      Boolean isDiscrete, List<Object> expectedFileBodyAttachment) {
         reportActionResult(actionName, testData, requestBody, response, isDiscrete, expectedFileBodyAttachment, true);
     }
 
     protected static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, null, null, true, null);
     }
 
     protected static void passAction(String testData, List<Object> expectedFileBodyAttachment) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, null, null, true, expectedFileBodyAttachment);
     }
 
     static void passAction(String testData, Object requestBody, Response response) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, requestBody, response, false, null);
     }
 
@@ -131,7 +160,9 @@ public class RestActions {
     }
 
     /**
-     * Extracts a string value from the response body by parsing the target jsonpath
+     * Extracts a string value from the response body by parsing the target
+     * jsonpath. The body is parsed only once per response, no matter how many
+     * values are extracted from it.
      *
      * @param response the full response object returned by 'performRequest()'
      *                 method
@@ -145,7 +176,7 @@ public class RestActions {
     public static String getResponseJSONValue(Response response, String jsonPath) {
         String searchPool = "";
         try {
-            searchPool = response.jsonPath().getString(jsonPath);
+            searchPool = ResponseDocumentCache.getJsonValueAsString(response, jsonPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_JSONPATH + "[" + jsonPath + "]");
             failAction(jsonPath, rootCauseException);
@@ -190,7 +221,7 @@ public class RestActions {
     public static List<Object> getResponseJSONValueAsList(Response response, String jsonPath) {
         List<Object> searchPool = null;
         try {
-            searchPool = response.jsonPath().getList(jsonPath);
+            searchPool = ResponseDocumentCache.getJsonValueAsList(response, jsonPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_JSONPATH + "[" + jsonPath + "]");
             failAction(jsonPath, rootCauseException);
@@ -212,7 +243,7 @@ public class RestActions {
     public static String getResponseXMLValue(Response response, String xmlPath) {
         String searchPool = "";
         try {
-            searchPool = response.xmlPath().getString(xmlPath);
+            searchPool = ResponseDocumentCache.getXmlPath(response).getString(xmlPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_XMLPATH + "[" + xmlPath + "]");
             failAction(xmlPath, rootCauseException);
@@ -250,7 +281,7 @@ public class RestActions {
     public static List<Object> getResponseXMLValueAsList(Response response, String xmlPath) {
         NodeChildren output = null;
         try {
-            output = response.xmlPath().get(xmlPath);
+            output = ResponseDocumentCache.getXmlPath(response).get(xmlPath);
         } catch (ClassCastException rootCauseException) {
             ReportManager.log(ERROR_INCORRECT_XMLPATH + "[" + xmlPath + "]");
             failAction(xmlPath, rootCauseException);
@@ -395,12 +426,12 @@ public class RestActions {
 
     protected static void failAction(String testData, Object requestBody, Response response,
                                      Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, testData, requestBody, response, rootCauseException);
     }
 
     protected static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, testData, null, null, rootCauseException);
     }
 
@@ -423,19 +454,22 @@ public class RestActions {
             message = message + " With the following test data [" + testData + "].";
         }
 
+        // the bodies of passed steps are reported as they are, and only failed steps are formatted
+        boolean isFormatted = !Boolean.TRUE.equals(passFailStatus)
+                || !Boolean.parseBoolean(System.getProperty("apiBodyFormattingOnFailureOnly", "true").trim());
         Boolean initialLoggingState = ReportManager.isDiscreteLogging();
         if (Boolean.TRUE.equals(isDiscrete)) {
             if (requestBody != null && !requestBody.equals(new JsonObject())) {
-                reportRequestBody(requestBody);
+                reportRequestBody(requestBody, isFormatted);
             }
-            reportResponseBody(response, true);
+            reportResponseBody(response, true, isFormatted);
             ReportManager.logDiscrete(message);
         } else {
             if (requestBody != null && !requestBody.equals(new JsonObject())) {
-                attachments.add(reportRequestBody(requestBody));
+                attachments.add(reportRequestBody(requestBody, isFormatted));
             }
             attachments.add(expectedFileBodyAttachment);
-            attachments.add(reportResponseBody(response, initialLoggingState));
+            attachments.add(reportResponseBody(response, initialLoggingState, isFormatted));
 
             if (Boolean.FALSE.equals(initialLoggingState)) {
                 ReportManager.log(message, attachments);
@@ -447,82 +481,136 @@ public class RestActions {
         return message;
     }
 
-    private static List<Object> reportRequestBody(Object requestBody) {
+    private static List<Object> reportRequestBody(Object requestBody, boolean isFormatted) {
         List<Object> requestBodyAttachment = new ArrayList<>();
         if (requestBody.toString() != null && !requestBody.toString().equals("")) {
+            byte[] body = requestBody.toString().getBytes(StandardCharsets.UTF_8);
+            boolean isPrettyPrinted = isFormatted && body.length <= getPrettyPrintingThreshold();
             if (ReportManager.isDiscreteLogging()) {
-                try {
-                    ReportManager.logDiscrete("API Request - REST Body:\n"
-                            + IOUtils.toString(parseBodyToJson(requestBody), StandardCharsets.UTF_8));
-                } catch (IOException e) {
-                    ReportManager.logDiscrete("API Request - REST Body:\n" + requestBody);
+                if (isPrettyPrinted) {
+                    try {
+                        ReportManager.logDiscrete("API Request - REST Body:\n"
+                                + IOUtils.toString(parseBodyToJson(requestBody), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        ReportManager.logDiscrete("API Request - REST Body:\n" + requestBody);
+                    }
+                } else {
+                    ReportManager.logDiscrete("API Request - REST Body:\n" + getCappedBodyAsString(body));
                 }
             } else {
                 requestBodyAttachment.add("API Request");
-                switch (identifyBodyObjectType(requestBody)) {
-                    case 1:
-                        // json
-                        requestBodyAttachment.add("JSON Body");
-                        break;
-                    case 2:
-                        // xml
-                        requestBodyAttachment.add("XML Body");
-                        break;
-                    case 3:
-                    case 4:
-                        // I don't remember... may be binary
-                        // binary... probably
-                        requestBodyAttachment.add("Body");
-                        break;
-                    default:
-                        // unreachable code
-                        break;
+                if (isPrettyPrinted) {
+                    requestBodyAttachment.add(getBodyAttachmentName(identifyBodyObjectType(requestBody)));
+                    requestBodyAttachment.add(getCappedBody(parseBodyToJson(requestBody)));
+                } else {
+                    requestBodyAttachment.add(getBodyAttachmentName(null, body));
+                    requestBodyAttachment.add(getCappedBody(body));
                 }
-                requestBodyAttachment.add(parseBodyToJson(requestBody));
                 return requestBodyAttachment;
             }
         }
         return null;
     }
 
-    private static List<Object> reportResponseBody(Response responseBody, Boolean isDiscrete) {
+    private static List<Object> reportResponseBody(Response responseBody, Boolean isDiscrete, boolean isFormatted) {
         List<Object> responseBodyAttachment = new ArrayList<>();
         if (responseBody != null) {
+            byte[] body = responseBody.getBody().asByteArray();
+            boolean isPrettyPrinted = isFormatted && body.length <= getPrettyPrintingThreshold();
             if (Boolean.TRUE.equals(isDiscrete)) {
-                try {
-                    ReportManager.logDiscrete("API Response - REST Body:\n"
-                            + IOUtils.toString(parseBodyToJson(responseBody), StandardCharsets.UTF_8));
-                } catch (IOException e) {
-                    ReportManager.logDiscrete("API Response - REST Body:\n" + responseBody.asString());
+                if (isPrettyPrinted) {
+                    try {
+                        ReportManager.logDiscrete("API Response - REST Body:\n"
+                                + IOUtils.toString(parseBodyToJson(responseBody), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        ReportManager.logDiscrete("API Response - REST Body:\n" + responseBody.asString());
+                    }
+                } else {
+                    ReportManager.logDiscrete("API Response - REST Body:\n" + getCappedBodyAsString(body));
                 }
             } else {
                 responseBodyAttachment.add("API Response");
-                switch (identifyBodyObjectType(responseBody)) {
-                    case 1:
-                        // json
-                        responseBodyAttachment.add("JSON Body");
-                        break;
-                    case 2:
-                        // xml
-                        responseBodyAttachment.add("XML Body");
-                        break;
-                    case 3:
-                    case 4:
-                        // I don't remember... may be binary
-                        // binary... probably
-                        responseBodyAttachment.add("Body");
-                        break;
-                    default:
-                        // unreachable code
-                        break;
+                if (isPrettyPrinted) {
+                    responseBodyAttachment.add(getBodyAttachmentName(identifyBodyObjectType(responseBody)));
+                    responseBodyAttachment.add(getCappedBody(parseBodyToJson(responseBody)));
+                } else {
+                    responseBodyAttachment.add(getBodyAttachmentName(responseBody.getContentType(), body));
+                    responseBodyAttachment.add(getCappedBody(body));
                 }
-                responseBodyAttachment.add(parseBodyToJson(responseBody));
                 return responseBodyAttachment;
             }
         }
         return null;
     }
 
+    private static String getBodyAttachmentName(int bodyObjectType) {
+        return switch (bodyObjectType) {
+            case 1 -> "JSON Body";
+            case 2 -> "XML Body";
+            // binary, or a serialized object
+            default -> "Body";
+        };
+    }
+
+    private static String getBodyAttachmentName(String contentType, byte[] body) {
+        // identifies an unformatted body from its content type and its first character, without parsing it
+        String lowerCaseContentType = contentType == null ? "" : contentType.toLowerCase();
+        int firstCharacter = 0;
+        for (byte character : body) {
+            if (!Character.isWhitespace(character)) {
+                firstCharacter = character;
+                break;
+            }
+        }
+        if (lowerCaseContentType.contains("json") || firstCharacter == '{' || firstCharacter == '[') {
+            return "JSON Body";
+        } else if (lowerCaseContentType.contains("xml") || firstCharacter == '<') {
+            return "XML Body";
+        } else {
+            return "Body";
+        }
+    }
+
+    private static InputStream getCappedBody(InputStream body) {
+        try {
+            return getCappedBody(IOUtils.toByteArray(body));
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private static InputStream getCappedBody(byte[] body) {
+        // the body is streamed as it is, without copying it, up to the maximum size followed by a truncation marker
+        int maximumSize = getMaximumReportedBodySize();
+        if (body.length <= maximumSize) {
+            return new ByteArrayInputStream(body);
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(body, 0, maximumSize),
+                new ByteArrayInputStream(getTruncationMarker(maximumSize, body.length).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String getCappedBodyAsString(byte[] body) {
+        int maximumSize = getMaximumReportedBodySize();
+        if (body.length <= maximumSize) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(body, 0, maximumSize, StandardCharsets.UTF_8) + getTruncationMarker(maximumSize, body.length);
+    }
+
+    private static String getTruncationMarker(int reportedSize, int fullSize) {
+        return "\n\n[Truncated: showing the first " + reportedSize + " of " + fullSize + " bytes]";
+    }
+
+    private static int getMaximumReportedBodySize() {
+        int maximumSizeInKilobytes = Integer.parseInt(System.getProperty("apiBodyReportingMaximumSizeInKilobytes", "1024").trim());
+        // a maximum size of 0 reports the whole body
+        return maximumSizeInKilobytes > 0 ? maximumSizeInKilobytes * 1024 : Integer.MAX_VALUE;
+    }
+
+    private static int getPrettyPrintingThreshold() {
+        return Integer.parseInt(System.getProperty("apiBodyPrettyPrintingThresholdInKilobytes", "256").trim()) * 1024;
+    }
+
     @SuppressWarnings("UnusedAssignment")
     private static int identifyBodyObjectType(Object body) {
         JSONParser parser = new JSONParser();
@@ -713,19 +801,13 @@ public class RestActions {
     }
 
     private RequestSpecBuilder initializeBuilder(Map<String, Object> sessionCookies, Map<String, String> sessionHeaders) {
-        RequestSpecBuilder builder = new RequestSpecBuilder();
+        // adding timeouts and the pooled keep-alive connections
+        RestAssuredConfig config = HttpConnectionPool.getConfig(HTTP_CONNECTION_TIMEOUT, HTTP_SOCKET_TIMEOUT,
+                HTTP_CONNECTION_MANAGER_TIMEOUT);
 
-        builder.addCookies(sessionCookies);
-        builder.addHeaders(sessionHeaders);
-
-        // fixing issue with non-unicode content being encoded with a non UTF-8 charset
-        // adding timeouts
-        builder.setConfig(
-                (new RestAssuredConfig()).encoderConfig((new EncoderConfig()).defaultContentCharset("UTF-8")).and()
-                        .httpClient(HttpClientConfig.httpClientConfig()
-                                .setParam("http.connection.timeout", HTTP_CONNECTION_TIMEOUT * 1000)
-                                .setParam("http.socket.timeout", HTTP_SOCKET_TIMEOUT * 1000)
-                                .setParam("http.connection-manager.timeout", HTTP_CONNECTION_MANAGER_TIMEOUT * 1000)));
+        // the cookies, headers, and configuration are merged from specs that are shared by the whole session
+        RequestSpecBuilder builder = new RequestSpecBuilder();
+        builder.addRequestSpecification(HttpConnectionPool.getBaseSpecs(serviceURI, sessionHeaders, sessionCookies, config));
 
         // timeouts documentation
         /*
@@ -748,6 +830,14 @@ public class RestActions {
         return builder;
     }
 
+    /**
+     * Closes all the idle pooled API connections. This is done automatically at
+     * the end of the test suite.
+     */
+    public static void closeAllConnections() {
+        HttpConnectionPool.closeAllConnections();
+    }
+
     /**
      * Append a header to the current session to be used in all the
      * following requests. Note: This feature is commonly used for authentication
@@ -3,6 +3,7 @@ package com.shaft.cli;
 import com.google.common.hash.Hashing;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
@@ -557,23 +558,23 @@ public class FileActions {
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         reportActionResult(actionName, testData, null, true);
     }
 
     private static void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         reportActionResult(actionName, testData, log, true);
     }
 
     private static void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, testData, rootCauseException);
 
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, null, rootCauseException);
     }
 
@@ -609,9 +610,8 @@ public class FileActions {
 
         // Minimize File Action log steps and move them to discrete logs if called
         // within SHAFT_Engine itself
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        StackTraceElement parentMethod = stackTrace[4];
-        if (parentMethod.getClassName().contains("com.shaft")) {
+        String parentClassName = StackHelpers.getCallingClassName(3);
+        if (parentClassName.contains("com.shaft")) {
             ReportManager.logDiscrete(message);
         } else {
             if (!attachments.equals(new ArrayList<>())) {
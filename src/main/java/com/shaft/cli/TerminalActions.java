@@ -6,6 +6,7 @@ import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
 import org.testng.Assert;
 
 import java.io.BufferedReader;
@@ -232,7 +233,7 @@ public class TerminalActions {
     }
 
     private void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, log);
     }
 
@@ -246,7 +247,7 @@ public class TerminalActions {
     }
 
     private void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, testData, rootCauseException);
     }
 
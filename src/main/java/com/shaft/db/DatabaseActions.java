@@ -1,17 +1,26 @@
 package com.shaft.db;
 
-import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
 import org.testng.Assert;
 
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unused")
 public class DatabaseActions {
+    private static RowSetFactory rowSetFactory = null;
     private DatabaseType dbType;
     private String dbServerIP;
     private String dbPort;
@@ -73,26 +82,44 @@ public class DatabaseActions {
      * @return a string value which represents the data of the target row
      */
     public static String getRow(ResultSet resultSet, String columnName, String knownCellValue) {
+        return getRow(resultSet, columnName, knownCellValue, false);
+    }
+
+    /**
+     * Returns a string value which represents the data of the target row
+     *
+     * @param resultSet        the object returned as a result of performing a
+     *                         certain database query
+     * @param columnName       the name of the column holding the knownCellValue
+     * @param knownCellValue   a value that the engine searches for under the
+     *                         specified columnName, when that value is found, the
+     *                         row that contains it is read and added to the
+     *                         returned string
+     * @param stopAtFirstMatch true to stop reading the resultSet as soon as the
+     *                         first matching row is found, false to read all the
+     *                         matching rows
+     * @return a string value which represents the data of the target row(s)
+     */
+    public static String getRow(ResultSet resultSet, String columnName, String knownCellValue, boolean stopAtFirstMatch) {
         String reportMessage = "Column Name: \"" + columnName + "\" | Cell Content: \"" + knownCellValue + "\"";
         StringBuilder str = new StringBuilder();
         boolean foundRow = false;
 
         try {
-            resultSet.beforeFirst();
-            if (resultSet.last()) {
-                int columnsCount = resultSet.getMetaData().getColumnCount();
-                int lastRowID = resultSet.getRow();
-                int targetColumnID = resultSet.findColumn(columnName);
-
-                // read table data
-                for (int i = 1; i <= lastRowID; i++) {
-                    resultSet.absolute(i);
-                    if (String.valueOf(resultSet.getString(targetColumnID)).trim().equals(knownCellValue.trim())) {
-                        for (int j = 1; j <= columnsCount; j++) {
-                            str.append(resultSet.getString(j)).append("\t");
-                        }
-                        str.append("\n");
-                        foundRow = true;
+            rewind(resultSet);
+            int columnsCount = resultSet.getMetaData().getColumnCount();
+            int targetColumnID = resultSet.findColumn(columnName);
+
+            // read table data
+            while (resultSet.next()) {
+                if (String.valueOf(resultSet.getString(targetColumnID)).trim().equals(knownCellValue.trim())) {
+                    for (int j = 1; j <= columnsCount; j++) {
+                        str.append(resultSet.getString(j)).append("\t");
+                    }
+                    str.append("\n");
+                    foundRow = true;
+                    if (stopAtFirstMatch) {
+                        break;
                     }
                 }
             }
@@ -119,16 +146,12 @@ public class DatabaseActions {
     public static String getColumn(ResultSet resultSet, String columnName) {
         StringBuilder str = new StringBuilder();
         try {
-            resultSet.beforeFirst();
-            if (resultSet.last()) {
-                int lastRowID = resultSet.getRow();
-                int targetColumnID = resultSet.findColumn(columnName);
+            rewind(resultSet);
+            int targetColumnID = resultSet.findColumn(columnName);
 
-                // read table data
-                for (int i = 1; i <= lastRowID; i++) {
-                    resultSet.absolute(i);
-                    str.append(resultSet.getString(targetColumnID)).append("\n");
-                }
+            // read table data
+            while (resultSet.next()) {
+                str.append(resultSet.getString(targetColumnID)).append("\n");
             }
         } catch (SQLException | NullPointerException rootCauseException) {
             ReportManager.log(rootCauseException);
@@ -139,7 +162,8 @@ public class DatabaseActions {
     }
 
     /**
-     * Returns the number of rows contained inside the provided resultSet
+     * Returns the number of rows contained inside the provided resultSet. Note
+     * that a forward-only resultSet is consumed while its rows are counted.
      *
      * @param resultSet the object returned as a result of performing a certain
      *                  database query
@@ -149,10 +173,16 @@ public class DatabaseActions {
     public static int getRowCount(ResultSet resultSet) {
         int rowCount = 0;
         try {
-            resultSet.beforeFirst();
-            if (resultSet.last()) {
-                rowCount = resultSet.getRow();
-                resultSet.beforeFirst(); // reset pointer
+            if (resultSet.getType() == ResultSet.TYPE_FORWARD_ONLY) {
+                while (resultSet.next()) {
+                    rowCount++;
+                }
+            } else {
+                resultSet.beforeFirst();
+                if (resultSet.last()) {
+                    rowCount = resultSet.getRow();
+                    resultSet.beforeFirst(); // reset pointer
+                }
             }
         } catch (SQLException rootCauseException) {
             ReportManager.log(rootCauseException);
@@ -167,17 +197,17 @@ public class DatabaseActions {
     }
 
     private static void passAction(String testData, String queryResult) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, queryResult);
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, testData, null);
     }
 
     private static void passAction() {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(actionName, null, null);
     }
 
@@ -191,12 +221,12 @@ public class DatabaseActions {
     }
 
     private static void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, testData, rootCauseException);
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(actionName, null, rootCauseException);
     }
 
@@ -230,6 +260,17 @@ public class DatabaseActions {
         return message;
     }
 
+    private static void rewind(ResultSet resultSet) throws SQLException {
+        // forward-only result sets cannot be rewound, and are read from their current position
+        if (resultSet.getType() != ResultSet.TYPE_FORWARD_ONLY) {
+            resultSet.beforeFirst();
+        }
+    }
+
+    private static int getReportPreviewRows() {
+        return Integer.parseInt(System.getProperty("databaseReportPreviewRows", "100").trim());
+    }
+
     private static StringBuilder readColumnHeaders(ResultSet resultSet, boolean readColumnNames, int columnsCount)
             throws SQLException {
         StringBuilder str = new StringBuilder();
@@ -245,36 +286,55 @@ public class DatabaseActions {
         return str;
     }
 
-    private static StringBuilder readColumnData(ResultSet resultSet, int columnsCount, int lastRowID)
-            throws SQLException {
-        StringBuilder str = new StringBuilder();
-        for (int i = 1; i <= lastRowID; i++) {
-            resultSet.absolute(i);
-            for (int j = 1; j <= columnsCount; j++) {
-                str.append(resultSet.getString(j));
-                if (j != columnsCount) {
-                    str.append("\t");
-                }
+    private static void readRowData(ResultSet resultSet, int columnsCount, StringBuilder str) throws SQLException {
+        for (int j = 1; j <= columnsCount; j++) {
+            str.append(resultSet.getString(j));
+            if (j != columnsCount) {
+                str.append("\t");
             }
-            str.append("\n");
         }
-        return str;
+        str.append("\n");
     }
 
     private static String getResultStringValue(ResultSet resultSet, boolean readColumnNames) {
+        return getResultStringValue(resultSet, readColumnNames, -1);
+    }
+
+    /**
+     * Reads the resultSet into a string, one line per row
+     *
+     * @param resultSet       the object returned as a result of performing a
+     *                        certain database query
+     * @param readColumnNames true to add a line with the column names at the top
+     * @param maximumRows     the maximum number of rows to read, used to keep report
+     *                        previews small, or -1 to read all the rows
+     * @return the rows of the resultSet separated by new lines
+     */
+    private static String getResultStringValue(ResultSet resultSet, boolean readColumnNames, int maximumRows) {
         StringBuilder str = new StringBuilder();
         try {
-            resultSet.beforeFirst();
-            if (resultSet.last()) {
-                int columnsCount = resultSet.getMetaData().getColumnCount();
-                int lastRowID = resultSet.getRow();
-
-                // read column headers
-                str.append(readColumnHeaders(resultSet, readColumnNames, columnsCount));
-
+            rewind(resultSet);
+            int columnsCount = resultSet.getMetaData().getColumnCount();
+            int rowsCount = 0;
+            boolean isTruncated = false;
+            while (resultSet.next()) {
+                if (maximumRows >= 0 && rowsCount >= maximumRows) {
+                    isTruncated = true;
+                    break;
+                }
+                if (rowsCount == 0) {
+                    // read column headers
+                    str.append(readColumnHeaders(resultSet, readColumnNames, columnsCount));
+                }
                 // read table data
-                str.append(readColumnData(resultSet, columnsCount, lastRowID));
+                readRowData(resultSet, columnsCount, str);
+                rowsCount++;
+            }
+            if (isTruncated) {
+                str.append("... Preview limited to the first [").append(maximumRows).append("] rows.");
             }
+            // leave the pointer where the caller expects it for scrollable result sets
+            rewind(resultSet);
         } catch (SQLException | NullPointerException rootCauseException) {
             ReportManager.log(rootCauseException);
             failAction(rootCauseException);
@@ -282,6 +342,29 @@ public class DatabaseActions {
         return str.toString().trim();
     }
 
+    /**
+     * Closes all the pooled database connections and their cached statements.
+     * This is done automatically at the end of the test suite.
+     */
+    public static void closeAllConnections() {
+        DatabaseConnectionPool.closeAllPools();
+    }
+
+    private static RowSetFactory getRowSetFactory() throws SQLException {
+        if (rowSetFactory == null) {
+            rowSetFactory = RowSetProvider.newFactory();
+        }
+        return rowSetFactory;
+    }
+
+    private static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        if (parameters != null) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+        }
+    }
+
     /**
      * Executes a SELECT statement and returns the result as a ResultSet object
      *
@@ -291,16 +374,44 @@ public class DatabaseActions {
      * query; never null
      */
     public ResultSet executeSelectQuery(String sql) {
+        return executeSelectQuery(sql, new Object[0]);
+    }
+
+    /**
+     * Executes a parameterized SELECT statement and returns the result as a
+     * ResultSet object. The statement is prepared once per pooled connection and
+     * reused by later calls with the same sql.
+     *
+     * @param sql        an SQL statement to be sent to the database, typically a
+     *                   SQL SELECT statement with ? placeholders
+     * @param parameters the values of the placeholders, in order
+     * @return a disconnected and scrollable ResultSet object that contains the
+     * data produced by the given query; never null
+     */
+    public ResultSet executeSelectQuery(String sql, Object... parameters) {
         ResultSet resultSet = null;
+        DatabaseConnectionPool connectionPool = getConnectionPool();
+        DatabaseConnectionPool.PooledConnection pooledConnection = null;
         try {
-            resultSet = createStatement(createConnection()).executeQuery(sql);
+            pooledConnection = connectionPool.borrowConnection();
+            PreparedStatement statement = pooledConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY);
+            statement.setFetchSize(getFetchSize());
+            setParameters(statement, parameters);
+            // the rows are copied into a disconnected row set, so that the connection can go back to the pool
+            try (ResultSet forwardOnlyResultSet = statement.executeQuery()) {
+                CachedRowSet cachedRowSet = getRowSetFactory().createCachedRowSet();
+                cachedRowSet.populate(forwardOnlyResultSet);
+                resultSet = cachedRowSet;
+            }
         } catch (SQLException | NullPointerException rootCauseException) {
             ReportManager.log(rootCauseException);
-            failAction(getReportMessage("SELECT", sql), rootCauseException);
+            failAction(getReportMessage("SELECT", sql, parameters), rootCauseException);
+        } finally {
+            connectionPool.returnConnection(pooledConnection);
         }
 
         if (resultSet != null) {
-            passAction(getReportMessage("SELECT", sql), getResultStringValue(resultSet, true));
+            passAction(getReportMessage("SELECT", sql, parameters), getResultStringValue(resultSet, true, getReportPreviewRows()));
         } else {
             failAction("Null or no resultSet was returned from executing this query [" + sql + "]");
         }
@@ -308,6 +419,77 @@ public class DatabaseActions {
         return resultSet;
     }
 
+    /**
+     * Executes a SELECT statement and streams its rows, one at a time, through a
+     * forward-only cursor. Only one fetch of rows is held in memory at any time,
+     * which makes this the preferred option for queries that return a large
+     * number of rows. Only a preview of the first rows is added to the report.
+     * <p>
+     * The returned stream holds a pooled connection until it is closed, so it
+     * must be used in a try-with-resources block:
+     * <pre>{@code
+     * try (Stream<Row> rows = dbActions.executeStreamingSelectQuery("select * from orders where status = ?", "OPEN")) {
+     *     rows.filter(row -> row.getString("total").equals("0")).findFirst();
+     * }
+     * }</pre>
+     *
+     * @param sql        an SQL statement to be sent to the database, typically a
+     *                   SQL SELECT statement with optional ? placeholders
+     * @param parameters the values of the placeholders, in order
+     * @return a sequential stream of the rows produced by the given query
+     */
+    public Stream<Row> executeStreamingSelectQuery(String sql, Object... parameters) {
+        String reportMessage = getReportMessage("SELECT", sql, parameters);
+        DatabaseConnectionPool connectionPool = getConnectionPool();
+        DatabaseConnectionPool.PooledConnection pooledConnection = null;
+        try {
+            pooledConnection = connectionPool.borrowConnection();
+            StreamingResult streamingResult = new StreamingResult(
+                    openStreamingResultSet(pooledConnection, sql, parameters), reportMessage, getReportPreviewRows());
+            DatabaseConnectionPool.PooledConnection streamingConnection = pooledConnection;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(streamingResult,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        streamingResult.close();
+                        closeStreamingResultSet(streamingConnection);
+                        connectionPool.returnConnection(streamingConnection);
+                        passAction("executeStreamingSelectQuery", reportMessage, streamingResult.getPreview());
+                    });
+        } catch (SQLException | NullPointerException rootCauseException) {
+            if (pooledConnection != null) {
+                closeStreamingResultSet(pooledConnection);
+            }
+            connectionPool.returnConnection(pooledConnection);
+            ReportManager.log(rootCauseException);
+            failAction(reportMessage, rootCauseException);
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Executes a SELECT statement and passes its rows, one at a time, to the
+     * rowCallback through a forward-only cursor. Only one fetch of rows is held
+     * in memory at any time, and only a preview of the first rows is added to the
+     * report.
+     *
+     * @param sql         an SQL statement to be sent to the database, typically a
+     *                    SQL SELECT statement with optional ? placeholders
+     * @param rowCallback the action that will be performed on every row
+     * @param parameters  the values of the placeholders, in order
+     * @return the number of rows that were read
+     */
+    public long executeStreamingSelectQuery(String sql, Consumer<Row> rowCallback, Object... parameters) {
+        long rowCount = 0;
+        try (Stream<Row> rows = executeStreamingSelectQuery(sql, parameters)) {
+            Iterator<Row> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowCallback.accept(iterator.next());
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
     /**
      * Executes any DML or DDL statement and returns the result as a ResultSet
      * object
@@ -319,81 +501,300 @@ public class DatabaseActions {
      * statements or (2) 0 for SQL statements that return nothing
      */
     public int executeUpdateQuery(String sql) {
+        return executeUpdateQuery(sql, new Object[0]);
+    }
+
+    /**
+     * Executes a parameterized DML statement, or a DDL statement. The statement
+     * is prepared once per pooled connection and reused by later calls with the
+     * same sql.
+     *
+     * @param sql        an SQL Data Manipulation Language (DML) statement with ?
+     *                   placeholders, such as INSERT, UPDATE or DELETE; or an SQL
+     *                   statement that returns nothing, such as a DDL statement.
+     * @param parameters the values of the placeholders, in order
+     * @return either (1) the row count for SQL Data Manipulation Language (DML)
+     * statements or (2) 0 for SQL statements that return nothing
+     */
+    public int executeUpdateQuery(String sql, Object... parameters) {
         int updatedRows = 0;
+        DatabaseConnectionPool connectionPool = getConnectionPool();
+        DatabaseConnectionPool.PooledConnection pooledConnection = null;
         try {
-            updatedRows = createStatement(createConnection()).executeUpdate(sql);
-            passAction(sql);
+            pooledConnection = connectionPool.borrowConnection();
+            PreparedStatement statement = pooledConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY);
+            setParameters(statement, parameters);
+            updatedRows = statement.executeUpdate();
         } catch (SQLException | NullPointerException rootCauseException) {
             ReportManager.log(rootCauseException);
-            failAction(getReportMessage("UPDATE", sql), rootCauseException);
+            failAction(getReportMessage("UPDATE", sql, parameters), rootCauseException);
+        } finally {
+            connectionPool.returnConnection(pooledConnection);
         }
+        passAction(sql);
         return updatedRows;
     }
 
-    private Connection createConnection() {
+    /**
+     * Executes a parameterized DML statement once for every row, using JDBC
+     * batching. Rows are sent to the database in batches of databaseBatchSize
+     * rows, and when databaseTransactionPerBatch is true every batch is committed
+     * as a single transaction. Only a summary of the execution is added to the
+     * report.
+     *
+     * @param sql  an SQL Data Manipulation Language (DML) statement with ?
+     *             placeholders, such as INSERT, UPDATE or DELETE
+     * @param rows the values of the placeholders, one element per row. Each row
+     *             can be a List or an array of values in order, a Map whose values
+     *             are in order (such as a JSON object read using
+     *             JSONFileManager.getTestDataAsList), or a single value. Rows are
+     *             read lazily, so the source does not have to be held in memory.
+     * @return the total number of rows affected, for the drivers that report it
+     */
+    public long executeBatch(String sql, Iterable<?> rows) {
+        String reportMessage = getReportMessage("BATCH", sql);
+        int batchSize = Math.max(1, Integer.parseInt(System.getProperty("databaseBatchSize").trim()));
+        boolean transactionPerBatch = Boolean.parseBoolean(System.getProperty("databaseTransactionPerBatch").trim());
+        long rowsCount = 0;
+        long batchesCount = 0;
+        long updatedRows = 0;
+        long startTime = System.currentTimeMillis();
+
+        DatabaseConnectionPool connectionPool = getConnectionPool();
+        DatabaseConnectionPool.PooledConnection pooledConnection = null;
         Connection connection = null;
-        String connectionString = "";
+        PreparedStatement statement = null;
+        boolean isCompleted = false;
         try {
-            switch (dbType) {
-                case MY_SQL -> connectionString = "jdbc:mysql://" + dbServerIP + ":" + dbPort + "/" + dbName;
-                case SQL_SERVER -> connectionString = "jdbc:sqlserver://" + dbServerIP + ":" + dbPort + ";databaseName=" + dbName;
-                case POSTGRE_SQL -> connectionString = "jdbc:postgresql://" + dbServerIP + ":" + dbPort + "/" + dbName;
-                case ORACLE -> connectionString = "jdbc:oracle:thin:@" + dbServerIP + ":" + dbPort + ":" + dbName;
-                case IBM_DB2 -> connectionString = "jdbc:db2://" + dbServerIP + ":" + dbPort + "/" + dbName;
-                default -> {
-                    ReportManager.log("Database not supported");
-                    failAction(dbType.toString());
-                }
+            pooledConnection = connectionPool.borrowConnection();
+            connection = pooledConnection.getConnection();
+            if (transactionPerBatch) {
+                connection.setAutoCommit(false);
             }
-            if (System.getProperty("databaseLoginTimeout") == null) {
-                PropertyFileManager.readPropertyFiles();
+            statement = pooledConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY);
+            int pendingRows = 0;
+            for (Object row : rows) {
+                setParameters(statement, toParameters(row));
+                statement.addBatch();
+                rowsCount++;
+                if (++pendingRows == batchSize) {
+                    updatedRows += executePendingBatch(statement, transactionPerBatch);
+                    batchesCount++;
+                    pendingRows = 0;
+                }
             }
-            DriverManager.setLoginTimeout(Integer.parseInt(System.getProperty("databaseLoginTimeout")));
-            connection = DriverManager.getConnection(connectionString, username, password);
-            if (!dbType.toString().equals("MY_SQL") && !dbType.toString().equals("POSTGRE_SQL")) {
-                // com.mysql.jdbc.JDBC4Connection.setNetworkTimeout
-                // org.postgresql.jdbc4.Jdbc4Connection.setNetworkTimeout
-                connection.setNetworkTimeout(Executors.newFixedThreadPool(1),
-                        Integer.parseInt(System.getProperty("databaseNetworkTimeout")) * 60000);
+            if (pendingRows > 0) {
+                updatedRows += executePendingBatch(statement, transactionPerBatch);
+                batchesCount++;
             }
-        } catch (SQLException rootCauseException) {
+            isCompleted = true;
+        } catch (SQLException | RuntimeException rootCauseException) {
+            // row sources can fail too, such as the UncheckedIOException of a CSV file that can't be read
             ReportManager.log(rootCauseException);
-            failAction(connectionString, rootCauseException);
+            failAction(reportMessage + "| Failed after: \"" + rowsCount + " rows in " + batchesCount + " batches\"",
+                    rootCauseException);
+        } finally {
+            // the rows of a failed batch must neither be replayed by the cached statement nor committed
+            clearBatchQuietly(statement);
+            if (!isCompleted) {
+                rollbackQuietly(connection, transactionPerBatch);
+            }
+            restoreAutoCommit(connection, transactionPerBatch);
+            connectionPool.returnConnection(pooledConnection);
         }
+        passAction(reportMessage + "| Rows: \"" + rowsCount + "\"| Batches: \"" + batchesCount
+                + "\"| Affected Rows: \"" + updatedRows + "\"| Duration: \"" + (System.currentTimeMillis() - startTime) + " ms\"");
+        return updatedRows;
+    }
 
-        if (connection != null) {
-            ReportManager.logDiscrete("Connection created successfully");
-        } else {
-            failAction("Failed to create a connection with this string [" + connectionString
-                    + "] due to an unhandled exception.");
+    /**
+     * Executes a parameterized DML statement once for every record in a CSV file,
+     * using JDBC batching. The file is read line by line, and the first line is
+     * treated as a header and skipped. Only a summary of the execution is added to
+     * the report.
+     *
+     * @param sql         an SQL Data Manipulation Language (DML) statement with ?
+     *                    placeholders, such as INSERT, UPDATE or DELETE
+     * @param csvFilePath the path to a comma separated values file, where every
+     *                    record holds the values of the placeholders in order
+     * @return the total number of rows affected, for the drivers that report it
+     */
+    public long executeBatchFromCsvFile(String sql, String csvFilePath) {
+        return executeBatchFromCsvFile(sql, csvFilePath, true);
+    }
+
+    /**
+     * Executes a parameterized DML statement once for every record in a CSV file,
+     * using JDBC batching. The file is read line by line. Only a summary of the
+     * execution is added to the report.
+     *
+     * @param sql           an SQL Data Manipulation Language (DML) statement with ?
+     *                      placeholders, such as INSERT, UPDATE or DELETE
+     * @param csvFilePath   the path to a comma separated values file, where every
+     *                      record holds the values of the placeholders in order
+     * @param hasHeaderLine true to skip the first line of the file
+     * @return the total number of rows affected, for the drivers that report it
+     */
+    public long executeBatchFromCsvFile(String sql, String csvFilePath, boolean hasHeaderLine) {
+        try (Stream<String> lines = Files.lines(Paths.get(csvFilePath), StandardCharsets.UTF_8)) {
+            // the records are parsed lazily while the batches are being sent
+            Iterable<List<String>> records = lines.skip(hasHeaderLine ? 1 : 0)
+                    .filter(line -> !line.isBlank())
+                    .map(DatabaseActions::parseCsvLine)::iterator;
+            return executeBatch(sql, records);
+        } catch (IOException | UncheckedIOException rootCauseException) {
+            ReportManager.log(rootCauseException);
+            failAction(csvFilePath, rootCauseException);
         }
-        return connection;
+        return 0;
     }
 
-    private Statement createStatement(Connection connection) {
-        Statement statement = null;
-        try {
-            statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-            // https://www.tutorialspoint.com/jdbc/jdbc-result-sets.htm
-            statement.setQueryTimeout(Integer.parseInt(System.getProperty("databaseQueryTimeout")));
-        } catch (SQLFeatureNotSupportedException rootCauseException) {
-            if (!rootCauseException.getMessage().contains("org.postgresql.jdbc4.Jdbc4Statement.setQueryTimeout")) {
-                ReportManager.log(rootCauseException);
-                failAction(connection.toString(), rootCauseException);
+    private static long executePendingBatch(PreparedStatement statement, boolean transactionPerBatch) throws SQLException {
+        long updatedRows = 0;
+        for (int updateCount : statement.executeBatch()) {
+            // some drivers return Statement.SUCCESS_NO_INFO instead of the number of affected rows
+            if (updateCount > 0) {
+                updatedRows += updateCount;
             }
-        } catch (SQLException rootCauseException) {
-            ReportManager.log(rootCauseException);
-            failAction(connection.toString(), rootCauseException);
         }
+        if (transactionPerBatch) {
+            statement.getConnection().commit();
+        }
+        return updatedRows;
+    }
 
+    private static void clearBatchQuietly(PreparedStatement statement) {
         if (statement != null) {
-            ReportManager.logDiscrete("Statement created successfully");
+            try {
+                statement.clearBatch();
+            } catch (SQLException rootCauseException) {
+                ReportManager.logDiscrete("Failed to clear the current batch: " + rootCauseException.getMessage());
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, boolean transactionPerBatch) {
+        if (connection != null && transactionPerBatch) {
+            try {
+                connection.rollback();
+            } catch (SQLException rootCauseException) {
+                ReportManager.logDiscrete("Failed to roll back the current batch: " + rootCauseException.getMessage());
+            }
+        }
+    }
+
+    private static void restoreAutoCommit(Connection connection, boolean transactionPerBatch) {
+        if (connection != null && transactionPerBatch) {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException rootCauseException) {
+                ReportManager.logDiscrete("Failed to restore the auto commit mode: " + rootCauseException.getMessage());
+            }
+        }
+    }
+
+    private static Object[] toParameters(Object row) {
+        if (row instanceof Object[]) {
+            return (Object[]) row;
+        } else if (row instanceof Collection) {
+            return ((Collection<?>) row).toArray();
+        } else if (row instanceof Map) {
+            return ((Map<?, ?>) row).values().toArray();
         } else {
-            failAction("Failed to create a statement with this string [" + connection.toString()
-                    + "] due to an unhandled exception.");
+            return new Object[]{row};
+        }
+    }
+
+    /**
+     * Splits a single CSV record into its values. Values may be enclosed in double
+     * quotes to hold commas, and double quotes inside them are escaped by doubling
+     * them.
+     *
+     * @param line a single line of a CSV file
+     * @return the values of the record, in order
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (isQuoted) {
+                if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (character == '"') {
+                    isQuoted = false;
+                } else {
+                    value.append(character);
+                }
+            } else if (character == '"') {
+                isQuoted = true;
+            } else if (character == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
         }
+        values.add(value.toString());
+        return values;
+    }
 
-        return statement;
+    private DatabaseConnectionPool getConnectionPool() {
+        String connectionString = "";
+        switch (dbType) {
+            case MY_SQL -> connectionString = "jdbc:mysql://" + dbServerIP + ":" + dbPort + "/" + dbName;
+            case SQL_SERVER -> connectionString = "jdbc:sqlserver://" + dbServerIP + ":" + dbPort + ";databaseName=" + dbName;
+            case POSTGRE_SQL -> connectionString = "jdbc:postgresql://" + dbServerIP + ":" + dbPort + "/" + dbName;
+            case ORACLE -> connectionString = "jdbc:oracle:thin:@" + dbServerIP + ":" + dbPort + ":" + dbName;
+            case IBM_DB2 -> connectionString = "jdbc:db2://" + dbServerIP + ":" + dbPort + "/" + dbName;
+            default -> {
+                ReportManager.log("Database not supported");
+                failAction(dbType.toString());
+            }
+        }
+        // com.mysql.jdbc.JDBC4Connection.setNetworkTimeout
+        // org.postgresql.jdbc4.Jdbc4Connection.setNetworkTimeout
+        boolean supportsNetworkTimeout = !dbType.equals(DatabaseType.MY_SQL) && !dbType.equals(DatabaseType.POSTGRE_SQL);
+        return DatabaseConnectionPool.getPool(dbType + "|" + connectionString + "|" + username,
+                connectionString, username, password, supportsNetworkTimeout);
+    }
+
+    private static int getFetchSize() {
+        return Integer.parseInt(System.getProperty("databaseFetchSize").trim());
+    }
+
+    private ResultSet openStreamingResultSet(DatabaseConnectionPool.PooledConnection pooledConnection, String sql,
+                                             Object... parameters) throws SQLException {
+        if (dbType.equals(DatabaseType.POSTGRE_SQL)) {
+            // the postgresql driver only fetches rows in batches while inside a transaction
+            pooledConnection.getConnection().setAutoCommit(false);
+        }
+        PreparedStatement statement = pooledConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY);
+        // the mysql driver only streams rows when the fetch size is Integer.MIN_VALUE
+        statement.setFetchSize(dbType.equals(DatabaseType.MY_SQL) ? Integer.MIN_VALUE : getFetchSize());
+        setParameters(statement, parameters);
+        return statement.executeQuery();
+    }
+
+    private void closeStreamingResultSet(DatabaseConnectionPool.PooledConnection pooledConnection) {
+        if (dbType.equals(DatabaseType.POSTGRE_SQL)) {
+            try {
+                pooledConnection.getConnection().rollback();
+                pooledConnection.getConnection().setAutoCommit(true);
+            } catch (SQLException rootCauseException) {
+                ReportManager.logDiscrete("Failed to end the streaming transaction: " + rootCauseException.getMessage());
+            }
+        }
+    }
+
+    private String getReportMessage(String queryType, String query, Object... parameters) {
+        String reportMessage = getReportMessage(queryType, query);
+        if (parameters != null && parameters.length > 0) {
+            reportMessage = reportMessage + "| Parameters: \"" + Arrays.toString(parameters) + "\"";
+        }
+        return reportMessage;
     }
 
     @SuppressWarnings("SuspiciousRegexArgument")
@@ -407,6 +808,84 @@ public class DatabaseActions {
                 "| Query: \"" + query + "\"";
     }
 
+    /**
+     * Reads the rows of a forward-only resultSet on demand, and keeps a preview of
+     * the first rows for the report.
+     */
+    private static class StreamingResult implements Iterator<Row> {
+        private final ResultSet resultSet;
+        private final String reportMessage;
+        private final int maximumPreviewRows;
+        private final List<String> columnNames;
+        private final StringBuilder preview = new StringBuilder();
+        private long rowCount = 0;
+        private Boolean hasNextRow = null;
+
+        private StreamingResult(ResultSet resultSet, String reportMessage, int maximumPreviewRows) throws SQLException {
+            this.resultSet = resultSet;
+            this.reportMessage = reportMessage;
+            this.maximumPreviewRows = maximumPreviewRows;
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<String> names = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                names.add(metaData.getColumnLabel(i));
+            }
+            this.columnNames = Collections.unmodifiableList(names);
+            preview.append(String.join("\t", columnNames)).append("\n");
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNextRow == null) {
+                try {
+                    hasNextRow = resultSet.next();
+                } catch (SQLException rootCauseException) {
+                    ReportManager.log(rootCauseException);
+                    failAction("executeStreamingSelectQuery", reportMessage, rootCauseException);
+                }
+            }
+            return Boolean.TRUE.equals(hasNextRow);
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNextRow = null;
+            Object[] values = new Object[columnNames.size()];
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+            } catch (SQLException rootCauseException) {
+                ReportManager.log(rootCauseException);
+                failAction("executeStreamingSelectQuery", reportMessage, rootCauseException);
+            }
+            Row row = new Row(columnNames, values);
+            rowCount++;
+            if (rowCount <= maximumPreviewRows) {
+                preview.append(row).append("\n");
+            }
+            return row;
+        }
+
+        private String getPreview() {
+            if (rowCount > maximumPreviewRows) {
+                return preview + "... Preview limited to the first [" + maximumPreviewRows + "] of [" + rowCount + "] rows.";
+            }
+            return preview.toString().trim();
+        }
+
+        private void close() {
+            try {
+                resultSet.close();
+            } catch (SQLException rootCauseException) {
+                // the statement is reused, and closing it will close this result set anyway
+            }
+        }
+    }
+
     public enum DatabaseType {
         MY_SQL, SQL_SERVER, POSTGRE_SQL, ORACLE, IBM_DB2
     }
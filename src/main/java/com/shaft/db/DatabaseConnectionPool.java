@@ -0,0 +1,257 @@
+package com.shaft.db;
+
+import com.shaft.tools.io.PropertyFileManager;
+import com.shaft.tools.io.ReportManager;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lightweight pool of JDBC connections, one pool per database type, server,
+ * database name, and username. Each pooled connection keeps a bounded cache of
+ * its prepared statements, so repeated queries skip the preparation round
+ * trip. All pools are closed at the end of the suite.
+ */
+class DatabaseConnectionPool {
+    private static final Map<String, DatabaseConnectionPool> pools = new ConcurrentHashMap<>();
+    // a single shared executor is used by all connections to enforce the network timeout
+    private static final ExecutorService networkTimeoutExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "SHAFT-DatabaseNetworkTimeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long VALIDATION_INTERVAL_MILLIS = 30000;
+
+    private final String connectionString;
+    private final String username;
+    private final String password;
+    private final boolean supportsNetworkTimeout;
+    private final int statementCacheSize;
+    private final Semaphore availableConnections;
+    private final Deque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger createdConnectionsCount = new AtomicInteger(0);
+
+    private DatabaseConnectionPool(String connectionString, String username, String password,
+                                   boolean supportsNetworkTimeout) {
+        this.connectionString = connectionString;
+        this.username = username;
+        this.password = password;
+        this.supportsNetworkTimeout = supportsNetworkTimeout;
+        this.statementCacheSize = Integer.parseInt(System.getProperty("databasePreparedStatementCacheSize").trim());
+        this.availableConnections = new Semaphore(Integer.parseInt(System.getProperty("databaseConnectionPoolSize").trim()), true);
+    }
+
+    /**
+     * Returns the pool that serves the target database and user, creating it if
+     * this is the first connection to that database.
+     *
+     * @param poolKey                a key that identifies the database type,
+     *                               server, database name, and username
+     * @param connectionString       the JDBC connection string
+     * @param username               database username
+     * @param password               password of database user
+     * @param supportsNetworkTimeout whether the driver supports
+     *                               Connection.setNetworkTimeout
+     * @return the connection pool of the target database
+     */
+    static DatabaseConnectionPool getPool(String poolKey, String connectionString, String username, String password,
+                                          boolean supportsNetworkTimeout) {
+        if (System.getProperty("databaseConnectionPoolSize") == null) {
+            PropertyFileManager.readPropertyFiles();
+        }
+        return pools.computeIfAbsent(poolKey,
+                key -> new DatabaseConnectionPool(connectionString, username, password, supportsNetworkTimeout));
+    }
+
+    /**
+     * Closes all idle connections and their cached statements, across all the
+     * pools. Connections that are still in use are closed when they are
+     * returned.
+     */
+    static void closeAllPools() {
+        pools.values().forEach(DatabaseConnectionPool::close);
+        pools.clear();
+    }
+
+    /**
+     * @return the number of physical connections that were opened by all pools,
+     * used to confirm that connections are being reused
+     */
+    static int getCreatedConnectionsCount() {
+        return pools.values().stream().mapToInt(pool -> pool.createdConnectionsCount.get()).sum();
+    }
+
+    /**
+     * Borrows an idle connection, or opens a new one if the pool has not reached
+     * its maximum size. Waits up to the database login timeout for a connection
+     * to be returned otherwise.
+     *
+     * @return a connection that must be returned to the pool after use
+     * @throws SQLException if no connection could be borrowed or opened
+     */
+    PooledConnection borrowConnection() throws SQLException {
+        int loginTimeout = Integer.parseInt(System.getProperty("databaseLoginTimeout").trim());
+        try {
+            if (!availableConnections.tryAcquire(loginTimeout, TimeUnit.SECONDS)) {
+                throw new SQLTimeoutException("Timed out waiting for an available connection to [" + connectionString + "]");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for an available connection to [" + connectionString + "]", e);
+        }
+
+        try {
+            PooledConnection pooledConnection;
+            while ((pooledConnection = idleConnections.pollFirst()) != null) {
+                if (pooledConnection.isUsable()) {
+                    return pooledConnection;
+                }
+                discard(pooledConnection);
+            }
+            return openConnection(loginTimeout);
+        } catch (SQLException | RuntimeException e) {
+            availableConnections.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. Broken connections are closed
+     * instead of being reused.
+     *
+     * @param pooledConnection the borrowed connection
+     */
+    void returnConnection(PooledConnection pooledConnection) {
+        if (pooledConnection == null) {
+            return;
+        }
+        try {
+            if (pools.containsValue(this) && !pooledConnection.connection.isClosed()) {
+                pooledConnection.lastUsedTimestamp = System.currentTimeMillis();
+                idleConnections.offerFirst(pooledConnection);
+            } else {
+                discard(pooledConnection);
+            }
+        } catch (SQLException e) {
+            discard(pooledConnection);
+        } finally {
+            availableConnections.release();
+        }
+    }
+
+    private PooledConnection openConnection(int loginTimeout) throws SQLException {
+        DriverManager.setLoginTimeout(loginTimeout);
+        Connection connection = DriverManager.getConnection(connectionString, username, password);
+        if (supportsNetworkTimeout) {
+            // com.mysql.jdbc.JDBC4Connection.setNetworkTimeout
+            // org.postgresql.jdbc4.Jdbc4Connection.setNetworkTimeout
+            connection.setNetworkTimeout(networkTimeoutExecutor,
+                    Integer.parseInt(System.getProperty("databaseNetworkTimeout").trim()) * 60000);
+        }
+        PooledConnection pooledConnection = new PooledConnection(connection, statementCacheSize);
+        createdConnectionsCount.incrementAndGet();
+        ReportManager.logDiscrete("Connection created successfully");
+        return pooledConnection;
+    }
+
+    private void discard(PooledConnection pooledConnection) {
+        pooledConnection.close();
+    }
+
+    private void close() {
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            discard(pooledConnection);
+        }
+    }
+
+    /**
+     * A physical connection and the prepared statements that were created on
+     * it, kept open for reuse. Only used by one thread at a time.
+     */
+    static class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statementCache;
+        private long lastUsedTimestamp = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.statementCache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Returns a cached prepared statement for this query, or prepares a new one.
+         *
+         * @param sql           the query, optionally with ? placeholders
+         * @param resultSetType a result set type constant from java.sql.ResultSet
+         * @return a prepared statement with its parameters and batch cleared
+         * @throws SQLException if the statement could not be prepared
+         */
+        PreparedStatement prepareStatement(String sql, int resultSetType) throws SQLException {
+            String statementKey = resultSetType + ":" + sql;
+            PreparedStatement statement = statementCache.get(statementKey);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql, resultSetType, ResultSet.CONCUR_READ_ONLY);
+                setQueryTimeout(statement);
+                statementCache.put(statementKey, statement);
+            } else {
+                statement.clearParameters();
+                statement.clearBatch();
+            }
+            return statement;
+        }
+
+        private static void setQueryTimeout(Statement statement) throws SQLException {
+            try {
+                // https://www.tutorialspoint.com/jdbc/jdbc-result-sets.htm
+                statement.setQueryTimeout(Integer.parseInt(System.getProperty("databaseQueryTimeout").trim()));
+            } catch (SQLFeatureNotSupportedException rootCauseException) {
+                if (!rootCauseException.getMessage().contains("org.postgresql.jdbc4.Jdbc4Statement.setQueryTimeout")) {
+                    throw rootCauseException;
+                }
+            }
+        }
+
+        private static void closeQuietly(AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // the statement or connection is being discarded anyway
+            }
+        }
+
+        private boolean isUsable() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                // connections that were idle for a while are validated before being reused
+                return System.currentTimeMillis() - lastUsedTimestamp < VALIDATION_INTERVAL_MILLIS || connection.isValid(5);
+            } catch (SQLException e) {
+                // a connection that can't be validated is treated as broken, so it is discarded instead of leaking
+                return false;
+            }
+        }
+
+        private void close() {
+            statementCache.values().forEach(PooledConnection::closeQuietly);
+            statementCache.clear();
+            closeQuietly(connection);
+        }
+    }
+}
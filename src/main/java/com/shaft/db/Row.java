@@ -0,0 +1,109 @@
+package com.shaft.db;
+
+import java.util.List;
+
+/**
+ * A single row that was read from a streaming database query. The row holds a
+ * copy of its values, so it stays valid after the cursor moves to the next row.
+ */
+@SuppressWarnings("unused")
+public class Row {
+    private final List<String> columnNames;
+    private final Object[] values;
+
+    Row(List<String> columnNames, Object[] values) {
+        this.columnNames = columnNames;
+        this.values = values;
+    }
+
+    /**
+     * @return the number of columns in this row
+     */
+    public int getColumnCount() {
+        return values.length;
+    }
+
+    /**
+     * @return the names of the columns in this row, in order
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Returns the value of the target column
+     *
+     * @param columnIndex the index of the target column, the first column is 1
+     * @return the value of the target column, which may be null
+     */
+    public Object get(int columnIndex) {
+        if (columnIndex < 1 || columnIndex > values.length) {
+            throw new IndexOutOfBoundsException("Column index [" + columnIndex + "] is out of range [1-" + values.length + "].");
+        }
+        return values[columnIndex - 1];
+    }
+
+    /**
+     * Returns the value of the target column
+     *
+     * @param columnName the name of the target column, which is not case
+     *                   sensitive
+     * @return the value of the target column, which may be null
+     */
+    public Object get(String columnName) {
+        return get(findColumn(columnName));
+    }
+
+    /**
+     * Returns a string representation of the value of the target column
+     *
+     * @param columnIndex the index of the target column, the first column is 1
+     * @return the value of the target column as a string, or "null"
+     */
+    public String getString(int columnIndex) {
+        return String.valueOf(get(columnIndex));
+    }
+
+    /**
+     * Returns a string representation of the value of the target column
+     *
+     * @param columnName the name of the target column, which is not case
+     *                   sensitive
+     * @return the value of the target column as a string, or "null"
+     */
+    public String getString(String columnName) {
+        return String.valueOf(get(columnName));
+    }
+
+    /**
+     * Returns the index of the target column
+     *
+     * @param columnName the name of the target column, which is not case
+     *                   sensitive
+     * @return the index of the target column, the first column is 1
+     */
+    public int findColumn(String columnName) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (columnNames.get(i).equalsIgnoreCase(columnName)) {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Column [" + columnName + "] was not found in " + columnNames + ".");
+    }
+
+    /**
+     * @return the values of this row separated by tabs, the same format used by
+     * DatabaseActions.getResult
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            str.append(values[i]);
+            if (i != values.length - 1) {
+                str.append("\t");
+            }
+        }
+        return str.toString();
+    }
+}
@@ -1,11 +1,13 @@
 package com.shaft.gui.browser;
 
 import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.ElementCache;
 import com.shaft.gui.element.JavaScriptWaitManager;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.support.JSHelpers;
+import com.shaft.tools.support.StackHelpers;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.*;
@@ -188,6 +190,8 @@ public class BrowserActions {
              * '1.8.0_202' Driver info: driver.version: RemoteWebDriver
              */
         }
+        // elements that were identified on the current page will not be reused after navigation
+        ElementCache.invalidate(driver);
         try {
             JavaScriptWaitManager.waitForLazyLoading();
 
@@ -237,6 +241,7 @@ public class BrowserActions {
         try {
             initialURL = driver.getCurrentUrl();
             driver.navigate().back();
+            ElementCache.invalidate(driver);
             JavaScriptWaitManager.waitForLazyLoading();
             (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
                     .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
@@ -264,6 +269,7 @@ public class BrowserActions {
         try {
             initialURL = driver.getCurrentUrl();
             driver.navigate().forward();
+            ElementCache.invalidate(driver);
             JavaScriptWaitManager.waitForLazyLoading();
             (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
                     .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
@@ -287,6 +293,7 @@ public class BrowserActions {
     public static void refreshCurrentPage(WebDriver driver) {
         JavaScriptWaitManager.waitForLazyLoading();
         driver.navigate().refresh();
+        ElementCache.invalidate(driver);
         passAction(driver, driver.getPageSource());
         // removed all exception handling as there was no comments on when and why this
         // exception happens
@@ -432,12 +439,12 @@ public class BrowserActions {
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(null, actionName, testData);
     }
 
     private static void passAction(WebDriver driver, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, actionName, testData);
     }
 
@@ -446,12 +453,12 @@ public class BrowserActions {
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(null, actionName, "", rootCauseException);
     }
 
     private static void failAction(WebDriver driver, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(driver, actionName, testData, rootCauseException);
     }
 
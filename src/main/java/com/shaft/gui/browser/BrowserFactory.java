@@ -2,9 +2,11 @@ package com.shaft.gui.browser;
 
 import com.google.common.collect.ImmutableMap;
 import com.shaft.cli.FileActions;
+import com.shaft.gui.element.ElementCache;
 import com.shaft.gui.element.JavaScriptWaitManager;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
 import io.appium.java_client.android.AndroidDriver;
@@ -31,16 +33,14 @@ import org.testng.Assert;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class BrowserFactory {
     // TODO: implement pass and fail actions to enable initial factory method screenshot and append it to animated GIF
-    private static final Map<String, Map<String, WebDriver>> drivers = new HashMap<>();
     private static Boolean AUTO_MAXIMIZE;
     private static Boolean HEADLESS_EXECUTION;
     private static String EXECUTION_ADDRESS;
@@ -62,7 +62,7 @@ public class BrowserFactory {
     private static String customDriverName;
     private static String targetOperatingSystem;
     // browser, <os,driver>
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
     // logging preferences object
     private static LoggingPreferences logPrefs;
@@ -158,51 +158,47 @@ public class BrowserFactory {
     /**
      * Close all open browser instances.
      */
-    public static synchronized void closeAllDrivers() {
-        if (!drivers.entrySet().isEmpty()) {
-            for (Entry<String, Map<String, WebDriver>> entry : drivers.entrySet()) {
-                for (Entry<String, WebDriver> driverEntry : entry.getValue().entrySet()) {
-                    WebDriver targetDriver = driverEntry.getValue();
-                    if (((RemoteWebDriver) targetDriver).getSessionId() != null) {
-                        attachWebDriverLogs(targetDriver);
-                        attemptToCloseOrQuitBrowser(targetDriver, false);
-                        attemptToCloseOrQuitBrowser(targetDriver, true);
-                    }
-                }
-            }
-            driver = new ThreadLocal<>();
-            drivers.clear();
+    public static void closeAllDrivers() {
+        boolean isBrowsersListEmpty = DriverRegistry.isEmpty();
+        List<DriverRegistry.DriverSession> openSessions = DriverRegistry.startClosingAll();
+        if (!openSessions.isEmpty()) {
+            closeDriversInParallel(openSessions);
+        }
+        if (!isBrowsersListEmpty) {
+            driver.remove();
             ReportManager.log("Successfully Closed All Browsers.");
         }
+        DriverSessionPool.closeAllSessions();
     }
 
     public static Boolean isBrowsersListEmpty() {
-        return drivers.entrySet().isEmpty();
+        return DriverRegistry.isEmpty();
     }
 
     public static int getActiveDriverSessions() {
-        return drivers.entrySet().size();
+        return DriverRegistry.getActiveSessionsCount();
     }
 
     public static boolean isKillSwitch() {
         return killSwitch;
     }
 
-    protected static synchronized void closeDriver(int hashCode) {
-        if (!drivers.entrySet().isEmpty()) {
-            for (Entry<String, Map<String, WebDriver>> entry : drivers.entrySet()) {
-                if (entry.getKey().contains(String.valueOf(hashCode))) {
-                    WebDriver targetDriver = entry.getValue().get(targetOperatingSystem);
-                    attachWebDriverLogs(targetDriver);
-                    //attemptToCloseOrQuitBrowser(targetDriver, false);
-                    attemptToCloseOrQuitBrowser(targetDriver, true);
-                }
+    protected static void closeDriver(int hashCode) {
+        // only the sessions claimed by this thread are closed, so that parallel tests can close their drivers concurrently
+        DriverRegistry.startClosing(hashCode).forEach(session -> {
+            WebDriver targetDriver = session.getDriver();
+            attachWebDriverLogs(targetDriver);
+            //attemptToCloseOrQuitBrowser(targetDriver, false);
+            boolean isReturnedToPool = DriverSessionPool.returnSession(targetDriver);
+            if (!isReturnedToPool) {
+                attemptToCloseOrQuitBrowser(targetDriver, true);
             }
-        }
+            session.finishClosing(isReturnedToPool);
+        });
     }
 
     private static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         String message = "Browser Factory Action [" + actionName + "] failed.";
         if (testData != null) {
             message = message + " With the following test data [" + testData + "].";
@@ -412,53 +408,25 @@ public class BrowserFactory {
     }
 
     private static void createNewLocalDriverInstanceForFirefox() {
-        if (!"".equals(customDriverName) && !"".equals(customDriverPath)) {
-            System.setProperty("webdriver.gecko.driver",
-                    customDriverPath + customDriverName + setDriversExtecutableFileExtension());
-        } else {
-            ReportManager.log(WEBDRIVERMANAGER_MESSAGE);
-            WebDriverManager.firefoxdriver().setup();
-        }
-        driver.set(new FirefoxDriver(ffOptions));
+        driver.set(createNewLocalDriver("webdriver.gecko.driver", WebDriverManager.firefoxdriver(), () -> new FirefoxDriver(ffOptions)));
         storeDriverInstance(BrowserType.MOZILLA_FIREFOX.getValue());
         ReportManager.log("Successfully Opened Mozilla Firefox.");
     }
 
     private static void createNewLocalDriverInstanceForInternetExplorer() {
-        if (!customDriverName.equals("") && !customDriverPath.equals("")) {
-            System.setProperty("webdriver.ie.driver",
-                    customDriverPath + customDriverName + setDriversExtecutableFileExtension());
-        } else {
-            ReportManager.log(WEBDRIVERMANAGER_MESSAGE);
-            WebDriverManager.iedriver().setup();
-        }
-        driver.set(new InternetExplorerDriver(ieOptions));
+        driver.set(createNewLocalDriver("webdriver.ie.driver", WebDriverManager.iedriver(), () -> new InternetExplorerDriver(ieOptions)));
         storeDriverInstance(BrowserType.MICROSOFT_IE.getValue());
         ReportManager.log("Successfully Opened Microsoft Internet Explorer.");
     }
 
     private static void createNewLocalDriverInstanceForChrome() {
-        if (!customDriverName.equals("") && !customDriverPath.equals("")) {
-            System.setProperty("webdriver.chrome.driver",
-                    customDriverPath + customDriverName + setDriversExtecutableFileExtension());
-        } else {
-            ReportManager.log(WEBDRIVERMANAGER_MESSAGE);
-            WebDriverManager.chromedriver().setup();
-        }
-        driver.set(new ChromeDriver(chOptions));
+        driver.set(createNewLocalDriver("webdriver.chrome.driver", WebDriverManager.chromedriver(), () -> new ChromeDriver(chOptions)));
         storeDriverInstance(BrowserType.GOOGLE_CHROME.getValue());
         ReportManager.log("Successfully Opened Google Chrome.");
     }
 
     private static void createNewLocalDriverInstanceForEdge() {
-        if (!customDriverName.equals("") && !customDriverPath.equals("")) {
-            System.setProperty("webdriver.edge.driver",
-                    customDriverPath + customDriverName + setDriversExtecutableFileExtension());
-        } else {
-            ReportManager.log(WEBDRIVERMANAGER_MESSAGE);
-            WebDriverManager.edgedriver().setup();
-        }
-        driver.set(new EdgeDriver(edOptions));
+        driver.set(createNewLocalDriver("webdriver.edge.driver", WebDriverManager.edgedriver(), () -> new EdgeDriver(edOptions)));
         storeDriverInstance(BrowserType.MICROSOFT_EDGE.getValue());
         ReportManager.log("Successfully Opened Microsoft Edge.");
     }
@@ -474,6 +442,40 @@ public class BrowserFactory {
         ReportManager.log("Successfully Opened Safari.");
     }
 
+    private static boolean setupLocalDriverExecutable(String driverExecutableProperty, WebDriverManager webDriverManager) {
+        if (!"".equals(customDriverName) && !"".equals(customDriverPath)) {
+            System.setProperty(driverExecutableProperty,
+                    customDriverPath + customDriverName + setDriversExtecutableFileExtension());
+        } else if (DriverResolutionCache.setupFromCache(driverExecutableProperty)) {
+            return true;
+        } else {
+            ReportManager.log(WEBDRIVERMANAGER_MESSAGE);
+            webDriverManager.setup();
+            DriverResolutionCache.store(driverExecutableProperty, webDriverManager.getDownloadedDriverVersion());
+        }
+        return false;
+    }
+
+    private static WebDriver createNewLocalDriver(String driverExecutableProperty, WebDriverManager webDriverManager, Supplier<WebDriver> driverLauncher) {
+        WebDriver localDriver;
+        if (setupLocalDriverExecutable(driverExecutableProperty, webDriverManager)) {
+            try {
+                localDriver = driverLauncher.get();
+            } catch (SessionNotCreatedException e) {
+                // the browser was probably updated to a version that the cached driver doesn't support
+                DriverResolutionCache.invalidate(driverExecutableProperty);
+                setupLocalDriverExecutable(driverExecutableProperty, webDriverManager);
+                localDriver = driverLauncher.get();
+            }
+        } else {
+            localDriver = driverLauncher.get();
+        }
+        if (localDriver instanceof HasCapabilities) {
+            DriverResolutionCache.storeBrowserVersion(driverExecutableProperty, ((HasCapabilities) localDriver).getCapabilities().getVersion());
+        }
+        return localDriver;
+    }
+
     private static WebDriver createNewLocalDriverInstance(String browserName) {
         String initialLog = "Attempting to run locally on: [" + targetOperatingSystem + "], [" + browserName + "]";
         if (Boolean.TRUE.equals(HEADLESS_EXECUTION)) {
@@ -597,6 +599,72 @@ public class BrowserFactory {
         return driver.get();
     }
 
+    /**
+     * Prepares the launcher of the pooled sessions while the browser options are
+     * locked, so that the session itself can be taken from the pool, or
+     * launched, without blocking the other threads that open browsers
+     *
+     * @param sessionPoolKey the browser type and custom options of the session
+     * @return creates a new chrome session with the current options, locally or
+     * remotely
+     */
+    private static Supplier<WebDriver> createPooledSessionLauncher(String sessionPoolKey) {
+        boolean isLocalExecution = "local".equals(EXECUTION_ADDRESS);
+        String targetHubUrl = TARGET_HUB_URL;
+        // the sessions that are launched in the background use their own copy, which the next call to setDriverOptions doesn't change
+        ChromeOptions options = copyChromeOptions(chOptions);
+        if (isLocalExecution && !DriverSessionPool.hasIdleSession(sessionPoolKey)) {
+            // the driver executable is set up once, before any session is launched in the background
+            setupLocalDriverExecutable("webdriver.chrome.driver", WebDriverManager.chromedriver());
+        }
+        return () -> {
+            if (!isLocalExecution) {
+                try {
+                    RemoteWebDriver remoteDriver = new RemoteWebDriver(new URL(targetHubUrl), options);
+                    remoteDriver.setFileDetector(new LocalFileDetector());
+                    return remoteDriver;
+                } catch (MalformedURLException e) {
+                    throw new WebDriverException(e);
+                }
+            }
+            return new ChromeDriver(options);
+        };
+    }
+
+    /**
+     * ChromeOptions.merge drops the arguments, extensions, and experimental
+     * options in this Selenium version, so they are copied one by one
+     *
+     * @param source the chrome options to be copied
+     * @return a new instance with the same capabilities and chrome options
+     */
+    private static ChromeOptions copyChromeOptions(MutableCapabilities source) {
+        ChromeOptions copy = new ChromeOptions();
+        source.asMap().forEach((capabilityName, value) -> {
+            if (ChromeOptions.CAPABILITY.equals(capabilityName) && value instanceof Map) {
+                ((Map<?, ?>) value).forEach((optionName, optionValue) -> {
+                    switch (String.valueOf(optionName)) {
+                        case "args" -> copy.addArguments(toStringList(optionValue));
+                        case "extensions" -> copy.addEncodedExtensions(toStringList(optionValue));
+                        case "binary" -> copy.setBinary(String.valueOf(optionValue));
+                        default -> copy.setExperimentalOption(String.valueOf(optionName), optionValue);
+                    }
+                });
+            } else {
+                copy.setCapability(capabilityName, value);
+            }
+        });
+        return copy;
+    }
+
+    private static List<String> toStringList(Object values) {
+        List<String> strings = new ArrayList<>();
+        if (values instanceof Collection) {
+            ((Collection<?>) values).forEach(value -> strings.add(String.valueOf(value)));
+        }
+        return strings;
+    }
+
     private static Platform getDesiredOperatingSystem() {
         OperatingSystemType operatingSystem = getOperatingSystemFromName(targetOperatingSystem);
 
@@ -615,6 +683,7 @@ public class BrowserFactory {
     }
 
     private static void attemptToCloseOrQuitBrowser(WebDriver driver, boolean quit) {
+        ElementCache.invalidate(driver);
         try {
             if (quit) {
                 driver.quit();
@@ -629,18 +698,77 @@ public class BrowserFactory {
 
     }
 
+    private static void closeDriversInParallel(List<DriverRegistry.DriverSession> openSessions) {
+        int threadPoolSize = Math.max(1, Math.min(openSessions.size(),
+                Integer.parseInt(System.getProperty("browserTeardownThreadPoolSize", "8").trim())));
+        long teardownTimeout = Long.parseLong(System.getProperty("browserTeardownTimeout", "30").trim());
+        ExecutorService teardownExecutor = Executors.newFixedThreadPool(threadPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "SHAFT-BrowserTeardown");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Map<String, String>>> teardowns = new ArrayList<>();
+            openSessions.forEach(openSession -> teardowns.add(teardownExecutor.submit(() -> closeDriverAndGetLogs(openSession))));
+            // all the drivers share one deadline, so that a few hanging drivers can't multiply the teardown timeout
+            long teardownDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(teardownTimeout);
+            // the logs are attached in the order in which the drivers were created, regardless of which one was closed first
+            for (int i = 0; i < openSessions.size(); i++) {
+                try {
+                    teardowns.get(i).get(Math.max(0, teardownDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                            .forEach((logType, log) -> ReportManager.attach("Selenium WebDriver Logs", logType, log));
+                } catch (TimeoutException e) {
+                    teardowns.get(i).cancel(true);
+                    // the cancelled teardown may never get to finish closing the session, which is abandoned instead
+                    openSessions.get(i).finishClosing(false);
+                    ReportManager.logDiscrete("Timed out after [" + teardownTimeout + "] seconds while closing ["
+                            + openSessions.get(i).getDescription() + "].");
+                } catch (ExecutionException e) {
+                    ReportManager.logDiscrete(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            teardownExecutor.shutdownNow();
+        }
+    }
+
+    private static Map<String, String> closeDriverAndGetLogs(DriverRegistry.DriverSession openSession) {
+        WebDriver targetDriver = openSession.getDriver();
+        Map<String, String> webDriverLogs = Map.of();
+        try {
+            // a session that was already quit has no session id
+            if (((RemoteWebDriver) targetDriver).getSessionId() != null) {
+                webDriverLogs = getWebDriverLogs(targetDriver);
+                attemptToCloseOrQuitBrowser(targetDriver, false);
+                attemptToCloseOrQuitBrowser(targetDriver, true);
+            }
+        } finally {
+            openSession.finishClosing(false);
+        }
+        return webDriverLogs;
+    }
+
     private static void attachWebDriverLogs(WebDriver driver) {
+        getWebDriverLogs(driver).forEach((logType, log) -> ReportManager.attach("Selenium WebDriver Logs", logType, log));
+    }
+
+    private static Map<String, String> getWebDriverLogs(WebDriver driver) {
+        Map<String, String> webDriverLogs = new TreeMap<>();
         try {
             driver.manage().logs().getAvailableLogTypes().forEach(logType -> {
                 StringBuilder logBuilder = new StringBuilder();
                 for (LogEntry entry : driver.manage().logs().get(logType)) {
                     logBuilder.append(entry.toString()).append(System.lineSeparator());
                 }
-                ReportManager.attach("Selenium WebDriver Logs", logType, logBuilder.toString());
+                webDriverLogs.put(logType, logBuilder.toString());
             });
         } catch (WebDriverException e) {
             // exception when the defined logging is not supported
         }
+        return webDriverLogs;
     }
 
     private static DesiredCapabilities setAppiumDesiredCapabilitiesList() {
@@ -665,62 +793,104 @@ public class BrowserFactory {
      *                    'GoogleChrome', and 'MicrosoftEdge'
      * @return a singleton browser instance
      */
-    private static synchronized WebDriver getBrowser(String browserName, MutableCapabilities customBrowserOptions) {
-        initializeSystemProperties(System.getProperty("targetBrowserName") == null);
-        String internalBrowserName = browserName;
-        if (internalBrowserName == null) {
-            internalBrowserName = TARGET_BROWSER_NAME;
-        }
-
-        if (isMobileWebExecution()) {
-            internalBrowserName = System.getProperty("mobile_browserName");
-        }
-        try {
-            if (!isMobileNativeExecution()) {
-                checkBrowserOSCrossCompatibility(internalBrowserName);
-                // check cross-compatibility between the selected operating system and browser
-                // and report in case they are not compatible
-
-                setLoggingPrefrences();
-                // set logging global preferences
-            }
-            if (!isMobileExecution()) {
-                setDriverOptions(internalBrowserName, customBrowserOptions);
-                // set driver options with respect to the target browser name
-            }
-            if (Boolean.TRUE.equals(BROWSEROBJECTSINGLETON)) {
-                closeAllDrivers();
+    private static WebDriver getBrowser(String browserName, MutableCapabilities customBrowserOptions) {
+        String internalBrowserName;
+        String sessionPoolKey;
+        Supplier<WebDriver> pooledSessionLauncher;
+        synchronized (BrowserFactory.class) {
+            initializeSystemProperties(System.getProperty("targetBrowserName") == null);
+            internalBrowserName = browserName;
+            if (internalBrowserName == null) {
+                internalBrowserName = TARGET_BROWSER_NAME;
             }
 
-            if ("local".equals(EXECUTION_ADDRESS) && !isMobileExecution()) {
-                // Manage local execution
-                driver.set(createNewLocalDriverInstance(internalBrowserName));
-            } else {
-                // Manage remote execution / or appium execution
-                driver.set(createNewRemoteDriverInstance(internalBrowserName));
+            if (isMobileWebExecution()) {
+                internalBrowserName = System.getProperty("mobile_browserName");
+            }
+            // only chrome sessions are pooled, because they are the only ones whose cookies and storage can be fully reset
+            boolean isPooledSession = DriverSessionPool.isEnabled() && !isMobileExecution()
+                    && !Boolean.TRUE.equals(BROWSEROBJECTSINGLETON)
+                    && BrowserType.GOOGLE_CHROME.equals(getBrowserTypeFromName(internalBrowserName));
+            MutableCapabilities browserOptions = customBrowserOptions;
+            if (isPooledSession && customBrowserOptions != null) {
+                // setDriverOptions changes the options that it is given, which would change the pool key of every test that reuses them
+                browserOptions = copyChromeOptions(customBrowserOptions);
             }
-            if (!isMobileNativeExecution()) {
-                driver.get().manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT, TimeUnit.SECONDS);
-                driver.get().manage().timeouts().setScriptTimeout(SCRIPT_TIMEOUT, TimeUnit.SECONDS);
-                if (Boolean.TRUE.equals(WAIT_IMPLICITLY)) {
-                    driver.get().manage().timeouts().implicitlyWait(IMPLICIT_WAIT_TIMEOUT, TimeUnit.SECONDS);
+            sessionPoolKey = isPooledSession ? DriverSessionPool.getPoolKey(internalBrowserName, EXECUTION_ADDRESS, browserOptions) : null;
+            try {
+                if (!isMobileNativeExecution()) {
+                    checkBrowserOSCrossCompatibility(internalBrowserName);
+                    // check cross-compatibility between the selected operating system and browser
+                    // and report in case they are not compatible
+
+                    setLoggingPrefrences();
+                    // set logging global preferences
+                }
+                if (!isMobileExecution()) {
+                    setDriverOptions(internalBrowserName, browserOptions);
+                    // set driver options with respect to the target browser name
+                }
+                if (Boolean.TRUE.equals(BROWSEROBJECTSINGLETON)) {
+                    closeAllDrivers();
                 }
 
-                JavaScriptWaitManager.setDriver(driver.get());
-                if (Boolean.TRUE.equals(AUTO_MAXIMIZE) && !isMobileWebExecution()
-                        && (!BrowserType.GOOGLE_CHROME.equals(getBrowserTypeFromName(internalBrowserName)) || OperatingSystemType.MACOS.equals(getOperatingSystemFromName(targetOperatingSystem)))) {
-                    BrowserActions.maximizeWindow(driver.get());
+                if (isPooledSession) {
+                    // Manage pre-launched sessions, locally or remotely, once the lock is released
+                    pooledSessionLauncher = createPooledSessionLauncher(sessionPoolKey);
+                } else {
+                    if ("local".equals(EXECUTION_ADDRESS) && !isMobileExecution()) {
+                        // Manage local execution
+                        driver.set(createNewLocalDriverInstance(internalBrowserName));
+                    } else {
+                        // Manage remote execution / or appium execution
+                        driver.set(createNewRemoteDriverInstance(internalBrowserName));
+                    }
+                    configureBrowser(internalBrowserName);
+                    return driver.get();
                 }
+            } catch (NullPointerException e) {
+                failUnhandledBrowserType(internalBrowserName, e);
+                return driver.get();
             }
-        } catch (NullPointerException e) {
-            ReportManager.log(e);
-            ReportManager.log("Unhandled Exception with Browser Type [" + internalBrowserName + "].");
-            Assert.fail("Unhandled Exception with Browser Type [" + internalBrowserName + "].", e);
         }
 
+        // launching a browser takes seconds, so it doesn't hold the lock that every other thread needs to open its own browser
+        WebDriver pooledSession = DriverSessionPool.takeSession(sessionPoolKey, pooledSessionLauncher);
+        synchronized (BrowserFactory.class) {
+            try {
+                driver.set(pooledSession);
+                storeDriverInstance(BrowserType.GOOGLE_CHROME.getValue());
+                ReportManager.log("Successfully Opened [" + BrowserType.GOOGLE_CHROME.getValue() + "] from the browser session pool.");
+                configureBrowser(internalBrowserName);
+            } catch (NullPointerException e) {
+                failUnhandledBrowserType(internalBrowserName, e);
+            }
+        }
         return driver.get();
     }
 
+    private static void configureBrowser(String internalBrowserName) {
+        if (!isMobileNativeExecution()) {
+            driver.get().manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT, TimeUnit.SECONDS);
+            driver.get().manage().timeouts().setScriptTimeout(SCRIPT_TIMEOUT, TimeUnit.SECONDS);
+            if (Boolean.TRUE.equals(WAIT_IMPLICITLY)) {
+                driver.get().manage().timeouts().implicitlyWait(IMPLICIT_WAIT_TIMEOUT, TimeUnit.SECONDS);
+            }
+
+            JavaScriptWaitManager.setDriver(driver.get());
+            if (Boolean.TRUE.equals(AUTO_MAXIMIZE) && !isMobileWebExecution()
+                    && (!BrowserType.GOOGLE_CHROME.equals(getBrowserTypeFromName(internalBrowserName)) || OperatingSystemType.MACOS.equals(getOperatingSystemFromName(targetOperatingSystem)))) {
+                BrowserActions.maximizeWindow(driver.get());
+            }
+        }
+    }
+
+    private static void failUnhandledBrowserType(String internalBrowserName, NullPointerException e) {
+        ReportManager.log(e);
+        ReportManager.log("Unhandled Exception with Browser Type [" + internalBrowserName + "].");
+        Assert.fail("Unhandled Exception with Browser Type [" + internalBrowserName + "].", e);
+    }
+
     private static void initializeSystemProperties(Boolean readPropertyFilesBeforeInitializing) {
         if (readPropertyFilesBeforeInitializing) {
             PropertyFileManager.readPropertyFiles();
@@ -750,8 +920,7 @@ public class BrowserFactory {
     }
 
     private static void storeDriverInstance(String browserName) {
-        drivers.put(browserName + "_" + driver.get().hashCode(), new HashMap<>());
-        drivers.get(browserName + "_" + driver.get().hashCode()).put(targetOperatingSystem, driver.get());
+        DriverRegistry.register(browserName, driver.get());
     }
 
     // supported browser types
@@ -0,0 +1,102 @@
+package com.shaft.gui.browser;
+
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Executes DevTools protocol commands on Chrome and Edge sessions, through the
+ * vendor specific cdp/execute endpoint that chromedriver and msedgedriver
+ * expose, locally or behind a grid that forwards it.
+ */
+public class DevToolsCommands {
+    private static final Json json = new Json();
+    private static final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private DevToolsCommands() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Executes a DevTools protocol command, like Page.captureScreenshot
+     *
+     * @param driver     the current instance of Selenium webdriver
+     * @param command    the name of the DevTools protocol command
+     * @param parameters the parameters of the command
+     * @return the result of the command, or an empty map if it has none
+     * @throws UnsupportedCommandException if the session doesn't support
+     *                                     DevTools commands, for example when it
+     *                                     runs on another browser or behind a
+     *                                     grid that doesn't forward the endpoint
+     * @throws WebDriverException          if the command failed, or timed out
+     */
+    public static Map<?, ?> execute(WebDriver driver, String command, Map<String, Object> parameters) {
+        URI endpoint = getEndpoint(driver);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(Long.parseLong(System.getProperty("scriptExecutionTimeout", "30").trim())))
+                    .header("Content-Type", "application/json; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.toJson(Map.of("cmd", command, "params", parameters))))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Map<?, ?> body = response.body().isBlank() ? Map.of() : json.toType(response.body(), Map.class);
+            Object value = body.get("value");
+            if (isUnknownCommand(response.statusCode(), body.get("status"), value)) {
+                throw new UnsupportedCommandException("DevTools commands aren't supported for this session.");
+            }
+            // sessions that don't use the w3c protocol report their errors as a non-zero status, with a 200 response
+            if (response.statusCode() != 200 || (body.get("status") instanceof Number && ((Number) body.get("status")).intValue() != 0)) {
+                throw new WebDriverException("Failed to execute the DevTools command [" + command + "]: " + response.body());
+            }
+            return value instanceof Map ? (Map<?, ?>) value : Map.of();
+        } catch (IOException | JsonException | IllegalArgumentException e) {
+            throw new WebDriverException("Failed to execute the DevTools command [" + command + "].", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while executing the DevTools command [" + command + "].", e);
+        }
+    }
+
+    /**
+     * @param statusCode the http status code of the response
+     * @param status     the status of a session that doesn't use the w3c
+     *                   protocol, where 9 means unknown command
+     * @param value      the value of the response, which holds the error of a
+     *                   w3c session
+     * @return true if the session doesn't know the cdp/execute endpoint
+     */
+    private static boolean isUnknownCommand(int statusCode, Object status, Object value) {
+        return statusCode == 404
+                || (status instanceof Number && ((Number) status).intValue() == 9)
+                || (value instanceof Map && "unknown command".equals(((Map<?, ?>) value).get("error")));
+    }
+
+    private static URI getEndpoint(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver) || !(((RemoteWebDriver) driver).getCommandExecutor() instanceof HttpCommandExecutor)) {
+            throw new UnsupportedCommandException("DevTools commands aren't supported for this session.");
+        }
+        RemoteWebDriver remoteDriver = (RemoteWebDriver) driver;
+        if (remoteDriver.getSessionId() == null) {
+            throw new WebDriverException("The session was already closed.");
+        }
+        String vendorPrefix = switch (String.valueOf(remoteDriver.getCapabilities().getBrowserName()).toLowerCase()) {
+            case "chrome" -> "goog";
+            case "msedge" -> "ms";
+            default -> throw new UnsupportedCommandException("DevTools commands are only supported for Chrome and Edge sessions.");
+        };
+        String remoteServer = ((HttpCommandExecutor) remoteDriver.getCommandExecutor()).getAddressOfRemoteServer().toString();
+        return URI.create(remoteServer.replaceAll("/$", "") + "/session/" + remoteDriver.getSessionId() + "/" + vendorPrefix + "/cdp/execute");
+    }
+}
@@ -0,0 +1,162 @@
+package com.shaft.gui.browser;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * A concurrent registry of the browser sessions that were created by the
+ * BrowserFactory, which tracks the thread that owns every session and its
+ * lifecycle state.
+ * <p>
+ * Every state change is a single atomic transition, so when several threads
+ * try to close the same session, exactly one of them does it. Closed sessions
+ * are kept until all sessions are closed, like the drivers list they replace.
+ */
+public class DriverRegistry {
+    private static final Map<WebDriver, DriverSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<SessionState, AtomicInteger> sessionsCount = new EnumMap<>(SessionState.class);
+    private static final AtomicLong sessionsSequence = new AtomicLong();
+
+    static {
+        for (SessionState state : SessionState.values()) {
+            sessionsCount.put(state, new AtomicInteger());
+        }
+    }
+
+    private DriverRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return the number of sessions that are currently used by a test
+     */
+    public static int getActiveSessionsCount() {
+        return sessionsCount.get(SessionState.ACTIVE).get();
+    }
+
+    /**
+     * @return the number of sessions that were returned to the browser session
+     * pool, and are waiting to be reused
+     */
+    public static int getIdleSessionsCount() {
+        return sessionsCount.get(SessionState.IDLE).get();
+    }
+
+    /**
+     * @return the number of sessions that were closed during this test run
+     */
+    public static int getClosedSessionsCount() {
+        return sessionsCount.get(SessionState.CLOSED).get();
+    }
+
+    static boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+
+    /**
+     * Registers a new session as active and owned by the current thread, or
+     * reactivates an idle one that was taken from the browser session pool
+     *
+     * @param browserName the name of the browser type
+     * @param driver      the session's driver
+     */
+    static void register(String browserName, WebDriver driver) {
+        DriverSession session = sessions.computeIfAbsent(driver,
+                key -> new DriverSession(sessionsSequence.incrementAndGet(), browserName + "_" + key.hashCode(), key));
+        session.owner = Thread.currentThread().getName();
+        if (!session.transition(SessionState.IDLE, SessionState.ACTIVE)) {
+            session.transition(null, SessionState.ACTIVE);
+        }
+    }
+
+    /**
+     * Claims the active sessions with this hash code, so that the calling
+     * thread is the only one closing them
+     *
+     * @param hashCode the hash code of the driver
+     * @return the claimed sessions
+     */
+    static List<DriverSession> startClosing(int hashCode) {
+        return sessions.values().stream()
+                .filter(session -> session.driver.hashCode() == hashCode)
+                .filter(session -> session.transition(SessionState.ACTIVE, SessionState.CLOSING))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Claims all active and idle sessions, and removes every session from the
+     * registry
+     *
+     * @return the claimed sessions, in the order in which they were created
+     */
+    static List<DriverSession> startClosingAll() {
+        List<DriverSession> claimedSessions = new ArrayList<>();
+        sessions.values().removeIf(session -> {
+            if (session.transition(SessionState.ACTIVE, SessionState.CLOSING)
+                    || session.transition(SessionState.IDLE, SessionState.CLOSING)) {
+                claimedSessions.add(session);
+                return true;
+            }
+            // sessions that are being closed by their own threads are left to finish
+            return session.state.get() == SessionState.CLOSED;
+        });
+        claimedSessions.sort(Comparator.comparingLong(session -> session.sequence));
+        return claimedSessions;
+    }
+
+    enum SessionState {
+        ACTIVE, CLOSING, IDLE, CLOSED
+    }
+
+    static class DriverSession {
+        private final long sequence;
+        private final String name;
+        private final WebDriver driver;
+        private final AtomicReference<SessionState> state = new AtomicReference<>();
+        private volatile String owner;
+
+        private DriverSession(long sequence, String name, WebDriver driver) {
+            this.sequence = sequence;
+            this.name = name;
+            this.driver = driver;
+        }
+
+        WebDriver getDriver() {
+            return driver;
+        }
+
+        /**
+         * @return the session name, and the thread that owns it
+         */
+        String getDescription() {
+            return name + ", owned by " + owner;
+        }
+
+        /**
+         * Finishes closing a claimed session
+         *
+         * @param isReturnedToPool true if the session was returned to the browser
+         *                         session pool instead of being quit
+         */
+        void finishClosing(boolean isReturnedToPool) {
+            transition(SessionState.CLOSING, isReturnedToPool ? SessionState.IDLE : SessionState.CLOSED);
+        }
+
+        private boolean transition(SessionState from, SessionState to) {
+            if (!state.compareAndSet(from, to)) {
+                return false;
+            }
+            if (from != null) {
+                sessionsCount.get(from).decrementAndGet();
+            }
+            sessionsCount.get(to).incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.shaft.gui.browser;
+
+import com.shaft.tools.io.ReportManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.Properties;
+
+/**
+ * A persistent cache of the driver executables that WebDriverManager resolved,
+ * per browser driver and operating system, so that later runs can use the
+ * driver that is already on disk without any network lookups or browser
+ * version probing, even when working offline.
+ * <p>
+ * Every entry records the driver path and version, and the version of the
+ * browser that it was last used with. An entry is dropped when its driver file
+ * no longer exists, or when a browser session can't be created with it, which
+ * is what happens after the browser is updated to a version that the cached
+ * driver doesn't support.
+ */
+public class DriverResolutionCache {
+    private static final String DRIVER_PATH = ".driverPath";
+    private static final String DRIVER_VERSION = ".driverVersion";
+    private static final String BROWSER_VERSION = ".browserVersion";
+    private static Properties cachedResolutions;
+    private static Path cachedResolutionsFile;
+
+    private DriverResolutionCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Sets the driver executable system property to the cached driver, if there
+     * is one
+     *
+     * @param driverExecutableProperty the system property of the driver
+     *                                 executable, for example webdriver.chrome.driver
+     * @return true if the cached driver was used, or false if it must be
+     * resolved using WebDriverManager
+     */
+    public static synchronized boolean setupFromCache(String driverExecutableProperty) {
+        if (!isEnabled()) {
+            return false;
+        }
+        String key = getKey(driverExecutableProperty);
+        String driverPath = getCachedResolutions().getProperty(key + DRIVER_PATH);
+        if (driverPath == null) {
+            return false;
+        }
+        if (!Files.isRegularFile(Paths.get(driverPath))) {
+            invalidate(driverExecutableProperty);
+            return false;
+        }
+        System.setProperty(driverExecutableProperty, driverPath);
+        ReportManager.logDiscrete("Using the cached driver [" + driverPath + "], version ["
+                + getCachedResolutions().getProperty(key + DRIVER_VERSION, "") + "], which was last used with browser version ["
+                + getCachedResolutions().getProperty(key + BROWSER_VERSION, "") + "].");
+        return true;
+    }
+
+    /**
+     * Stores the driver that WebDriverManager has just resolved
+     *
+     * @param driverExecutableProperty the system property of the driver
+     *                                 executable, which WebDriverManager has set
+     * @param driverVersion            the resolved driver version
+     */
+    public static synchronized void store(String driverExecutableProperty, String driverVersion) {
+        String driverPath = System.getProperty(driverExecutableProperty);
+        if (!isEnabled() || driverPath == null) {
+            return;
+        }
+        String key = getKey(driverExecutableProperty);
+        getCachedResolutions().setProperty(key + DRIVER_PATH, driverPath);
+        getCachedResolutions().setProperty(key + DRIVER_VERSION, driverVersion == null ? "" : driverVersion);
+        getCachedResolutions().remove(key + BROWSER_VERSION);
+        saveCachedResolutions();
+    }
+
+    /**
+     * Records the version of the browser that the cached driver has successfully
+     * started
+     *
+     * @param driverExecutableProperty the system property of the driver executable
+     * @param browserVersion           the version reported by the browser session
+     */
+    public static synchronized void storeBrowserVersion(String driverExecutableProperty, String browserVersion) {
+        String key = getKey(driverExecutableProperty);
+        if (!isEnabled() || browserVersion == null || browserVersion.isBlank()
+                || getCachedResolutions().getProperty(key + DRIVER_PATH) == null
+                || browserVersion.equals(getCachedResolutions().getProperty(key + BROWSER_VERSION))) {
+            return;
+        }
+        getCachedResolutions().setProperty(key + BROWSER_VERSION, browserVersion);
+        saveCachedResolutions();
+    }
+
+    /**
+     * Removes the cached driver, so that it is resolved again using
+     * WebDriverManager
+     *
+     * @param driverExecutableProperty the system property of the driver executable
+     */
+    public static synchronized void invalidate(String driverExecutableProperty) {
+        String key = getKey(driverExecutableProperty);
+        getCachedResolutions().remove(key + DRIVER_PATH);
+        getCachedResolutions().remove(key + DRIVER_VERSION);
+        getCachedResolutions().remove(key + BROWSER_VERSION);
+        saveCachedResolutions();
+    }
+
+    private static String getKey(String driverExecutableProperty) {
+        return driverExecutableProperty + "." + System.getProperty("os.name").replace(' ', '_') + "."
+                + System.getProperty("os.arch");
+    }
+
+    private static Properties getCachedResolutions() {
+        Path cacheFile = getCacheFilePath();
+        if (cachedResolutions == null || !cacheFile.equals(cachedResolutionsFile)) {
+            cachedResolutions = new Properties();
+            cachedResolutionsFile = cacheFile;
+            if (Files.isRegularFile(cacheFile)) {
+                try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+                    cachedResolutions.load(inputStream);
+                } catch (IOException e) {
+                    // a corrupted cache is rebuilt from scratch
+                    cachedResolutions.clear();
+                }
+            }
+        }
+        return cachedResolutions;
+    }
+
+    private static void saveCachedResolutions() {
+        Path cacheFile = getCacheFilePath();
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            // written to a temporary file first, so that parallel runs never read a partially written cache
+            Path temporaryFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), "resolution", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                cachedResolutions.store(outputStream, "SHAFT_Engine WebDriverManager resolution cache");
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ReportManager.logDiscrete("Failed to save the driver resolution cache [" + cacheFile + "]: " + e.getMessage());
+        }
+    }
+
+    private static Path getCacheFilePath() {
+        String cacheFilePath = System.getProperty("driverResolutionCacheFilePath", "").trim();
+        if (cacheFilePath.isEmpty()) {
+            // next to the drivers that WebDriverManager downloads by default
+            return Paths.get(System.getProperty("user.home"), ".cache", "selenium", "shaft-resolution.properties");
+        }
+        return Paths.get(cacheFilePath);
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("cacheDriverResolution", "true").trim());
+    }
+}
@@ -0,0 +1,282 @@
+package com.shaft.gui.browser;
+
+import com.shaft.gui.element.ElementCache;
+import com.shaft.tools.io.ReportManager;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A pool of pre-launched browser sessions per browser type and custom browser
+ * options, so that the cost of starting a browser is paid in the background
+ * instead of on the critical path of every test.
+ * <p>
+ * Idle sessions are health checked before they are handed out, and reset when
+ * they are returned: extra windows are closed, the cookies of every domain are
+ * cleared, and so is the storage of every origin that the windows navigated to
+ * or embedded, using the DevTools protocol commands Network.clearBrowserCookies
+ * and Storage.clearDataForOrigin. Then the remaining window navigates to a
+ * blank page. WebDriver commands can only clear the current origin, so only
+ * Chrome sessions are pooled, and a session that can't be reset is quit
+ * instead. The pool is disabled unless browserSessionPoolSize is set to a
+ * positive number.
+ */
+public class DriverSessionPool {
+    private static final Map<String, BlockingDeque<WebDriver>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> launchingSessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> leasedSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> pooledSessions = new ConcurrentHashMap<>();
+    private static final AtomicInteger poolGeneration = new AtomicInteger();
+    private static final ExecutorService sessionLauncher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "SHAFT-BrowserSessionPool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DriverSessionPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return true if browser sessions should be taken from, and returned to, the
+     * pool
+     */
+    public static boolean isEnabled() {
+        return getPoolSize() > 0;
+    }
+
+    /**
+     * @return the number of pre-launched sessions that are waiting to be used,
+     * across all browser types
+     */
+    public static int getIdleSessionsCount() {
+        return idleSessions.values().stream().mapToInt(BlockingDeque::size).sum();
+    }
+
+    static String getPoolKey(String browserName, String executionAddress, MutableCapabilities customBrowserOptions) {
+        int optionsHash = customBrowserOptions == null ? 0 : customBrowserOptions.asMap().hashCode();
+        return browserName + "_" + executionAddress + "_" + optionsHash;
+    }
+
+    static boolean hasIdleSession(String poolKey) {
+        BlockingDeque<WebDriver> sessions = idleSessions.get(poolKey);
+        return sessions != null && !sessions.isEmpty();
+    }
+
+    /**
+     * Takes a healthy idle session from the pool, or launches a new one if there
+     * is none, then launches replacements in the background to keep the pool
+     * full. The sessions that are taken count towards the pool size until they
+     * are returned, so that returning them doesn't exceed it.
+     *
+     * @param poolKey        the browser type and custom options of the session
+     * @param sessionFactory creates a new session with these options
+     * @return a browser session that is ready to be used
+     */
+    static WebDriver takeSession(String poolKey, Supplier<WebDriver> sessionFactory) {
+        BlockingDeque<WebDriver> sessions = getIdleSessions(poolKey);
+        WebDriver session = sessions.pollFirst();
+        while (session != null && !isHealthy(session)) {
+            discardSession(session);
+            session = sessions.pollFirst();
+        }
+        if (session == null) {
+            // nothing was launched yet, so this test pays for launching its own session
+            session = sessionFactory.get();
+            pooledSessions.put(session, poolKey);
+        }
+        getLeasedSessions(poolKey).incrementAndGet();
+        launchSessions(poolKey, sessionFactory);
+        return session;
+    }
+
+    /**
+     * Resets a session that was taken from the pool, and keeps it for the next
+     * test
+     *
+     * @param session the browser session that the test is done with
+     * @return true if the session was returned to the pool, or false if it
+     * wasn't taken from the pool or couldn't be reset, and should be quit instead
+     */
+    static boolean returnSession(WebDriver session) {
+        String poolKey = pooledSessions.get(session);
+        if (poolKey == null) {
+            return false;
+        }
+        getLeasedSessions(poolKey).decrementAndGet();
+        if (!isEnabled()) {
+            pooledSessions.remove(session);
+            return false;
+        }
+        ElementCache.invalidate(session);
+        try {
+            resetSession(session);
+        } catch (WebDriverException e) {
+            pooledSessions.remove(session);
+            return false;
+        }
+        BlockingDeque<WebDriver> sessions = getIdleSessions(poolKey);
+        // a session that was just reset is known to be healthy, so it is preferred over the oldest idle one
+        sessions.offerFirst(session);
+        discardExtraSessions(poolKey);
+        return true;
+    }
+
+    /**
+     * Quits all idle sessions, including the ones that are still being launched
+     * in the background
+     */
+    static void closeAllSessions() {
+        poolGeneration.incrementAndGet();
+        idleSessions.values().forEach(sessions -> {
+            WebDriver session;
+            while ((session = sessions.pollFirst()) != null) {
+                discardSession(session);
+            }
+        });
+        // the sessions that were taken are quit with the rest of the drivers, and are no longer tracked by the pool
+        pooledSessions.clear();
+        leasedSessions.clear();
+    }
+
+    private static void launchSessions(String poolKey, Supplier<WebDriver> sessionFactory) {
+        BlockingDeque<WebDriver> sessions = getIdleSessions(poolKey);
+        AtomicInteger launching = launchingSessions.computeIfAbsent(poolKey, key -> new AtomicInteger());
+        AtomicInteger leased = getLeasedSessions(poolKey);
+        int generation = poolGeneration.get();
+        while (sessions.size() + leased.get() + launching.get() < getPoolSize()) {
+            launching.incrementAndGet();
+            sessionLauncher.execute(() -> {
+                try {
+                    WebDriver session = sessionFactory.get();
+                    if (generation == poolGeneration.get()) {
+                        pooledSessions.put(session, poolKey);
+                        sessions.offerLast(session);
+                        // sessions that were launched by the tests while this one was launching may have filled the pool already
+                        discardExtraSessions(poolKey);
+                    } else {
+                        // the pool was closed while this session was launching
+                        quitSession(session);
+                    }
+                } catch (RuntimeException | AssertionError e) {
+                    ReportManager.logDiscrete("Failed to launch a browser session in the background: " + e.getMessage());
+                } finally {
+                    launching.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private static void resetSession(WebDriver session) {
+        List<String> windowHandles = new ArrayList<>(session.getWindowHandles());
+        Set<String> visitedOrigins = new HashSet<>();
+        for (String windowHandle : windowHandles.subList(1, windowHandles.size())) {
+            session.switchTo().window(windowHandle);
+            visitedOrigins.addAll(getVisitedOrigins(session));
+            session.close();
+        }
+        session.switchTo().window(windowHandles.get(0));
+        visitedOrigins.addAll(getVisitedOrigins(session));
+        // clears the cookies of every domain, including the ones that were set by other sites, like single sign-on
+        DevToolsCommands.execute(session, "Network.clearBrowserCookies", Map.of());
+        for (String origin : visitedOrigins) {
+            DevToolsCommands.execute(session, "Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+        }
+        session.get("about:blank");
+    }
+
+    /**
+     * @return the origins that the current window navigated to, and the origins
+     * of the frames that its current page embeds
+     */
+    private static Set<String> getVisitedOrigins(WebDriver session) {
+        Set<String> urls = new HashSet<>();
+        Object entries = DevToolsCommands.execute(session, "Page.getNavigationHistory", Map.of()).get("entries");
+        if (entries instanceof List) {
+            ((List<?>) entries).forEach(entry -> addUrl(urls, entry));
+        }
+        Deque<Object> frameTrees = new ArrayDeque<>();
+        frameTrees.add(DevToolsCommands.execute(session, "Page.getFrameTree", Map.of()).get("frameTree"));
+        while (!frameTrees.isEmpty()) {
+            Object frameTree = frameTrees.poll();
+            if (frameTree instanceof Map) {
+                addUrl(urls, ((Map<?, ?>) frameTree).get("frame"));
+                Object childFrames = ((Map<?, ?>) frameTree).get("childFrames");
+                if (childFrames instanceof List) {
+                    frameTrees.addAll((List<?>) childFrames);
+                }
+            }
+        }
+        Set<String> origins = new HashSet<>();
+        for (String url : urls) {
+            try {
+                URI uri = new URI(url);
+                if ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) {
+                    origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+                }
+            } catch (URISyntaxException e) {
+                // not a web page, like about:blank or data urls, so it has no storage to clear
+            }
+        }
+        return origins;
+    }
+
+    private static void addUrl(Set<String> urls, Object entry) {
+        if (entry instanceof Map && ((Map<?, ?>) entry).get("url") instanceof String) {
+            urls.add((String) ((Map<?, ?>) entry).get("url"));
+        }
+    }
+
+    private static void discardExtraSessions(String poolKey) {
+        BlockingDeque<WebDriver> sessions = getIdleSessions(poolKey);
+        AtomicInteger leased = getLeasedSessions(poolKey);
+        while (!sessions.isEmpty() && sessions.size() + leased.get() > getPoolSize()) {
+            WebDriver oldestSession = sessions.pollLast();
+            if (oldestSession != null) {
+                discardSession(oldestSession);
+            }
+        }
+    }
+
+    private static boolean isHealthy(WebDriver session) {
+        try {
+            return ((RemoteWebDriver) session).getSessionId() != null && session.getWindowHandle() != null;
+        } catch (WebDriverException | ClassCastException e) {
+            return false;
+        }
+    }
+
+    private static void discardSession(WebDriver session) {
+        pooledSessions.remove(session);
+        quitSession(session);
+    }
+
+    private static void quitSession(WebDriver session) {
+        ElementCache.invalidate(session);
+        try {
+            session.quit();
+        } catch (WebDriverException e) {
+            // session was already closed
+        }
+    }
+
+    private static BlockingDeque<WebDriver> getIdleSessions(String poolKey) {
+        return idleSessions.computeIfAbsent(poolKey, key -> new LinkedBlockingDeque<>());
+    }
+
+    private static AtomicInteger getLeasedSessions(String poolKey) {
+        return leasedSessions.computeIfAbsent(poolKey, key -> new AtomicInteger());
+    }
+
+    private static int getPoolSize() {
+        return Integer.parseInt(System.getProperty("browserSessionPoolSize", "0").trim());
+    }
+}
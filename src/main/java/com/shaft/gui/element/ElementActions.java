@@ -7,6 +7,7 @@ import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.support.JSHelpers;
+import com.shaft.tools.support.StackHelpers;
 import io.appium.java_client.AppiumDriver;
 import org.opencv.imgproc.Imgproc;
 import org.openqa.selenium.NoSuchElementException;
@@ -39,7 +40,8 @@ public class ElementActions {
             .ofSeconds(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER);
     private static final int ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION = Integer
             .parseInt(System.getProperty("attemptsBeforeThrowingElementNotFoundException").trim());
-    private static final int ELEMENT_IDENTIFICATION_POLLING_DELAY = 1; // seconds
+    private static final long INITIAL_ELEMENT_IDENTIFICATION_POLLING_DELAY = 5; // milliseconds
+    private static final long MAXIMUM_ELEMENT_IDENTIFICATION_POLLING_DELAY = 1000; // milliseconds
     private static final boolean FORCE_CHECK_FOR_ELEMENT_VISIBILITY = Boolean
             .parseBoolean(System.getProperty("forceCheckForElementVisibility").trim());
     private static final String AI_REFERENCE_FILE_NAME = "aiAidedElementIdentificationReferenceDB.properties";
@@ -139,11 +141,11 @@ public class ElementActions {
             }
 
             try {
-                driver.findElement(internalElementLocator).click();
+                ElementCache.findElement(driver, internalElementLocator).click();
             } catch (Exception exception1) {
                 try {
                     ((JavascriptExecutor) driver).executeScript("arguments[arguments.length - 1].click();",
-                            driver.findElement(internalElementLocator));
+                            ElementCache.findElement(driver, internalElementLocator));
                 } catch (Exception rootCauseException) {
                     rootCauseException.initCause(exception1);
                     ReportManager.log(exception1);
@@ -186,7 +188,7 @@ public class ElementActions {
 //            new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT).until(waitDriver -> ExpectedConditions.elementToBeClickable(finalInternalElementLocator));
             // wait for element to be clickable
             passAction(driver, internalElementLocator);
-            (new Actions(driver)).clickAndHold(driver.findElement(internalElementLocator)).build().perform();
+            (new Actions(driver)).clickAndHold(ElementCache.findElement(driver, internalElementLocator)).build().perform();
 
             // takes screenshot before holding the element
         } else {
@@ -254,7 +256,7 @@ public class ElementActions {
             // takes screenshot before clicking the element out of view
 
             try {
-                (new Actions(driver)).moveToElement(driver.findElement(internalElementLocator)).doubleClick().perform();
+                (new Actions(driver)).moveToElement(ElementCache.findElement(driver, internalElementLocator)).doubleClick().perform();
             } catch (Exception e) {
                 ElementActions.failAction(driver, internalElementLocator, e);
             }
@@ -295,8 +297,8 @@ public class ElementActions {
             // destinationElement to bypass the check for element visibility
 
             // define source and destination elements
-            WebElement sourceElement = driver.findElement(internalSourceElementLocator);
-            WebElement destinationElement = driver.findElement(internalDestinationElementLocator);
+            WebElement sourceElement = ElementCache.findElement(driver, internalSourceElementLocator);
+            WebElement destinationElement = ElementCache.findElement(driver, internalDestinationElementLocator);
 
             // get source element start location
             String startLocation = sourceElement.getLocation().toString();
@@ -321,7 +323,7 @@ public class ElementActions {
             }
 
             // get source element end location
-            String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+            String endLocation = ElementCache.findElement(driver, internalSourceElementLocator).getLocation().toString();
 
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
@@ -329,15 +331,15 @@ public class ElementActions {
                 passAction(driver, internalSourceElementLocator, reportMessage);
             } else {
                 try {
-                    (new Actions(driver)).dragAndDrop(driver.findElement(internalSourceElementLocator),
-                            driver.findElement(internalDestinationElementLocator)).build().perform();
+                    (new Actions(driver)).dragAndDrop(ElementCache.findElement(driver, internalSourceElementLocator),
+                            ElementCache.findElement(driver, internalDestinationElementLocator)).build().perform();
 
                 } catch (Exception rootCauseException) {
                     ReportManager.log(rootCauseException);
                     failAction(driver, internalSourceElementLocator, rootCauseException);
                 }
                 // get source element end location
-                endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+                endLocation = ElementCache.findElement(driver, internalSourceElementLocator).getLocation().toString();
                 if (!endLocation.equals(startLocation)) {
                     passAction(driver, internalSourceElementLocator, reportMessage);
                 } else {
@@ -367,19 +369,19 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalSourceElementLocator = updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
 
-            WebElement sourceElement = driver.findElement(internalSourceElementLocator);
+            WebElement sourceElement = ElementCache.findElement(driver, internalSourceElementLocator);
             String startLocation = sourceElement.getLocation().toString();
 
             // attempt to perform drag and drop
             try {
-                (new Actions(driver)).dragAndDropBy(driver.findElement(internalSourceElementLocator), xOffset, yOffset).build()
+                (new Actions(driver)).dragAndDropBy(ElementCache.findElement(driver, internalSourceElementLocator), xOffset, yOffset).build()
                         .perform();
             } catch (Exception rootCauseException) {
                 ReportManager.log(rootCauseException);
                 failAction(driver, internalSourceElementLocator, rootCauseException);
             }
 
-            String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+            String endLocation = ElementCache.findElement(driver, internalSourceElementLocator).getLocation().toString();
 
             if (!endLocation.equals(startLocation)) {
                 passAction(driver, internalSourceElementLocator,
@@ -465,7 +467,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
             try {
-                String elementAttribute = driver.findElement(internalElementLocator).getAttribute(attributeName);
+                String elementAttribute = ElementCache.findElement(driver, internalElementLocator).getAttribute(attributeName);
                 passAction(driver, internalElementLocator, elementAttribute);
                 return elementAttribute;
             } catch (UnsupportedCommandException rootCauseException) {
@@ -500,7 +502,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementCssProperty = driver.findElement(internalElementLocator).getCssValue(propertyName);
+            String elementCssProperty = ElementCache.findElement(driver, internalElementLocator).getCssValue(propertyName);
             passAction(driver, internalElementLocator, elementCssProperty);
             return elementCssProperty;
         } else {
@@ -608,7 +610,7 @@ public class ElementActions {
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
             StringBuilder elementSelectedText = new StringBuilder();
             try {
-                new Select(driver.findElement(internalElementLocator)).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
+                new Select(ElementCache.findElement(driver, internalElementLocator)).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
                 passAction(driver, internalElementLocator, elementSelectedText.toString().trim());
                 return elementSelectedText.toString().trim();
             } catch (UnexpectedTagNameException rootCauseException) {
@@ -647,7 +649,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementSize = driver.findElement(internalElementLocator).getSize().toString();
+            String elementSize = ElementCache.findElement(driver, internalElementLocator).getSize().toString();
             passAction(driver, internalElementLocator, elementSize);
             return elementSize;
         } else {
@@ -670,7 +672,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementTagName = driver.findElement(internalElementLocator).getTagName();
+            String elementTagName = ElementCache.findElement(driver, internalElementLocator).getTagName();
             passAction(driver, internalElementLocator, elementTagName);
             return elementTagName;
         } else {
@@ -693,13 +695,13 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementText = driver.findElement(internalElementLocator).getText();
+            String elementText = ElementCache.findElement(driver, internalElementLocator).getText();
 
             if (elementText.trim().equals("") && !BrowserFactory.isMobileNativeExecution()) {
-                elementText = driver.findElement(internalElementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
+                elementText = ElementCache.findElement(driver, internalElementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
             }
             if (elementText.trim().equals("") && !BrowserFactory.isMobileNativeExecution()) {
-                elementText = driver.findElement(internalElementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
+                elementText = ElementCache.findElement(driver, internalElementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
             }
             passAction(driver, internalElementLocator, elementText);
             return elementText;
@@ -782,10 +784,10 @@ public class ElementActions {
             hoverElementLocators.set(0, updateLocatorWithAIGeneratedOne(hoverElementLocators.get(0)));
 
             hoverElementLocators.forEach(hoverElementLocator -> chainedHoverAndClickAction
-                    .moveToElement(driver.findElement(hoverElementLocator)));
+                    .moveToElement(ElementCache.findElement(driver, hoverElementLocator)));
             try {
-                chainedHoverAndClickAction.moveToElement(driver.findElement(clickableElementLocator))
-                        .click(driver.findElement(clickableElementLocator)).perform();
+                chainedHoverAndClickAction.moveToElement(ElementCache.findElement(driver, clickableElementLocator))
+                        .click(ElementCache.findElement(driver, clickableElementLocator)).perform();
             } catch (NoSuchElementException rootCauseException) {
                 ReportManager.log(rootCauseException);
                 failAction(driver, hoverElementLocators.get(0), rootCauseException);
@@ -823,7 +825,7 @@ public class ElementActions {
         By internalElementLocator = elementLocator;
         if (identifyUniqueElement(driver, internalElementLocator)
 
-                && driver.findElement(internalElementLocator).isEnabled()) {
+                && ElementCache.findElement(driver, internalElementLocator).isEnabled()) {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
             (new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER))
@@ -834,7 +836,7 @@ public class ElementActions {
             passAction(driver, internalElementLocator);
             return true;
         } else if (identifyUniqueElement(driver, internalElementLocator)
-                && !(driver.findElement(internalElementLocator).isEnabled())) {
+                && !(ElementCache.findElement(driver, internalElementLocator).isEnabled())) {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
             // wait for element to be clickable
@@ -862,7 +864,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            boolean isDisplayed = driver.findElement(internalElementLocator).isDisplayed();
+            boolean isDisplayed = ElementCache.findElement(driver, internalElementLocator).isDisplayed();
             passAction(driver, internalElementLocator);
             return isDisplayed;
         } else {
@@ -887,9 +889,9 @@ public class ElementActions {
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
             switch (key.toLowerCase().trim()) {
-                case "enter" -> driver.findElement(internalElementLocator).sendKeys(Keys.ENTER);
-                case "return" -> driver.findElement(internalElementLocator).sendKeys(Keys.RETURN);
-                case "tab" -> driver.findElement(internalElementLocator).sendKeys(Keys.TAB);
+                case "enter" -> ElementCache.findElement(driver, internalElementLocator).sendKeys(Keys.ENTER);
+                case "return" -> ElementCache.findElement(driver, internalElementLocator).sendKeys(Keys.RETURN);
+                case "tab" -> ElementCache.findElement(driver, internalElementLocator).sendKeys(Keys.TAB);
                 default -> {
                     ReportManager.log("Unsupported Key.");
                     failAction(driver, key, internalElementLocator);
@@ -915,7 +917,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.findElement(internalElementLocator).sendKeys(keys);
+            ElementCache.findElement(driver, internalElementLocator).sendKeys(keys);
         } else {
             failAction(driver, keys.name(), internalElementLocator);
         }
@@ -969,12 +971,12 @@ public class ElementActions {
                 failAction(driver, "waited for (" + DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT.getSeconds() + ") seconds", internalElementLocator, rootCauseException);
             }
             boolean isOptionFound = false;
-            var availableOptionsList = (new Select(driver.findElement(internalElementLocator))).getOptions();
+            var availableOptionsList = (new Select(ElementCache.findElement(driver, internalElementLocator))).getOptions();
             for (int i = 0; i < availableOptionsList.size(); i++) {
                 String visibleText = availableOptionsList.get(i).getText();
                 String value = availableOptionsList.get(i).getAttribute("value");
                 if (visibleText.trim().equals(text) || value.trim().equals(text)) {
-                    (new Select(driver.findElement(internalElementLocator))).selectByIndex(i);
+                    (new Select(ElementCache.findElement(driver, internalElementLocator))).selectByIndex(i);
                     passAction(driver, internalElementLocator, text);
                     isOptionFound = true;
                     break;
@@ -998,6 +1000,7 @@ public class ElementActions {
     public static void setContext(WebDriver driver, String context) {
         if (driver instanceof AppiumDriver<?>) {
             ((AppiumDriver<?>) driver).context(context);
+            ElementCache.invalidate(driver);
             ElementActions.passAction(driver, context);
         } else {
             ElementActions.failAction(driver, context, null);
@@ -1052,7 +1055,7 @@ public class ElementActions {
 
             try {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].submit();",
-                        driver.findElement(internalElementLocator));
+                        ElementCache.findElement(driver, internalElementLocator));
                 passAction(driver, internalElementLocator);
             } catch (Exception rootCauseException) {
                 ReportManager.log(rootCauseException);
@@ -1073,6 +1076,7 @@ public class ElementActions {
     public static void switchToDefaultContent(WebDriver driver) {
         try {
             driver.switchTo().defaultContent();
+            ElementCache.invalidate(driver);
             boolean discreetLoggingState = ReportManager.isDiscreteLogging();
             ReportManager.setDiscreteLogging(true);
             passAction(driver);
@@ -1093,6 +1097,7 @@ public class ElementActions {
         if (BrowserFactory.getActiveDriverSessions() > 0 && (lastUsedDriver != null)) {
             try {
                 lastUsedDriver.switchTo().defaultContent();
+                ElementCache.invalidate(lastUsedDriver);
                 boolean discreetLoggingState = ReportManager.isDiscreteLogging();
                 ReportManager.setDiscreteLogging(true);
                 passAction(lastUsedDriver);
@@ -1121,7 +1126,8 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.switchTo().frame(driver.findElement(internalElementLocator));
+            driver.switchTo().frame(ElementCache.findElement(driver, internalElementLocator));
+            ElementCache.invalidate(driver);
             // note to self: remove internalElementLocator in case of bug in screenshot manager
             boolean discreetLoggingState = ReportManager.isDiscreteLogging();
             ReportManager.setDiscreteLogging(true);
@@ -1142,6 +1148,7 @@ public class ElementActions {
     public static void switchToWindow(WebDriver driver, String nameOrHandle) {
         if (driver.getWindowHandles().contains(nameOrHandle)) {
             driver.switchTo().window(nameOrHandle);
+            ElementCache.invalidate(driver);
             ElementActions.passAction(driver, nameOrHandle);
         } else {
             ElementActions.failAction(driver, nameOrHandle, null);
@@ -1188,7 +1195,7 @@ public class ElementActions {
             // Override current locator with the aiGeneratedElementLocator
             internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.findElement(internalElementLocator).sendKeys(text);
+            ElementCache.findElement(driver, internalElementLocator).sendKeys(text);
             passAction(driver, internalElementLocator, text);
         } else {
             failAction(driver, text, internalElementLocator);
@@ -1216,7 +1223,7 @@ public class ElementActions {
             // takes screenshot before clicking the element out of view
 
             try {
-                driver.findElement(internalElementLocator).sendKeys(internalAbsoluteFilePath);
+                ElementCache.findElement(driver, internalElementLocator).sendKeys(internalAbsoluteFilePath);
             } catch (InvalidArgumentException e) {
                 //this happens when the file path doesn't exist
                 failAction(driver, internalAbsoluteFilePath, internalElementLocator, e);
@@ -1224,9 +1231,9 @@ public class ElementActions {
             } catch (ElementNotInteractableException exception1) {
                 ((JavascriptExecutor) driver).executeScript(
                         "arguments[0].setAttribute('style', 'display:block !important;');",
-                        driver.findElement(internalElementLocator));
+                        ElementCache.findElement(driver, internalElementLocator));
                 try {
-                    driver.findElement(internalElementLocator).sendKeys(internalAbsoluteFilePath);
+                    ElementCache.findElement(driver, internalElementLocator).sendKeys(internalAbsoluteFilePath);
                 } catch (WebDriverException rootCauseException) {
                     rootCauseException.initCause(exception1);
                     ReportManager.log(rootCauseException);
@@ -1235,7 +1242,7 @@ public class ElementActions {
                 }
                 try {
                     ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:none');",
-                            driver.findElement(internalElementLocator));
+                            ElementCache.findElement(driver, internalElementLocator));
                 } catch (NoSuchElementException | StaleElementReferenceException e) {
                     // this exception is sometimes thrown on firefox after the upload has been
                     // successful, since we don't have to return the style to what it was, then it's
@@ -1361,17 +1368,17 @@ public class ElementActions {
     }
 
     protected static void failAction(WebDriver driver, By elementLocator, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(driver, actionName, null, elementLocator, null, rootCauseException);
     }
 
     protected static void failAction(WebDriver driver, String testData, By elementLocator, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(driver, actionName, testData, elementLocator, null, rootCauseException);
     }
 
     protected static void failAction(Screen screen, App applicationWindow, Pattern element, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         failAction(null, actionName, testData, null, SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, false), rootCauseException);
     }
 
@@ -1380,27 +1387,27 @@ public class ElementActions {
     }
 
     protected static void passAction(WebDriver driver, By elementLocator) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, elementLocator, actionName, null, null);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, elementLocator, actionName, null, screenshot);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, elementLocator, actionName, testData, null);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, String testData, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, elementLocator, actionName, testData, screenshot);
     }
 
     protected static void passAction(Screen screen, App applicationWindow, Pattern element, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(null, null, actionName, testData, SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, true));
     }
 
@@ -1441,9 +1448,9 @@ public class ElementActions {
         if (FORCE_CHECK_FOR_ELEMENT_VISIBILITY) {
             try {
                 (new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER))
-                        .until(ExpectedConditions.visibilityOfElementLocated(elementLocator));
+                        .until(ExpectedConditions.visibilityOf(ElementCache.findElement(driver, elementLocator)));
 //                new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT).until(waitDriver -> ExpectedConditions.visibilityOfElementLocated(elementLocator));
-            } catch (TimeoutException rootCauseException) {
+            } catch (TimeoutException | NoSuchElementException rootCauseException) {
                 ReportManager.log(rootCauseException);
                 failAction(driver, "unique element matching this locator \"" + elementLocator + "\" is not visible.",
                         null, rootCauseException);
@@ -1455,14 +1462,14 @@ public class ElementActions {
                                           TextDetectionStrategy successfulTextLocationStrategy) {
         try {
             // attempt clear using clear
-            driver.findElement(elementLocator).clear();
+            ElementCache.findElement(driver, elementLocator).clear();
 
             String elementText = readTextBasedOnSuccessfulLocationStrategy(driver, elementLocator,
                     successfulTextLocationStrategy);
 
             // attempt clear using sendKeys
             if (!elementText.trim().equals("")) {
-                driver.findElement(elementLocator).sendKeys("");
+                ElementCache.findElement(driver, elementLocator).sendKeys("");
             }
             elementText = readTextBasedOnSuccessfulLocationStrategy(driver, elementLocator,
                     successfulTextLocationStrategy);
@@ -1476,9 +1483,9 @@ public class ElementActions {
                     successfulTextLocationStrategy);
             // attempt clear using letter by letter backspace
             if (!elementText.trim().equals("")) {
-                driver.findElement(elementLocator).sendKeys("");
+                ElementCache.findElement(driver, elementLocator).sendKeys("");
                 for (int i = 0; i < elementText.length(); i++) {
-                    driver.findElement(elementLocator).sendKeys(Keys.BACK_SPACE);
+                    ElementCache.findElement(driver, elementLocator).sendKeys(Keys.BACK_SPACE);
                 }
 
             }
@@ -1509,13 +1516,56 @@ public class ElementActions {
         }
     }
 
+    private static int countMatchingElements(WebDriver driver, By elementLocator, ElementProbe probe) {
+        // a single round-trip per attempt finds all the matching elements, unless they were already probed
+        int matchingElementsCount;
+        WebElement firstElement = null;
+        if (probe != null) {
+            matchingElementsCount = probe.getMatchingElementsCount();
+            firstElement = probe.getFirstElement();
+        } else {
+            List<WebElement> matchingElements = driver.findElements(elementLocator);
+            matchingElementsCount = matchingElements.size();
+            if (matchingElementsCount > 0) {
+                firstElement = matchingElements.get(0);
+            }
+        }
+        if (matchingElementsCount == 1) {
+            ElementCache.cacheElement(driver, elementLocator, firstElement);
+        } else {
+            ElementCache.invalidate(driver, elementLocator);
+        }
+        return matchingElementsCount;
+    }
+
+    /**
+     * Waits for a cached element that went stale to be present again, using the
+     * same wait as element identification
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test
+     * @return the first element matching this locator, or null if none was
+     * found before the timeout expired
+     */
+    static WebElement waitForElementToBeFoundAgain(WebDriver driver, By elementLocator) {
+        if (waitForElementPresence(driver, elementLocator, ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION) == 0) {
+            return null;
+        }
+        ElementProbe probe = ElementProbe.takeLastProbe(driver, elementLocator);
+        if (probe != null && probe.getFirstElement() != null) {
+            return probe.getFirstElement();
+        }
+        List<WebElement> matchingElements = driver.findElements(elementLocator);
+        return matchingElements.isEmpty() ? null : matchingElements.get(0);
+    }
+
     private static TextDetectionStrategy determineSuccessfulTextLocationStrategy(WebDriver driver, By elementLocator) {
         if (BrowserFactory.isMobileNativeExecution()) {
             return TextDetectionStrategy.TEXT;
         }
-        String text = driver.findElement(elementLocator).getText().trim();
-        String content = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue()).trim();
-        String value = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
+        String text = ElementCache.findElement(driver, elementLocator).getText().trim();
+        String content = ElementCache.findElement(driver, elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue()).trim();
+        String value = ElementCache.findElement(driver, elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
 
         if (value != null) {
             value = value.trim();
@@ -1592,6 +1642,12 @@ public class ElementActions {
         return matchingElementsCount;
     }
 
+    private static long getPageObservationTimeout() {
+        // each observation must end before the script execution timeout expires
+        long scriptTimeout = TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty("scriptExecutionTimeout", "30").trim()));
+        return Math.max(100, scriptTimeout - 1000);
+    }
+
     private static boolean identifyUniqueElement(WebDriver driver, By elementLocator,
                                                  boolean checkForVisibility) {
         By internalElementLocator = elementLocator;
@@ -1599,6 +1655,8 @@ public class ElementActions {
         internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
         int matchingElementsCount = getMatchingElementsCount(driver, internalElementLocator, ElementActions.ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION);
+        // the probe of this identification, if any, is only valid until the action is performed
+        ElementProbe probe = ElementProbe.takeLastProbe(driver, internalElementLocator);
         if (internalElementLocator != null) {
             // unique element found
             switch (matchingElementsCount) {
@@ -1608,7 +1666,9 @@ public class ElementActions {
                             && !internalElementLocator.equals(By.tagName("html"))) {
                         try {
                             // scroll element into viewPort
-                            ((Locatable) driver.findElement(internalElementLocator)).getCoordinates().inViewPort();
+                            if (probe == null || !probe.isInViewport()) {
+                                ((Locatable) ElementCache.findElement(driver, internalElementLocator)).getCoordinates().inViewPort();
+                            }
                         } catch (UnsupportedCommandException getElementLocationOnceScrolledIntoView) {
                             // TODO: appium -> swipe element into view
 //                            if (BrowserFactory.isMobileNativeExecution()) {
@@ -1617,8 +1677,10 @@ public class ElementActions {
                             //ReportManager.logDiscrete(getElementLocationOnceScrolledIntoView);
                         }
 
-                        // check for visibility
-                        checkForElementVisibility(driver, internalElementLocator);
+                        // check for visibility, unless the probe already found the element to be displayed
+                        if (probe == null || !probe.isDisplayed()) {
+                            checkForElementVisibility(driver, internalElementLocator);
+                        }
                     }
                     return true;
                 }
@@ -1648,7 +1710,7 @@ public class ElementActions {
     private static boolean internalSetValueUsingJavaScript(WebDriver driver, By elementLocator, String value) {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].value='" + value + "';",
-                    driver.findElement(elementLocator));
+                    ElementCache.findElement(driver, elementLocator));
             return true;
         } catch (Exception e) {
             ReportManager.log(e);
@@ -1657,7 +1719,7 @@ public class ElementActions {
     }
 
     private static void passAction(WebDriver driver) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, null, actionName, null, null);
     }
 
@@ -1667,7 +1729,7 @@ public class ElementActions {
     }
 
     private static void passAction(WebDriver driver, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelpers.getCallingMethodName(1);
         passAction(driver, null, actionName, testData, null);
     }
 
@@ -1750,15 +1812,15 @@ public class ElementActions {
 
             String javaScript = createMouseEvent + mouseEventFirstHalf + "mousemove" + mouseEventSecondHalf
                     + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
+            ((JavascriptExecutor) driver).executeScript(javaScript, ElementCache.findElement(driver, elementLocator));
 
             javaScript = createMouseEvent + mouseEventFirstHalf + "mouseenter" + mouseEventSecondHalf + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
+            ((JavascriptExecutor) driver).executeScript(javaScript, ElementCache.findElement(driver, elementLocator));
 
             javaScript = createMouseEvent + mouseEventFirstHalf + "mouseover" + mouseEventSecondHalf + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
+            ((JavascriptExecutor) driver).executeScript(javaScript, ElementCache.findElement(driver, elementLocator));
 
-            (new Actions(driver)).moveToElement(driver.findElement(elementLocator)).perform();
+            (new Actions(driver)).moveToElement(ElementCache.findElement(driver, elementLocator)).perform();
         } catch (UnsupportedCommandException methodIsNotImplemented) {
             // appium -> do nothing
             ReportManager.log(methodIsNotImplemented);
@@ -1771,7 +1833,7 @@ public class ElementActions {
         for (int i = 0; i < ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION; i++) {
             try {
                 // attempt to perform action
-                driver.findElement(elementLocator).sendKeys(text);
+                ElementCache.findElement(driver, elementLocator).sendKeys(text);
                 break;
             } catch (StaleElementReferenceException | ElementNotInteractableException | UnreachableBrowserException
                     | NoSuchElementException | TimeoutException e) {
@@ -1795,13 +1857,13 @@ public class ElementActions {
         String actualText = "";
         switch (successfulTextLocationStrategy) {
             case TEXT:
-                actualText = driver.findElement(elementLocator).getText();
+                actualText = ElementCache.findElement(driver, elementLocator).getText();
                 break;
             case CONTENT:
-                actualText = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
+                actualText = ElementCache.findElement(driver, elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
                 break;
             case VALUE:
-                actualText = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
+                actualText = ElementCache.findElement(driver, elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
                 break;
             default:
                 break;
@@ -1854,6 +1916,14 @@ public class ElementActions {
         ScreenshotManager.setAiGeneratedElementLocator(aiGeneratedElementLocator);
     }
 
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static String suggestNewXpath(WebDriver driver, WebElement targetElement, By deprecatedElementLocator) {
         // attempt to find an optimal xpath for the targetElement
         int maximumXpathNodes = 6;
@@ -1948,18 +2018,38 @@ public class ElementActions {
     }
 
     private static int waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts) {
-        try {
-            new FluentWait<>(driver)
-                    .withTimeout(Duration.ofSeconds(
-                            (long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * numberOfAttempts))
-                    .pollingEvery(Duration.ofSeconds(ELEMENT_IDENTIFICATION_POLLING_DELAY))
-                    .ignoring(NoSuchElementException.class).until(nestedDriver -> driver.findElement(elementLocator));
-            return driver.findElements(elementLocator).size();
-        } catch (TimeoutException e) {
+        long startTime = System.nanoTime();
+        long timeoutNanos = TimeUnit.SECONDS.toNanos((long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * numberOfAttempts);
+        // the page is observed until the element appears where that is supported, otherwise it is polled with an
+        // exponential backoff, so that an element which appears shortly after the first attempt is found right away
+        boolean isObservingPage = ElementProbe.isSupported(driver, elementLocator);
+        long pollingDelay = INITIAL_ELEMENT_IDENTIFICATION_POLLING_DELAY;
+        int matchingElementsCount = countMatchingElements(driver, elementLocator, ElementProbe.probe(driver, elementLocator));
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanos - (System.nanoTime() - startTime));
+        while (matchingElementsCount == 0 && remainingMillis > 0) {
+            ElementProbe observedProbe = null;
+            if (isObservingPage) {
+                observedProbe = ElementProbe.waitForMatch(driver, elementLocator, Math.min(remainingMillis, getPageObservationTimeout()));
+                isObservingPage = observedProbe != null;
+            }
+            if (observedProbe != null) {
+                matchingElementsCount = countMatchingElements(driver, elementLocator, observedProbe);
+            } else {
+                sleep(Math.min(pollingDelay, remainingMillis));
+                pollingDelay = Math.min(pollingDelay * 2, MAXIMUM_ELEMENT_IDENTIFICATION_POLLING_DELAY);
+                matchingElementsCount = countMatchingElements(driver, elementLocator, ElementProbe.probe(driver, elementLocator));
+            }
+            remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanos - (System.nanoTime() - startTime));
+        }
+
+        long waitDuration = System.nanoTime() - startTime;
+        WaitStatistics.record("Element identification", waitDuration);
+        if (matchingElementsCount == 0) {
             // In case the element was not found and the timeout expired
-            ReportManager.logDiscrete(e);
-            return 0;
+            ReportManager.logDiscrete("Element [" + elementLocator + "] was not found after waiting for ["
+                    + TimeUnit.NANOSECONDS.toMillis(waitDuration) + "] milliseconds.");
         }
+        return matchingElementsCount;
     }
 
     /**
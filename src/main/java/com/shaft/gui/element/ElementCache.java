@@ -0,0 +1,215 @@
+package com.shaft.gui.element;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A per driver cache of the elements that were identified by the current
+ * actions, keyed by their locators. Every action still counts the elements
+ * matching its locator, and caches the element it identified, so that the
+ * steps of that action reuse it instead of finding it again before each one.
+ * <p>
+ * The cache of a driver is invalidated when it navigates, switches to another
+ * window or frame, or quits. Cached elements that go stale in between, for
+ * example after a click that re-renders them, are identified again using the
+ * regular element identification wait, and the failed command is retried
+ * once.
+ */
+public class ElementCache {
+    private static final Map<WebDriver, Map<By, WebElement>> cachedElements = new ConcurrentHashMap<>();
+    private static final AtomicLong hitsCount = new AtomicLong();
+    private static final AtomicLong missesCount = new AtomicLong();
+
+    private ElementCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the cached element that matches this locator, or finds it and adds
+     * it to the cache
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return the first element that matches this locator
+     */
+    public static WebElement findElement(WebDriver driver, By elementLocator) {
+        if (!isEnabled()) {
+            return driver.findElement(elementLocator);
+        }
+        WebElement cachedElement = getDriverCache(driver).get(elementLocator);
+        if (cachedElement != null) {
+            hitsCount.incrementAndGet();
+            return cachedElement;
+        }
+        missesCount.incrementAndGet();
+        return cacheElement(driver, elementLocator, driver.findElement(elementLocator));
+    }
+
+    /**
+     * Adds an element that was already found to the cache
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator that was used to find this element
+     * @param element        the element that was found
+     * @return the cached element, which finds itself again if it goes stale
+     */
+    public static WebElement cacheElement(WebDriver driver, By elementLocator, WebElement element) {
+        if (!isEnabled()) {
+            return element;
+        }
+        WebElement cachedElement = (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, WrapsDriver.class, Locatable.class},
+                new CachedElementHandler(driver, elementLocator, element));
+        getDriverCache(driver).put(elementLocator, cachedElement);
+        return cachedElement;
+    }
+
+    /**
+     * Removes all the cached elements of this driver, to be called whenever the
+     * current page, window, or frame changes
+     *
+     * @param driver the current instance of Selenium webdriver
+     */
+    public static void invalidate(WebDriver driver) {
+        if (driver != null) {
+            cachedElements.remove(driver);
+        }
+    }
+
+    /**
+     * Removes the cached element that matches this locator
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test
+     */
+    public static void invalidate(WebDriver driver, By elementLocator) {
+        if (driver != null && elementLocator != null) {
+            Map<By, WebElement> driverCache = cachedElements.get(driver);
+            if (driverCache != null) {
+                driverCache.remove(elementLocator);
+            }
+        }
+    }
+
+    /**
+     * @return the number of times a cached element was reused
+     */
+    public static long getHitsCount() {
+        return hitsCount.get();
+    }
+
+    /**
+     * @return the number of times an element had to be found because it was not
+     * cached
+     */
+    public static long getMissesCount() {
+        return missesCount.get();
+    }
+
+    private static Map<By, WebElement> getDriverCache(WebDriver driver) {
+        return cachedElements.computeIfAbsent(driver, key -> new ConcurrentHashMap<>());
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("cacheIdentifiedElements", "true").trim());
+    }
+
+    private static class CachedElementHandler implements InvocationHandler {
+        private final WebDriver driver;
+        private final By elementLocator;
+        private volatile WebElement element;
+
+        private CachedElementHandler(WebDriver driver, By elementLocator, WebElement element) {
+            this.driver = driver;
+            this.elementLocator = elementLocator;
+            this.element = element;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getParameterCount() == 0) {
+                switch (method.getName()) {
+                    case "getWrappedElement" -> {
+                        return element;
+                    }
+                    case "getWrappedDriver" -> {
+                        return driver;
+                    }
+                    case "getCoordinates" -> {
+                        return new CachedElementCoordinates(this);
+                    }
+                    default -> {
+                        // all other commands are sent to the current element
+                    }
+                }
+            }
+            return execute(currentElement -> invokeMethod(method, currentElement, args));
+        }
+
+        private <T> T execute(Function<WebElement, T> command) {
+            try {
+                return command.apply(element);
+            } catch (StaleElementReferenceException staleElementReferenceException) {
+                // the page changed since this element was found, so it is identified again and the command is retried once
+                WebElement identifiedElement = ElementActions.waitForElementToBeFoundAgain(driver, elementLocator);
+                if (identifiedElement == null) {
+                    throw staleElementReferenceException;
+                }
+                element = identifiedElement;
+                return command.apply(element);
+            }
+        }
+
+        private static Object invokeMethod(Method method, WebElement element, Object[] args) {
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new WebDriverException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new WebDriverException(e);
+            }
+        }
+    }
+
+    private static class CachedElementCoordinates implements Coordinates {
+        private final CachedElementHandler handler;
+
+        private CachedElementCoordinates(CachedElementHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public Point onScreen() {
+            return handler.execute(element -> ((Locatable) element).getCoordinates().onScreen());
+        }
+
+        @Override
+        public Point inViewPort() {
+            return handler.execute(element -> ((Locatable) element).getCoordinates().inViewPort());
+        }
+
+        @Override
+        public Point onPage() {
+            return handler.execute(element -> ((Locatable) element).getCoordinates().onPage());
+        }
+
+        @Override
+        public Object getAuxiliary() {
+            return ((Locatable) handler.element).getCoordinates().getAuxiliary();
+        }
+    }
+}
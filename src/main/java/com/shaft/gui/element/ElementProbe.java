@@ -0,0 +1,222 @@
+package com.shaft.gui.element;
+
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.tools.support.JSHelpers;
+import org.openqa.selenium.*;
+
+import java.util.Map;
+
+/**
+ * The state of the elements matching a locator, read using a single JavaScript
+ * call instead of separate WebDriver commands for finding the elements, and for
+ * reading the visibility, location, and text of the first one.
+ * <p>
+ * Only CSS, XPath, id, name, class name, and tag name locators are supported,
+ * and only for web executions. The latest probe of each thread is kept until it
+ * is taken by the element identification that made it, since the state of the
+ * element may change as soon as the action that follows is performed.
+ */
+public class ElementProbe {
+    private static final ThreadLocal<ElementProbe> lastProbe = new ThreadLocal<>();
+    private final WebDriver driver;
+    private final By elementLocator;
+    private final int matchingElementsCount;
+    private final WebElement firstElement;
+    private final boolean isDisplayed;
+    private final boolean isEnabled;
+    private final boolean isInViewport;
+    private final Rectangle rect;
+    private final String text;
+    private final String textContent;
+    private final String value;
+
+    private ElementProbe(WebDriver driver, By elementLocator, Map<?, ?> result) {
+        this.driver = driver;
+        this.elementLocator = elementLocator;
+        this.matchingElementsCount = toInt(result.get("count"));
+        this.firstElement = (WebElement) result.get("element");
+        this.isDisplayed = Boolean.TRUE.equals(result.get("displayed"));
+        this.isEnabled = Boolean.TRUE.equals(result.get("enabled"));
+        this.isInViewport = Boolean.TRUE.equals(result.get("inViewport"));
+        this.rect = matchingElementsCount == 0 ? null : new Rectangle(toInt(result.get("x")), toInt(result.get("y")),
+                toInt(result.get("height")), toInt(result.get("width")));
+        this.text = (String) result.get("text");
+        this.textContent = (String) result.get("textContent");
+        this.value = (String) result.get("value");
+    }
+
+    /**
+     * Finds the elements matching this locator, and reads the state of the first
+     * one in a single round-trip
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return the probe result, or null if this locator is not supported or if
+     * the probe failed, in which case the regular WebDriver commands should be
+     * used instead
+     */
+    public static ElementProbe probe(WebDriver driver, By elementLocator) {
+        lastProbe.remove();
+        String[] strategyAndSelector = getStrategyAndSelector(driver, elementLocator);
+        if (strategyAndSelector == null) {
+            return null;
+        }
+        try {
+            return storeProbe(driver, elementLocator, ((JavascriptExecutor) driver).executeScript(
+                    JSHelpers.ELEMENT_PROBE.getValue(), strategyAndSelector[0], strategyAndSelector[1]));
+        } catch (WebDriverException | ClassCastException e) {
+            // for example when the page blocks script execution, or the browser doesn't support the used APIs
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the locator to match at least one element, using a page side
+     * MutationObserver that resolves as soon as the DOM changes to match it, then
+     * probes the matching elements in the same round-trip
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @param timeoutMillis  the maximum time to wait for, which must be shorter
+     *                       than the script execution timeout
+     * @return the probe result, which has no matching elements if the timeout
+     * expired, or null if this locator is not supported or if the wait failed,
+     * in which case the regular WebDriver commands should be used instead
+     */
+    public static ElementProbe waitForMatch(WebDriver driver, By elementLocator, long timeoutMillis) {
+        lastProbe.remove();
+        String[] strategyAndSelector = getStrategyAndSelector(driver, elementLocator);
+        if (strategyAndSelector == null) {
+            return null;
+        }
+        try {
+            String script = JSHelpers.ELEMENT_WAIT_FOR_MATCH.getValue().replace("$PROBE", JSHelpers.ELEMENT_PROBE.getValue());
+            return storeProbe(driver, elementLocator, ((JavascriptExecutor) driver).executeAsyncScript(script,
+                    strategyAndSelector[0], strategyAndSelector[1], timeoutMillis));
+        } catch (WebDriverException | ClassCastException e) {
+            // for example when the page navigates while waiting, or the script execution timeout expires
+            return null;
+        }
+    }
+
+    /**
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test
+     * @return true if the elements matching this locator can be probed using
+     * JavaScript
+     */
+    public static boolean isSupported(WebDriver driver, By elementLocator) {
+        return getStrategyAndSelector(driver, elementLocator) != null;
+    }
+
+    /**
+     * Takes the latest probe of the current thread, as long as it was made using
+     * the same driver and locator. The probe is removed either way, so it can
+     * only be used once, right after the element was identified.
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test
+     * @return the latest probe of this element, or null if there is none
+     */
+    public static ElementProbe takeLastProbe(WebDriver driver, By elementLocator) {
+        ElementProbe probe = lastProbe.get();
+        lastProbe.remove();
+        if (probe != null && probe.driver == driver && probe.elementLocator.equals(elementLocator)) {
+            return probe;
+        }
+        return null;
+    }
+
+    private static ElementProbe storeProbe(WebDriver driver, By elementLocator, Object result) {
+        if (!(result instanceof Map)) {
+            return null;
+        }
+        ElementProbe probe = new ElementProbe(driver, elementLocator, (Map<?, ?>) result);
+        lastProbe.set(probe);
+        return probe;
+    }
+
+    private static String[] getStrategyAndSelector(WebDriver driver, By elementLocator) {
+        if (elementLocator == null || !(driver instanceof JavascriptExecutor)
+                || !Boolean.parseBoolean(System.getProperty("probeElementsUsingJavaScript", "true").trim())
+                || BrowserFactory.isMobileNativeExecution()) {
+            return null;
+        }
+        String strategy;
+        if (elementLocator.getClass() == By.ByCssSelector.class) {
+            strategy = "css";
+        } else if (elementLocator.getClass() == By.ByXPath.class) {
+            strategy = "xpath";
+        } else if (elementLocator.getClass() == By.ById.class) {
+            strategy = "id";
+        } else if (elementLocator.getClass() == By.ByName.class) {
+            strategy = "name";
+        } else if (elementLocator.getClass() == By.ByClassName.class) {
+            strategy = "className";
+        } else if (elementLocator.getClass() == By.ByTagName.class) {
+            strategy = "tagName";
+        } else {
+            return null;
+        }
+        // the locators are formatted as "By.xpath: //selector"
+        String locator = elementLocator.toString();
+        return new String[]{strategy, locator.substring(locator.indexOf(": ") + 2)};
+    }
+
+    private static int toInt(Object number) {
+        return number instanceof Number ? ((Number) number).intValue() : 0;
+    }
+
+    public int getMatchingElementsCount() {
+        return matchingElementsCount;
+    }
+
+    /**
+     * @return the first element matching the locator, or null if there are no
+     * matching elements
+     */
+    public WebElement getFirstElement() {
+        return firstElement;
+    }
+
+    public boolean isDisplayed() {
+        return isDisplayed;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @return true if the first element is entirely within the viewport, and
+     * doesn't need to be scrolled into view
+     */
+    public boolean isInViewport() {
+        return isInViewport;
+    }
+
+    /**
+     * @return the location and size of the first element relative to the page,
+     * like WebElement.getRect()
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getTextContent() {
+        return textContent;
+    }
+
+    /**
+     * @return the value of the first element, or null if it has no value
+     */
+    public String getValue() {
+        return value;
+    }
+}
@@ -10,11 +10,19 @@ import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 public class JavaScriptWaitManager {
     private static final boolean WAIT_FOR_LAZY_LOADING = Boolean.parseBoolean(System.getProperty("waitForLazyLoading"));
     private static final int WAIT_DURATION_INTEGER = Integer.parseInt(System.getProperty("lazyLoadingTimeout"));
+    private static final boolean WAIT_FOR_PAGE_IDLE = Boolean.parseBoolean(System.getProperty("waitForPageIdle", "true").trim());
+    private static final int PAGE_IDLE_QUIET_PERIOD = Integer.parseInt(System.getProperty("pageIdleQuietPeriod", "50").trim()); // milliseconds
+    private static final int PAGE_IDLE_MAXIMUM_MUTATION_WAIT = Integer.parseInt(System.getProperty("pageIdleMaximumMutationWait", "500").trim()); // milliseconds
+    // checking for jQuery, Angular, and the document ready state used to take at least this many round-trips
+    private static final int SEPARATE_CHECKS_ROUND_TRIPS = 3;
+    private static final String LAZY_LOADING_WAIT = "Lazy loading";
     private static final String TARGET_DOCUMENT_READY_STATE = "complete";
     private static final ThreadLocal<WebDriver> jsWaitDriver = new ThreadLocal<>();
     private static final int delayBetweenPolls = 20; // milliseconds
@@ -31,15 +39,20 @@ public class JavaScriptWaitManager {
 
     /**
      * Waits for jQuery, Angular, and/or Javascript if present on the current page.
+     * Pending XHR and fetch requests, and DOM mutations, are also waited for when
+     * the page idle tracker is used.
      */
     public static void waitForLazyLoading() {
 //        RecordManager.startVideoRecording(jsWaitDriver.get());
         if (Boolean.TRUE.equals(WAIT_FOR_LAZY_LOADING)
                 && !BrowserFactory.isMobileNativeExecution()) {
+            long startTime = System.nanoTime();
             try {
-                waitForJQueryLoadIfDefined();
-                waitForAngularIfDefined();
-                waitForJSLoadIfDefined();
+                if (!waitForPageIdle(startTime)) {
+                    waitForJQueryLoadIfDefined();
+                    waitForAngularIfDefined();
+                    waitForJSLoadIfDefined();
+                }
             } catch (NoSuchSessionException | NullPointerException e) {
                 // do nothing
             } catch (WebDriverException e) {
@@ -51,9 +64,59 @@ public class JavaScriptWaitManager {
             } catch (Exception e) {
                 ReportManager.log(e);
             }
+            WaitStatistics.record(LAZY_LOADING_WAIT, System.nanoTime() - startTime);
         }
     }
 
+    /**
+     * Waits for the page to be idle using a single asynchronous script, which
+     * tracks pending XHR and fetch requests, DOM mutations, and animation frames,
+     * in addition to jQuery, Angular, and the document ready state.
+     *
+     * @param startTime the time this wait started at, in nanoseconds
+     * @return false if the idle tracker is disabled or couldn't be used, or if it
+     * was only just installed on this page, in which case the separate checks
+     * should be used instead
+     */
+    private static boolean waitForPageIdle(long startTime) {
+        if (!WAIT_FOR_PAGE_IDLE) {
+            return false;
+        }
+        try {
+            Object result = ((JavascriptExecutor) jsWaitDriver.get()).executeAsyncScript(
+                    JSHelpers.PAGE_WAIT_FOR_IDLE.getValue(), PAGE_IDLE_QUIET_PERIOD, getPageIdleTimeout(),
+                    PAGE_IDLE_MAXIMUM_MUTATION_WAIT);
+            if (!(result instanceof Map)) {
+                return false;
+            }
+            Map<?, ?> idleState = (Map<?, ?>) result;
+            long pageSideMillis = ((Number) idleState.get("waited")).longValue();
+            if (!Boolean.TRUE.equals(idleState.get("idle"))) {
+                ReportManager.logDiscrete("The page was still loading after waiting for [" + pageSideMillis + "] milliseconds.");
+            }
+            if (Boolean.TRUE.equals(idleState.get("installed"))) {
+                // the requests that were sent before the tracker was installed on this page can't be tracked
+                return false;
+            }
+            /* the rest of the wait was spent on the round-trip, which the separate checks would have repeated;
+               this is only an estimate, since the polling delays of the separate checks aren't counted */
+            long roundTripNanos = Math.max(0, System.nanoTime() - startTime - TimeUnit.MILLISECONDS.toNanos(pageSideMillis));
+            WaitStatistics.recordTimeSaved(LAZY_LOADING_WAIT, roundTripNanos * (SEPARATE_CHECKS_ROUND_TRIPS - 1));
+            return true;
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException | ClassCastException e) {
+            // for example when the page navigates while waiting, or the browser doesn't support the used APIs
+            return false;
+        }
+    }
+
+    private static long getPageIdleTimeout() {
+        // the wait must end before the script execution timeout expires
+        long scriptTimeout = TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty("scriptExecutionTimeout", "30").trim()));
+        return Math.max(100, Math.min(TimeUnit.SECONDS.toMillis(WAIT_DURATION_INTEGER), scriptTimeout - 1000));
+    }
+
     private static void waitForJQueryLoadIfDefined() {
         Boolean jQueryDefined = (Boolean) jsExec.executeScript("return typeof jQuery != 'undefined'");
         if (Boolean.TRUE.equals(jQueryDefined)) {
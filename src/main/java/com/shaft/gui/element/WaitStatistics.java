@@ -0,0 +1,90 @@
+package com.shaft.gui.element;
+
+import com.shaft.tools.io.ReportManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long every wait actually took, grouped by the type of wait, so
+ * that the time spent waiting, and the time saved by faster waits, can be
+ * reported for the whole test run.
+ */
+public class WaitStatistics {
+    private static final Map<String, WaitDurations> waits = new ConcurrentSkipListMap<>();
+
+    private WaitStatistics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Records a wait that has just finished
+     *
+     * @param waitType      the type of wait, for example "Element identification"
+     * @param durationNanos how long the wait took, in nanoseconds
+     */
+    public static void record(String waitType, long durationNanos) {
+        waits.computeIfAbsent(waitType, key -> new WaitDurations()).record(durationNanos);
+    }
+
+    /**
+     * Records the time that a wait saved, compared to the way this type of wait
+     * used to be done. This is an estimate, which only counts the round-trips
+     * that were saved, and not the polling delays between them.
+     *
+     * @param waitType   the type of wait, for example "Lazy loading"
+     * @param savedNanos the estimated time saved, in nanoseconds
+     */
+    public static void recordTimeSaved(String waitType, long savedNanos) {
+        waits.computeIfAbsent(waitType, key -> new WaitDurations()).savedNanos.add(savedNanos);
+    }
+
+    /**
+     * @param waitType the type of wait
+     * @return the number of recorded waits of this type
+     */
+    public static long getWaitsCount(String waitType) {
+        WaitDurations durations = waits.get(waitType);
+        return durations == null ? 0 : durations.count.sum();
+    }
+
+    /**
+     * @param waitType the type of wait
+     * @return the total time spent in recorded waits of this type, in milliseconds
+     */
+    public static long getTotalWaitMillis(String waitType) {
+        WaitDurations durations = waits.get(waitType);
+        return durations == null ? 0 : durations.totalNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * Logs the count, total, average, and maximum duration of every type of wait
+     * that was recorded during this test run
+     */
+    public static void logSummary() {
+        waits.forEach((waitType, durations) -> {
+            long count = durations.count.sum();
+            long totalMillis = durations.totalNanos.sum() / 1_000_000;
+            long savedMillis = durations.savedNanos.sum() / 1_000_000;
+            ReportManager.logDiscrete(waitType + " waits: count [" + count + "], total [" + totalMillis
+                    + "] ms, average [" + totalMillis / Math.max(1, count) + "] ms, maximum ["
+                    + durations.maximumNanos.get() / 1_000_000 + "] ms"
+                    + (savedMillis > 0 ? ", estimated time saved [" + savedMillis + "] ms, counting round-trips only." : "."));
+        });
+    }
+
+    private static class WaitDurations {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maximumNanos = new AtomicLong();
+        private final LongAdder savedNanos = new LongAdder();
+
+        private void record(long durationNanos) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            maximumNanos.accumulateAndGet(durationNanos, Math::max);
+        }
+    }
+}
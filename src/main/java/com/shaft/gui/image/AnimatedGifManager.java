@@ -1,28 +1,53 @@
 package com.shaft.gui.image;
 
+import com.shaft.tools.io.ReportManager;
+
 import javax.imageio.*;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.image.RenderedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Iterator;
 
 public class AnimatedGifManager {
-    private static final ThreadLocal<ImageWriter> gifWriter = new ThreadLocal<>();
-    private static final ThreadLocal<ImageWriteParam> imageWriteParam = new ThreadLocal<>();
-    private static final ThreadLocal<IIOMetadata> imageMetaData = new ThreadLocal<>();
+    private static final int MAXIMUM_RESOLUTION = Integer
+            .parseInt(System.getProperty("animatedGif_maximumResolution").trim());
+    private static final String COLOR_PALETTE = System.getProperty("animatedGif_colorPalette").trim();
+    private static final double DUPLICATE_FRAME_THRESHOLD = Double
+            .parseDouble(System.getProperty("animatedGif_duplicateFrameThreshold").trim());
+    private static final long MAXIMUM_SIZE_IN_BYTES = Long
+            .parseLong(System.getProperty("animatedGif_maximumSizeInMegabytes").trim()) * 1024 * 1024;
+
+    // every thread owns its own instance, so the writer state does not need to be shared or locked
+    private final ImageOutputStream outputStream;
+    private final boolean useWebSafePalette = "WebSafe".equalsIgnoreCase(COLOR_PALETTE);
+    private ImageWriter gifWriter;
+    private ImageWriteParam imageWriteParam;
+    private IIOMetadata imageMetaData;
+    // all frames are drawn on a canvas of the same size, which is decided by the first frame
+    private int canvasWidth = 0;
+    private int canvasHeight = 0;
+    // only the pixels of the last written frame are kept in memory, to detect duplicates
+    private int[] previousFramePixels = null;
+    private boolean isSizeLimitReached = false;
 
     /**
      * Creates a new GifSequenceWriter
      *
      * @param outputStream        the ImageOutputStream to be written to
-     * @param imageType           one of the imageTypes specified in BufferedImage
      * @param timeBetweenFramesMS the time between frames in milliseconds
      * @throws IOException if no gif ImageWriters are found
      */
     @SuppressWarnings("SameParameterValue")
-    protected AnimatedGifManager(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
+    protected AnimatedGifManager(ImageOutputStream outputStream, int timeBetweenFramesMS) throws IOException {
+        this.outputStream = outputStream;
+        int imageType = useWebSafePalette ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_INT_RGB;
         initialize(outputStream, imageType, timeBetweenFramesMS);
     }
 
@@ -62,8 +87,75 @@ public class AnimatedGifManager {
         return (node);
     }
 
+    /**
+     * Decodes the screenshot and draws it on the canvas of this gif, downscaled
+     * to the configured animatedGif_maximumResolution. Screenshots whose aspect
+     * ratio differs from the first frame are letterboxed. Oversized screenshots
+     * are subsampled while being decoded, so the full resolution image is never
+     * held in memory.
+     *
+     * @param screenshot the encoded screenshot
+     * @return the frame that should be written to the sequence, or null if the
+     * frame is a duplicate of the previous frame, or if the gif has
+     * reached its maximum size
+     * @throws IOException if the screenshot cannot be decoded
+     */
+    protected BufferedImage prepareFrame(byte[] screenshot) throws IOException {
+        if (isSizeLimitReached || screenshot == null) {
+            return null;
+        }
+        BufferedImage decodedImage = readSubsampledImage(screenshot);
+        if (decodedImage == null) {
+            return null;
+        }
+        if (canvasWidth == 0) {
+            initializeCanvas(decodedImage.getWidth(), decodedImage.getHeight());
+        }
+
+        // frames of a different shape, like after resizing the window, are scaled to fit and letterboxed instead of stretched
+        double scale = Math.min((double) canvasWidth / decodedImage.getWidth(), (double) canvasHeight / decodedImage.getHeight());
+        int frameWidth = Math.max(1, (int) Math.round(decodedImage.getWidth() * scale));
+        int frameHeight = Math.max(1, (int) Math.round(decodedImage.getHeight() * scale));
+        BufferedImage frame = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D frameGraphics = frame.createGraphics();
+        frameGraphics.setColor(Color.BLACK);
+        frameGraphics.fillRect(0, 0, canvasWidth, canvasHeight);
+        frameGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        frameGraphics.drawImage(decodedImage, (canvasWidth - frameWidth) / 2, (canvasHeight - frameHeight) / 2,
+                frameWidth, frameHeight, null);
+        frameGraphics.dispose();
+
+        int[] framePixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        if (isDuplicateFrame(framePixels)) {
+            return null;
+        }
+        // the frame is decorated after this point, so a copy of its pixels is kept for the next comparison
+        previousFramePixels = framePixels.clone();
+        return frame;
+    }
+
     protected void writeToSequence(RenderedImage img) throws IOException {
-        gifWriter.get().writeToSequence(new IIOImage(img, null, imageMetaData.get()), imageWriteParam.get());
+        if (isSizeLimitReached) {
+            return;
+        }
+        RenderedImage frame = img;
+        if (useWebSafePalette && img instanceof BufferedImage
+                && ((BufferedImage) img).getType() != BufferedImage.TYPE_BYTE_INDEXED) {
+            // drawing on the default indexed color model is much cheaper than letting the writer build a palette per frame
+            BufferedImage indexedFrame = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_BYTE_INDEXED);
+            Graphics2D indexedFrameGraphics = indexedFrame.createGraphics();
+            indexedFrameGraphics.drawImage((BufferedImage) img, 0, 0, null);
+            indexedFrameGraphics.dispose();
+            frame = indexedFrame;
+        }
+        gifWriter.writeToSequence(new IIOImage(frame, null, imageMetaData), imageWriteParam);
+
+        if (MAXIMUM_SIZE_IN_BYTES > 0 && outputStream.getStreamPosition() >= MAXIMUM_SIZE_IN_BYTES) {
+            isSizeLimitReached = true;
+            previousFramePixels = null;
+            ReportManager.logDiscrete("Animated GIF reached the maximum size of ["
+                    + MAXIMUM_SIZE_IN_BYTES / (1024 * 1024) + "] megabytes, no more frames will be added to it.");
+        }
     }
 
     /**
@@ -73,21 +165,70 @@ public class AnimatedGifManager {
      * @throws IOException if an error occurs during writing.
      */
     protected void close() throws IOException {
-        gifWriter.get().endWriteSequence();
+        previousFramePixels = null;
+        gifWriter.endWriteSequence();
+    }
+
+    private BufferedImage readSubsampledImage(byte[] screenshot) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(screenshot))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                if (MAXIMUM_RESOLUTION > 0 && longestSide >= MAXIMUM_RESOLUTION * 2) {
+                    // subsample by a whole factor that keeps the decoded image larger than the target resolution
+                    int subsamplingFactor = longestSide / MAXIMUM_RESOLUTION;
+                    readParam.setSourceSubsampling(subsamplingFactor, subsamplingFactor, 0, 0);
+                }
+                return reader.read(0, readParam);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void initializeCanvas(int imageWidth, int imageHeight) {
+        double scale = 1;
+        int longestSide = Math.max(imageWidth, imageHeight);
+        if (MAXIMUM_RESOLUTION > 0 && longestSide > MAXIMUM_RESOLUTION) {
+            scale = (double) MAXIMUM_RESOLUTION / longestSide;
+        }
+        canvasWidth = Math.max(1, (int) Math.round(imageWidth * scale));
+        canvasHeight = Math.max(1, (int) Math.round(imageHeight * scale));
+    }
+
+    private boolean isDuplicateFrame(int[] framePixels) {
+        if (DUPLICATE_FRAME_THRESHOLD < 0 || previousFramePixels == null
+                || previousFramePixels.length != framePixels.length) {
+            return false;
+        }
+        long maximumDifferentPixels = (long) (framePixels.length * DUPLICATE_FRAME_THRESHOLD);
+        long differentPixels = 0;
+        for (int i = 0; i < framePixels.length; i++) {
+            if (framePixels[i] != previousFramePixels[i] && ++differentPixels > maximumDifferentPixels) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @SuppressWarnings("ConstantConditions")
-    private synchronized void initialize(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
+    private void initialize(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
         // my method to create a writer
-        gifWriter.set(getWriter());
-        imageWriteParam.set(gifWriter.get().getDefaultWriteParam());
+        gifWriter = getWriter();
+        imageWriteParam = gifWriter.getDefaultWriteParam();
         ImageTypeSpecifier imageTypeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(imageType);
 
-        imageMetaData.set(gifWriter.get().getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam.get()));
+        imageMetaData = gifWriter.getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam);
 
-        String metaFormatName = imageMetaData.get().getNativeMetadataFormatName();
+        String metaFormatName = imageMetaData.getNativeMetadataFormatName();
 
-        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.get().getAsTree(metaFormatName);
+        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.getAsTree(metaFormatName);
 
         IIOMetadataNode graphicsControlExtensionNode = getNode(root, "GraphicControlExtension");
 
@@ -112,10 +253,10 @@ public class AnimatedGifManager {
         child.setUserObject(new byte[]{0x1, (byte) (loop & 0xFF), (byte) ((loop >> 8) & 0xFF)});
         appExtensionsNode.appendChild(child);
 
-        imageMetaData.get().setFromTree(metaFormatName, root);
+        imageMetaData.setFromTree(metaFormatName, root);
 
-        gifWriter.get().setOutput(outputStream);
+        gifWriter.setOutput(outputStream);
 
-        gifWriter.get().prepareWriteSequence(null);
+        gifWriter.prepareWriteSequence(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.shaft.gui.image;
+
+import com.shaft.gui.browser.DevToolsCommands;
+import com.shaft.tools.io.ReportManager;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.*;
+
+/**
+ * Captures screenshots of Chrome and Edge sessions using the DevTools protocol
+ * command Page.captureScreenshot, which is executed through
+ * {@link DevToolsCommands}.
+ * <p>
+ * Element screenshots are clipped to the element's rectangle, and full page
+ * screenshots are captured beyond the viewport, without scrolling the page or
+ * stitching several screenshots together. Frames that aren't used for
+ * validation can be captured as lossy jpeg, which is much smaller and faster
+ * to transfer than png.
+ * <p>
+ * Every method returns null when the session doesn't support this, for example
+ * when it runs on another browser or behind a grid that doesn't forward the
+ * endpoint, in which case the regular screenshot commands should be used
+ * instead.
+ */
+public class DevToolsScreenshot {
+    private static final Set<WebDriver> unsupportedDrivers = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private DevToolsScreenshot() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param driver  the current instance of Selenium webdriver
+     * @param isLossy true to capture a jpeg, if lossy frames are enabled
+     * @return a screenshot of the current viewport, or null if this session
+     * doesn't support DevTools screenshots
+     */
+    public static byte[] captureViewport(WebDriver driver, boolean isLossy) {
+        return capture(driver, null, isLossy);
+    }
+
+    /**
+     * @param driver      the current instance of Selenium webdriver
+     * @param elementRect the location and size of the element, relative to the
+     *                    page, like WebElement.getRect()
+     * @param isLossy     true to capture a jpeg, if lossy frames are enabled
+     * @return a screenshot of the element, or null if this session doesn't
+     * support DevTools screenshots
+     */
+    public static byte[] captureElement(WebDriver driver, Rectangle elementRect, boolean isLossy) {
+        if (elementRect == null || elementRect.getWidth() <= 0 || elementRect.getHeight() <= 0) {
+            return null;
+        }
+        return capture(driver, getClip(elementRect.getX(), elementRect.getY(), elementRect.getWidth(), elementRect.getHeight()), isLossy);
+    }
+
+    /**
+     * @param driver  the current instance of Selenium webdriver
+     * @param isLossy true to capture a jpeg, if lossy frames are enabled
+     * @return a screenshot of the whole page, or null if this session doesn't
+     * support DevTools screenshots
+     */
+    public static byte[] captureFullPage(WebDriver driver, boolean isLossy) {
+        Map<?, ?> layoutMetrics = execute(driver, "Page.getLayoutMetrics", Map.of());
+        if (layoutMetrics == null) {
+            return null;
+        }
+        // cssContentSize is reported by newer browsers, whose contentSize is in device pixels instead
+        Object contentSize = layoutMetrics.containsKey("cssContentSize") ? layoutMetrics.get("cssContentSize") : layoutMetrics.get("contentSize");
+        if (!(contentSize instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> size = (Map<?, ?>) contentSize;
+        return capture(driver, getClip(0, 0, toInt(size.get("width")), toInt(size.get("height"))), isLossy);
+    }
+
+    private static byte[] capture(WebDriver driver, Map<String, Object> clip, boolean isLossy) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (isLossy && isLossyFormatEnabled()) {
+            parameters.put("format", "jpeg");
+            parameters.put("quality", Integer.parseInt(System.getProperty("screenshotParams_lossyQuality", "80").trim()));
+        } else {
+            parameters.put("format", "png");
+        }
+        if (clip != null) {
+            parameters.put("clip", clip);
+            parameters.put("captureBeyondViewport", true);
+        }
+        Map<?, ?> result = execute(driver, "Page.captureScreenshot", parameters);
+        if (result == null || !(result.get("data") instanceof String)) {
+            return null;
+        }
+        return Base64.getDecoder().decode((String) result.get("data"));
+    }
+
+    private static Map<?, ?> execute(WebDriver driver, String command, Map<String, Object> parameters) {
+        if (!Boolean.parseBoolean(System.getProperty("screenshotParams_captureUsingDevTools", "true").trim())
+                || unsupportedDrivers.contains(driver)) {
+            return null;
+        }
+        try {
+            return DevToolsCommands.execute(driver, command, parameters);
+        } catch (UnsupportedCommandException e) {
+            // the endpoint isn't available for this session, so it isn't tried again
+            unsupportedDrivers.add(driver);
+            ReportManager.logDiscrete("DevTools screenshots aren't supported for this session, falling back to regular screenshots.");
+            return null;
+        } catch (WebDriverException e) {
+            // any other error, like a timeout, only falls back to a regular screenshot this time
+            return null;
+        }
+    }
+
+    private static Map<String, Object> getClip(int x, int y, int width, int height) {
+        return Map.of("x", x, "y", y, "width", width, "height", height, "scale", 1);
+    }
+
+    private static boolean isLossyFormatEnabled() {
+        return "jpeg".equalsIgnoreCase(System.getProperty("screenshotParams_nonValidationFormat", "jpeg").trim());
+    }
+
+    private static int toInt(Object number) {
+        return number instanceof Number ? (int) Math.ceil(((Number) number).doubleValue()) : 0;
+    }
+}
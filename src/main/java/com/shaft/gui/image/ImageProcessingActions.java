@@ -9,14 +9,10 @@ import com.shaft.cli.FileActions;
 import com.shaft.gui.browser.BrowserFactory;
 import com.shaft.gui.element.ElementActions;
 import com.shaft.tools.io.ReportManager;
-import com.shaft.validation.Assertions;
-import com.shaft.validation.Assertions.AssertionType;
-import com.shaft.validation.Assertions.ComparativeRelationType;
 import com.shaft.validation.Verifications;
 import nu.pattern.OpenCV;
 import org.opencv.core.*;
 import org.opencv.core.Point;
-import org.opencv.core.Core.MinMaxLocResult;
 import org.opencv.highgui.HighGui;
 import org.opencv.imgcodecs.Imgcodecs;
 import org.opencv.imgproc.Imgproc;
@@ -28,109 +24,109 @@ import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBuffer;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.nio.file.FileSystems;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class ImageProcessingActions {
-    private static final String DIRECTORY_PROCESSING = "/processingDirectory/";
     private static final String DIRECTORY_FAILED = "/failedImagesDirectory/";
+    private static volatile boolean isOpenCVLoaded = false;
 
     private ImageProcessingActions() {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Compares every image in the test folder against the image in the same
+     * position (sorted by file name) in the reference folder. The images are
+     * decoded and compared in memory, in parallel across all the available
+     * cores. A diff image is written to the failedImagesDirectory only for the
+     * pairs that do not meet the threshold.
+     *
+     * @param referenceFolderPath the path to the folder that holds the reference
+     *                            images
+     * @param testFolderPath      the path to the folder that holds the test images
+     * @param threshhold          the minimum matching percentage for a pair of
+     *                            images to pass
+     */
     public static void compareImageFolders(String referenceFolderPath, String testFolderPath, double threshhold) {
-        // TODO: refactor to minimize File IO actions
-        try {
-            long fileCounter = 1;
-
-            File refrenceFolder = new File(referenceFolderPath);
-            File testFolder = new File(testFolderPath);
-
-            // cleaning processing folders
-            FileActions.deleteFolder(refrenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
-
-            // preparing objects for files
-            File[] referenceFiles = refrenceFolder.listFiles();
-            File[] testFiles = testFolder.listFiles();
-
-            ReportManager.log("Comparing [" + Objects.requireNonNull(testFiles).length + "] image files from the testFolder ["
-                    + testFolder.getPath() + "] against [" + Objects.requireNonNull(referenceFiles).length
-                    + "] image files from the referenceFolder [" + testFolder.getPath() + "]");
-
-            // sorting objects for files by fileName
-            Arrays.sort(referenceFiles);
-            Arrays.sort(testFiles);
-
-            // confirming that the number of screenshots match
-            if (referenceFiles.length == testFiles.length) {
-                // copy and rename reference screenshots to a processing directory
-                for (File refrenceScreenshot : referenceFiles) {
-                    FileActions.copyFile(refrenceScreenshot.getAbsolutePath(),
-                            refrenceScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // copy and rename test screenshots to match reference screenshots in a
-                // processing directory
-
-                fileCounter = 1;
-                for (File testScreenshot : testFiles) {
-                    FileActions.copyFile(testScreenshot.getAbsolutePath(),
-                            testScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // point to the two new processing directories
-                File refrenceProcessingFolder = new File(referenceFolderPath + DIRECTORY_PROCESSING);
-                File testProcessingFolder = new File(testFolderPath + DIRECTORY_PROCESSING);
-
-                // preparing objects for files
-                File[] testProcessingFiles = testProcessingFolder.listFiles();
+        File refrenceFolder = new File(referenceFolderPath);
+        File testFolder = new File(testFolderPath);
+        FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
+
+        // preparing objects for files, the processing and failed images directories are skipped
+        File[] referenceFiles = refrenceFolder.listFiles(File::isFile);
+        File[] testFiles = testFolder.listFiles(File::isFile);
+        if (referenceFiles == null || testFiles == null) {
+            final String message = "Failed to list the image files under the reference folder [" + referenceFolderPath
+                    + "] or the test folder [" + testFolderPath + "].";
+            ReportManager.log(message);
+            Assert.fail(message);
+            return;
+        }
 
-                // sorting objects for files by fileName
-                if (testProcessingFiles != null) {
-                    Arrays.sort(testProcessingFiles);
-                }
+        ReportManager.log("Comparing [" + testFiles.length + "] image files from the testFolder ["
+                + testFolder.getPath() + "] against [" + referenceFiles.length
+                + "] image files from the referenceFolder [" + refrenceFolder.getPath() + "]");
+
+        // confirming that the number of screenshots match
+        if (referenceFiles.length != testFiles.length) {
+            final String message = "Number of screenshots  [" + testFiles.length + "] from the test folder [" + testFolderPath
+                    + "] do not match the number of screenshots [" + referenceFiles.length
+                    + "] from the reference folder [" + referenceFolderPath + "].";
+            ReportManager.log(message);
+            Assert.fail(message);
+            return;
+        }
 
-                // compare images from the test directory against the reference directory
-                compareImageFolders(referenceFiles, testFiles, Objects.requireNonNull(testProcessingFiles), refrenceProcessingFolder,
-                        testProcessingFolder, threshhold);
+        // pairing files by their sorted position, without copying or renaming them
+        Arrays.sort(referenceFiles);
+        Arrays.sort(testFiles);
+        String failedImagesFolderPath = testFolder.getAbsolutePath() + DIRECTORY_FAILED;
 
-                // cleaning processing folders
-                FileActions.deleteFolder(refrenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-                FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
+        long startTime = System.nanoTime();
+        List<ImageComparisonResult> comparisonResults = IntStream.range(0, testFiles.length)
+                .parallel()
+                .mapToObj(i -> compareImages(referenceFiles[i], testFiles[i], threshhold, failedImagesFolderPath))
+                .collect(Collectors.toList());
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
 
+        // reporting is done in order, after all the comparisons are done
+        int passedImagesCount = 0;
+        int failedImagesCount = 0;
+        for (ImageComparisonResult comparisonResult : comparisonResults) {
+            reportImageComparisonResult(comparisonResult);
+            if (comparisonResult.isPassed) {
+                passedImagesCount++;
             } else {
-                // fail because the number of screenshots don't match
-                // referenceFiles.length == testFiles.length
-                final String message = "Number of screenshots  [" + testFiles.length + "] from the test folder [" + testFolderPath
-                        + "] do not match the number of screenshots [" + referenceFiles.length
-                        + "] from the reference folder [" + referenceFolderPath + "].";
-                ReportManager.log(message);
-                Assert.fail(message);
+                failedImagesCount++;
             }
-
-        } catch (NullPointerException | IOException e) {
-            ReportManager.log(e);
-            ReportManager.log("Failed to compare image files ...");
+            Verifications.verifyComparativeRelation(threshhold, comparisonResult.percentage, Verifications.ComparativeRelationType.GREATER_THAN_OR_EQUALS, Verifications.VerificationType.POSITIVE);
         }
+
+        ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImagesCount
+                + "] images failed the threshold of [" + threshhold + "%] matching.");
+        ReportManager.log("Compared [" + comparisonResults.size() + "] image pairs in [" + elapsedMillis
+                + "] milliseconds, at [" + String.format("%.2f", comparisonResults.size() * 1000.0 / elapsedMillis)
+                + "] images per second.");
     }
 
     public static byte[] highlightElementInScreenshot(byte[] targetScreenshot,
                                                       org.openqa.selenium.Rectangle elementLocation, Color highlightColor) {
 
         loadOpenCV();
-        Mat img = Imgcodecs.imdecode(new MatOfByte(targetScreenshot), Imgcodecs.IMREAD_COLOR);
+        MatOfByte encodedScreenshot = new MatOfByte(targetScreenshot);
+        Mat img = Imgcodecs.imdecode(encodedScreenshot, Imgcodecs.IMREAD_COLOR);
+        encodedScreenshot.release();
 
         int outlineThickness = 5;
 
@@ -147,6 +143,7 @@ public class ImageProcessingActions {
         Imgproc.rectangle(img, startPoint, endPoint, highlightColorScalar, outlineThickness, 8, 0);
 
         Image tmpImg = HighGui.toBufferedImage(img);
+        img.release();
         BufferedImage image = (BufferedImage) tmpImg;
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
@@ -167,33 +164,27 @@ public class ImageProcessingActions {
                 return Collections.emptyList();
             } else {
                 loadOpenCV();
-                Mat img = Imgcodecs.imdecode(new MatOfByte(currentPageScreenshot), Imgcodecs.IMREAD_COLOR);
-                Mat templ = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
-
-                // / Create the result matrix
-                int resultCols = img.cols() - templ.cols() + 1;
-                int resultRows = img.rows() - templ.rows() + 1;
-
-                Mat result = new Mat(resultRows, resultCols, CvType.CV_32FC1);
+                ReferenceTemplateCache.CachedTemplate cachedTemplate = ReferenceTemplateCache.acquire(referenceImagePath);
+                if (cachedTemplate == null) {
+                    ReportManager.log("Failed to identify the element using AI; the reference element screenshot could not be decoded.");
+                    return Collections.emptyList();
+                }
+                Mat templ = cachedTemplate.getMat();
+                MatOfByte encodedScreenshot = new MatOfByte(currentPageScreenshot);
+                Mat img = Imgcodecs.imdecode(encodedScreenshot, Imgcodecs.IMREAD_COLOR);
 
-                // / Do the Matching and Normalize
+                // / Do the Matching, coarse to fine and across multiple scales
                 try {
-                    Imgproc.matchTemplate(img, templ, result, matchMethod);
-                    Core.normalize(result, result, 0, 1, Core.NORM_MINMAX, -1, new Mat());
-
-                    // / Localizing the best match with minMaxLoc
-                    MinMaxLocResult mmr = Core.minMaxLoc(result);
-
-                    Point matchLoc;
-                    if (matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED) {
-                        matchLoc = mmr.minLoc;
-                    } else {
-                        matchLoc = mmr.maxLoc;
+                    TemplateMatcher.Match match = TemplateMatcher.findBestMatch(referenceImagePath, img, templ, matchMethod);
+                    if (match == null) {
+                        ReportManager.log("Failed to identify the element using AI; the reference element screenshot is larger than the target screenshot.");
+                        return Collections.emptyList();
                     }
+                    Point matchLoc = new Point(match.getRectangle().x, match.getRectangle().y);
 
                     if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
                         // debugging
-                        Imgproc.rectangle(img, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
+                        Imgproc.rectangle(img, matchLoc, new Point(matchLoc.x + match.getRectangle().width, matchLoc.y + match.getRectangle().height),
                                 new Scalar(0, 0, 0), 2, 8, 0);
                         Image tmpImg = HighGui.toBufferedImage(img);
                         BufferedImage image = (BufferedImage) tmpImg;
@@ -227,6 +218,11 @@ public class ImageProcessingActions {
                     ReportManager.log(e);
                     ReportManager.log("Failed to identify the element using AI; openCV core exception.");
                     return Collections.emptyList();
+                } finally {
+                    // native memory is released explicitly, instead of waiting for the garbage collector
+                    img.release();
+                    encodedScreenshot.release();
+                    ReferenceTemplateCache.release(cachedTemplate);
                 }
             }
         } else {
@@ -355,102 +351,183 @@ public class ImageProcessingActions {
         }
     }
 
-    private static void compareImageFolders(File[] refrenceFiles, File[] testFiles, File[] testProcessingFiles,
-                                            File refrenceProcessingFolder, File testProcessingFolder, double threshhold) throws IOException {
-        // TODO: refactor to minimize File IO actions
-        int passedImagesCount = 0;
-        int failedImagesCount = 0;
-
-        // compare images from the test directory against the reference directory
-        for (File screenshot : testProcessingFiles) {
-            float percentage = 0;
-            // take buffer data from both image files //
-
-            BufferedImage biA = ImageIO.read(screenshot);
-            DataBuffer dbA = biA.getData().getDataBuffer();
-            float sizeA = dbA.getSize();
-
-            BufferedImage biB = ImageIO.read(new File(
-                    refrenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName()));
-            DataBuffer dbB = biB.getData().getDataBuffer();
-            float sizeB = dbB.getSize();
-            float count = 0;
-
-            // compare data-buffer objects //
-            if (sizeA == sizeB) {
-
-                for (int i = 0; i < sizeA; i++) {
-
-                    if (dbA.getElem(i) == dbB.getElem(i)) {
-                        count = count + 1;
-                    }
-
-                }
-                percentage = (count * 100) / sizeA;
+    private static ImageComparisonResult compareImages(File referenceFile, File testFile, double threshhold,
+                                                       String failedImagesFolderPath) {
+        ImageComparisonResult comparisonResult = new ImageComparisonResult(referenceFile, testFile);
+        try {
+            BufferedImage referenceImage = ImageIO.read(referenceFile);
+            BufferedImage testImage = ImageIO.read(testFile);
+            if (referenceImage == null || testImage == null) {
+                comparisonResult.message = "Failed to decode the images.";
             } else {
-                ReportManager.log("Both the images are not of same size");
+                // the data buffers are read directly from the rasters, without copying them
+                DataBuffer referenceDataBuffer = referenceImage.getRaster().getDataBuffer();
+                DataBuffer testDataBuffer = testImage.getRaster().getDataBuffer();
+                if (referenceDataBuffer.getSize() == testDataBuffer.getSize()) {
+                    long count = countMatchingElements(referenceDataBuffer, testDataBuffer);
+                    comparisonResult.percentage = (float) (count * 100.0 / testDataBuffer.getSize());
+                } else {
+                    comparisonResult.message = "Both the images are not of same size";
+                }
             }
+            comparisonResult.isPassed = comparisonResult.percentage >= threshhold;
+            if (!comparisonResult.isPassed) {
+                writeFailedImages(comparisonResult, referenceImage, testImage, failedImagesFolderPath);
+            }
+        } catch (IOException e) {
+            comparisonResult.message = "Failed to read the images. " + e.getMessage();
+        }
+        return comparisonResult;
+    }
 
-            // fetch the related reference screenshot file name using the current file
-            // name/number as index
-            String relatedReferenceFileName = refrenceFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
-            List<Object> referenceScreenshotAttachment = Arrays.asList("Reference Screenshot", relatedReferenceFileName,
-                    new FileInputStream(refrenceProcessingFolder + FileSystems.getDefault().getSeparator()
-                            + screenshot.getName()));
-
-            String relatedTestFileName = testFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
-            List<Object> testScreenshotAttachment = Arrays.asList("Test Screenshot", relatedTestFileName,
-                    new FileInputStream(screenshot));
-
-            ReportManager.log(
-                    "Test Screenshot [" + relatedTestFileName + "] and related Refrence Image ["
-                            + relatedReferenceFileName + "] match by [" + percentage + "] percent.",
-                    Arrays.asList(referenceScreenshotAttachment, testScreenshotAttachment));
-
-            boolean discreetLoggingState = ReportManager.isDiscreteLogging();
-            try {
-                // add to pass/fail counter depending on assertion result, without logging
-                ReportManager.setDiscreteLogging(true);
-                Assertions.assertComparativeRelation(threshhold, percentage,
-                        ComparativeRelationType.GREATER_THAN_OR_EQUALS, AssertionType.POSITIVE);
-                ReportManager.setDiscreteLogging(discreetLoggingState);
-                passedImagesCount++;
-            } catch (AssertionError e) {
-                ReportManager.setDiscreteLogging(discreetLoggingState);
-                // copying image to failed images directory
-                FileActions.copyFile(screenshot.getAbsolutePath(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_testImage");
-                FileActions.copyFile(
-                        refrenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_refrenceImage");
-                failedImagesCount++;
+    private static long countMatchingElements(DataBuffer referenceDataBuffer, DataBuffer testDataBuffer) {
+        long count = 0;
+        if (referenceDataBuffer instanceof DataBufferByte && testDataBuffer instanceof DataBufferByte) {
+            byte[] referenceData = ((DataBufferByte) referenceDataBuffer).getData();
+            byte[] testData = ((DataBufferByte) testDataBuffer).getData();
+            for (int i = 0; i < testData.length; i++) {
+                if (referenceData[i] == testData[i]) {
+                    count++;
+                }
+            }
+        } else if (referenceDataBuffer instanceof DataBufferInt && testDataBuffer instanceof DataBufferInt) {
+            int[] referenceData = ((DataBufferInt) referenceDataBuffer).getData();
+            int[] testData = ((DataBufferInt) testDataBuffer).getData();
+            for (int i = 0; i < testData.length; i++) {
+                if (referenceData[i] == testData[i]) {
+                    count++;
+                }
             }
+        } else {
+            for (int i = 0; i < testDataBuffer.getSize(); i++) {
+                if (referenceDataBuffer.getElem(i) == testDataBuffer.getElem(i)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
 
-            Verifications.verifyComparativeRelation(threshhold, percentage, Verifications.ComparativeRelationType.GREATER_THAN_OR_EQUALS, Verifications.VerificationType.POSITIVE);
+    /**
+     * Copies the failed pair to the failed images directory, together with a diff
+     * image that highlights the mismatching pixels in red over a faded copy of the
+     * test image.
+     */
+    private static void writeFailedImages(ImageComparisonResult comparisonResult, BufferedImage referenceImage,
+                                          BufferedImage testImage, String failedImagesFolderPath) {
+        // this runs on the comparison worker threads, so files are written quietly and the outcome is reported later
+        String testFileName = comparisonResult.testFile.getName();
+        try {
+            Files.createDirectories(Paths.get(failedImagesFolderPath));
+            Files.copy(comparisonResult.testFile.toPath(), Paths.get(failedImagesFolderPath + testFileName + "_testImage"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(comparisonResult.referenceFile.toPath(), Paths.get(failedImagesFolderPath + testFileName + "_refrenceImage"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            if (referenceImage != null && testImage != null) {
+                File diffFile = new File(failedImagesFolderPath + testFileName + "_diffImage.png");
+                ImageIO.write(createDiffImage(referenceImage, testImage), "png", diffFile);
+                comparisonResult.diffFile = diffFile;
+            }
+        } catch (IOException e) {
+            comparisonResult.message = "Failed to write the failed images. " + e.getMessage();
         }
+    }
 
-        ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImagesCount
-                + "] images failed the threshold of [" + threshhold + "%] matching.");
+    private static BufferedImage createDiffImage(BufferedImage referenceImage, BufferedImage testImage) {
+        int width = Math.max(referenceImage.getWidth(), testImage.getWidth());
+        int height = Math.max(referenceImage.getHeight(), testImage.getHeight());
+        BufferedImage diffImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int mismatchColor = Color.RED.getRGB();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean isInsideBoth = x < referenceImage.getWidth() && y < referenceImage.getHeight()
+                        && x < testImage.getWidth() && y < testImage.getHeight();
+                if (isInsideBoth && referenceImage.getRGB(x, y) == testImage.getRGB(x, y)) {
+                    // matching pixels are faded, so that the mismatching ones stand out
+                    int rgb = testImage.getRGB(x, y);
+                    int gray = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                    int faded = 192 + gray / 4;
+                    diffImage.setRGB(x, y, (faded << 16) | (faded << 8) | faded);
+                } else {
+                    diffImage.setRGB(x, y, mismatchColor);
+                }
+            }
+        }
+        return diffImage;
+    }
 
+    private static void reportImageComparisonResult(ImageComparisonResult comparisonResult) {
+        String relatedReferenceFileName = comparisonResult.referenceFile.getName();
+        String relatedTestFileName = comparisonResult.testFile.getName();
+        if (comparisonResult.message != null) {
+            ReportManager.log(comparisonResult.message);
+        }
+        String message = "Test Screenshot [" + relatedTestFileName + "] and related Refrence Image ["
+                + relatedReferenceFileName + "] match by [" + comparisonResult.percentage + "] percent.";
+        if (comparisonResult.isPassed) {
+            ReportManager.log(message);
+            return;
+        }
+        // images are only attached for the pairs that failed
+        try {
+            List<List<Object>> attachments = new ArrayList<>();
+            attachments.add(Arrays.asList("Reference Screenshot", relatedReferenceFileName,
+                    new FileInputStream(comparisonResult.referenceFile)));
+            attachments.add(Arrays.asList("Test Screenshot", relatedTestFileName,
+                    new FileInputStream(comparisonResult.testFile)));
+            if (comparisonResult.diffFile != null) {
+                attachments.add(Arrays.asList("Diff Screenshot", relatedTestFileName,
+                        new FileInputStream(comparisonResult.diffFile)));
+            }
+            ReportManager.log(message, attachments);
+        } catch (FileNotFoundException e) {
+            ReportManager.log(e);
+            ReportManager.log(message);
+        }
     }
 
     private static void loadOpenCV() {
-        try {
-            OpenCV.loadShared();
-            ReportManager.logDiscrete("Loaded Shared OpenCV");
-        } catch (NoClassDefFoundError | RuntimeException | ExceptionInInitializerError e) {
+        if (isOpenCVLoaded) {
+            return;
+        }
+        synchronized (ImageProcessingActions.class) {
+            if (isOpenCVLoaded) {
+                return;
+            }
             try {
-                OpenCV.loadLocally();
-                ReportManager.logDiscrete("Loaded Local OpenCV");
-            } catch (UnsatisfiedLinkError e2) {
-                ReportManager.log(e);
-                ReportManager.logDiscrete("Failed to load OpenCV");
+                OpenCV.loadShared();
+                isOpenCVLoaded = true;
+                ReportManager.logDiscrete("Loaded Shared OpenCV");
+            } catch (NoClassDefFoundError | RuntimeException | ExceptionInInitializerError e) {
+                try {
+                    OpenCV.loadLocally();
+                    isOpenCVLoaded = true;
+                    ReportManager.logDiscrete("Loaded Local OpenCV");
+                } catch (UnsatisfiedLinkError e2) {
+                    ReportManager.log(e);
+                    ReportManager.logDiscrete("Failed to load OpenCV");
+                }
             }
         }
     }
 
+    /**
+     * Holds the outcome of comparing a single pair of images.
+     */
+    private static class ImageComparisonResult {
+        private final File referenceFile;
+        private final File testFile;
+        private float percentage = 0;
+        private boolean isPassed = false;
+        private File diffFile = null;
+        private String message = null;
+
+        private ImageComparisonResult(File referenceFile, File testFile) {
+            this.referenceFile = referenceFile;
+            this.testFile = testFile;
+        }
+    }
+
     public enum VisualValidationEngine {
         EXACT_OPENCV,
         EXACT_EYES,
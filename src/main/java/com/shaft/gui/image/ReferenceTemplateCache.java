@@ -0,0 +1,114 @@
+package com.shaft.gui.image;
+
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used cache of decoded reference images, used as
+ * templates for OpenCV element matching. Entries are keyed by the reference
+ * image path, which is derived from the hashed element locator, and are
+ * reloaded when the file is modified. The native memory of evicted templates
+ * is released as soon as no thread is using them.
+ */
+class ReferenceTemplateCache {
+    private static final Map<String, CachedTemplate> templates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+            if (size() > getMaximumSize()) {
+                eldest.getValue().evict();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private ReferenceTemplateCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the decoded template for the reference image, reading it from disk
+     * only if it is not cached or if the file was modified since it was cached.
+     * Every acquired template must be released after use.
+     *
+     * @param referenceImagePath the path to the reference image
+     * @return the cached template, or null if the reference image could not be
+     * decoded
+     */
+    static synchronized CachedTemplate acquire(String referenceImagePath) {
+        long lastModified = new File(referenceImagePath).lastModified();
+        CachedTemplate template = templates.get(referenceImagePath);
+        if (template != null && template.lastModified != lastModified) {
+            templates.remove(referenceImagePath);
+            template.evict();
+            template = null;
+        }
+        if (template == null) {
+            Mat mat = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
+            if (mat.empty()) {
+                mat.release();
+                return null;
+            }
+            template = new CachedTemplate(mat, lastModified);
+            templates.put(referenceImagePath, template);
+        }
+        template.usersCount++;
+        return template;
+    }
+
+    /**
+     * Marks the template as no longer used by the current caller.
+     *
+     * @param template a template that was returned by acquire
+     */
+    static synchronized void release(CachedTemplate template) {
+        if (template != null) {
+            template.usersCount--;
+            template.releaseIfUnused();
+        }
+    }
+
+    /**
+     * Evicts all the cached templates, releasing their native memory once they
+     * are no longer used.
+     */
+    static synchronized void clear() {
+        templates.values().forEach(CachedTemplate::evict);
+        templates.clear();
+    }
+
+    private static int getMaximumSize() {
+        return Integer.parseInt(System.getProperty("openCV_templateCacheSize", "50").trim());
+    }
+
+    static class CachedTemplate {
+        private final Mat mat;
+        private final long lastModified;
+        private int usersCount = 0;
+        private boolean isEvicted = false;
+
+        private CachedTemplate(Mat mat, long lastModified) {
+            this.mat = mat;
+            this.lastModified = lastModified;
+        }
+
+        Mat getMat() {
+            return mat;
+        }
+
+        private void evict() {
+            isEvicted = true;
+            releaseIfUnused();
+        }
+
+        private void releaseIfUnused() {
+            if (isEvicted && usersCount == 0) {
+                mat.release();
+            }
+        }
+    }
+}
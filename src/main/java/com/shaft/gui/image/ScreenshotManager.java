@@ -2,6 +2,8 @@ package com.shaft.gui.image;
 
 import com.shaft.cli.FileActions;
 import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.ElementCache;
+import com.shaft.gui.element.ElementProbe;
 import com.shaft.gui.element.JavaScriptWaitManager;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
@@ -21,6 +23,9 @@ import java.nio.file.FileSystems;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 public class ScreenshotManager {
     private static final String SCREENSHOT_FOLDERPATH = System.getProperty("allureResultsFolderPath").trim()
@@ -43,21 +48,29 @@ public class ScreenshotManager {
     private static final int RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION = 1;
     private static final Boolean CREATE_GIF = Boolean.valueOf(System.getProperty("createAnimatedGif").trim());
     private static final int GIF_FRAME_DELAY = Integer.parseInt(System.getProperty("animatedGif_frameDelay").trim());
-    // TODO: parameterize the detailed gif value
-    private static final Boolean DETAILED_GIF = true;
+    private static final Boolean DETAILED_GIF = Boolean.valueOf(System.getProperty("animatedGif_detailed").trim());
     private static final String DETAILED_GIF_REGEX = "(verify.*)|(assert.*)|(click.*)|(tap.*)|(key.*)|(navigate.*)";
     private static final String AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH = "src/test/resources/DynamicObjectRepository/";
     private static Boolean AI_SUPPORTED_ELEMENT_IDENTIFICATION = Boolean
             .valueOf(System.getProperty("aiPoweredSelfHealingElementIdentification").trim());
-    private static String screenshotFileName = "Screenshot";
-    private static By aiGeneratedElementLocator = null;
-    private static By targetElementLocator;
-    private static boolean globalPassFailStatus = false;
-    private static String globalPassFailAppendedText = "";
-    private static String testCaseName = "";
-    private static String gifRelativePathWithFileName = "";
-    private static ThreadLocal<ImageOutputStream> gifOutputStream = new ThreadLocal<>();
-    private static ThreadLocal<AnimatedGifManager> gifWriter = new ThreadLocal<>();
+    private static final Boolean ASYNCHRONOUS_PROCESSING = Boolean
+            .valueOf(System.getProperty("screenshotParams_asynchronousProcessing").trim());
+    private static final int PROCESSING_THREADS = Integer
+            .parseInt(System.getProperty("screenshotParams_processingThreads").trim());
+    private static final int PROCESSING_QUEUE_SIZE = Integer
+            .parseInt(System.getProperty("screenshotParams_processingQueueSize").trim());
+    // screenshot state is scoped to the calling thread so that parallel tests never share or block on it
+    private static final ThreadLocal<By> aiGeneratedElementLocator = new ThreadLocal<>();
+    private static final ThreadLocal<AnimatedGif> animatedGif = new ThreadLocal<>();
+    // post-processing is chained per test thread so that the animated gif frames are written in order
+    private static final ThreadLocal<CompletableFuture<byte[]>> pendingProcessing = new ThreadLocal<>();
+    // chained stages bypass the executor's queue, so every thread's chain is limited to the queue size as well
+    private static final ThreadLocal<AtomicInteger> pendingProcessingCount = ThreadLocal.withInitial(AtomicInteger::new);
+    private static final Set<CompletableFuture<byte[]>> inFlightProcessing = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService processingExecutor = createProcessingExecutor();
+    // the watermark is read from disk once, and scaled once per screenshot width
+    private static final Map<Integer, BufferedImage> scaledWatermarks = new ConcurrentHashMap<>();
+    private static volatile BufferedImage watermarkImage = null;
 
     private ScreenshotManager() {
         throw new IllegalStateException("Utility class");
@@ -72,7 +85,7 @@ public class ScreenshotManager {
     }
 
     public static void setAiGeneratedElementLocator(By aiGeneratedElementLocator) {
-        ScreenshotManager.aiGeneratedElementLocator = aiGeneratedElementLocator;
+        ScreenshotManager.aiGeneratedElementLocator.set(aiGeneratedElementLocator);
     }
 
     public static String getAiAidedElementIdentificationFolderpath() {
@@ -90,14 +103,27 @@ public class ScreenshotManager {
      * @return a screenshot object
      */
     public static List<Object> captureScreenShot(WebDriver driver, String actionName, boolean passFailStatus) {
-        globalPassFailStatus = passFailStatus;
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
-        }
+        return captureScreenShot(driver, actionName, passFailStatus, false);
+    }
+
+    /**
+     * Used by validations if there is no element locator. Validation
+     * screenshots are never captured as lossy jpeg, because they document what
+     * was validated.
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param validationName the name of the triggering validation
+     * @param passFailStatus A flag to determine whether the validation has
+     *                       passed or failed
+     * @return a screenshot object
+     */
+    public static List<Object> captureValidationScreenShot(WebDriver driver, String validationName, boolean passFailStatus) {
+        return captureScreenShot(driver, validationName, passFailStatus, true);
+    }
 
-        return internalCaptureScreenShot(driver, null, actionName, globalPassFailAppendedText,
+    private static List<Object> captureScreenShot(WebDriver driver, String actionName, boolean passFailStatus,
+                                                  boolean isValidationPoint) {
+        return internalCaptureScreenShot(driver, null, actionName, passFailStatus, isValidationPoint,
                 ("Always".equals(SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT))
                         || ("ValidationPointsOnly".equals(SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT)
                         && (actionName.toLowerCase().contains("assert")
@@ -124,23 +150,37 @@ public class ScreenshotManager {
      */
     public static List<Object> captureScreenShot(WebDriver driver, By elementLocator, String actionName,
                                                  boolean passFailStatus) {
+        return captureScreenShot(driver, elementLocator, actionName, passFailStatus, false);
+    }
+
+    /**
+     * Used by validations if there is an element locator. Validation
+     * screenshots are never captured as lossy jpeg, because they document what
+     * was validated.
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @param validationName the name of the triggering validation
+     * @param passFailStatus A flag to determine whether the validation has
+     *                       passed or failed
+     * @return a screenshot object
+     */
+    public static List<Object> captureValidationScreenShot(WebDriver driver, By elementLocator, String validationName,
+                                                           boolean passFailStatus) {
+        return captureScreenShot(driver, elementLocator, validationName, passFailStatus, true);
+    }
+
+    private static List<Object> captureScreenShot(WebDriver driver, By elementLocator, String actionName,
+                                                  boolean passFailStatus, boolean isValidationPoint) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
+        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator.get() != null
                 && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
-        }
-
-        globalPassFailStatus = passFailStatus;
-        targetElementLocator = internalElementLocator;
-
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
+            internalElementLocator = aiGeneratedElementLocator.get();
         }
 
-        return internalCaptureScreenShot(driver, internalElementLocator, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(driver, internalElementLocator, actionName, passFailStatus, isValidationPoint,
                 (SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT.equals("Always"))
                         || (SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT.equals("ValidationPointsOnly")
                         && (actionName.toLowerCase().contains("assert")
@@ -152,15 +192,8 @@ public class ScreenshotManager {
         // take a failure screenshot
     }
 
-    public static synchronized List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Pattern element, String actionName,
-                                                                          boolean passFailStatus) {
-
-        globalPassFailStatus = passFailStatus;
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
-        }
+    public static List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Pattern element, String actionName,
+                                                             boolean passFailStatus) {
 
         boolean takeScreenshot = "Always".equals(SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT)
                 || ("ValidationPointsOnly".equals(SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT)
@@ -214,72 +247,71 @@ public class ScreenshotManager {
             /*
              * Declare screenshot file name
              */
-            testCaseName = ReportManager.getTestMethodName();
-            screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
-            if (!"".equals(globalPassFailAppendedText)) {
-                screenshotFileName = screenshotFileName + "_" + globalPassFailAppendedText;
-            }
+            String screenshotFileName = prepareScreenshotFileName(actionName, passFailStatus);
 
-            startOrAppendToAnimatedGif(src);
-            if (takeScreenshot) {
-                return addScreenshotToReport(src);
-            } else {
-                return null;
-            }
+            return processScreenshot(src, null, passFailStatus, screenshotFileName, takeScreenshot);
         }
         return null;
     }
 
     public static byte[] takeFullPageScreenshot(WebDriver driver) {
-        try {
-            if (SCREENSHOT_PARAMS_SKIPPEDELEMENTSFROMSCREENSHOT.length() > 0) {
-                List<WebElement> skippedElementsList = new ArrayList<>();
-                String[] skippedElementLocators = SCREENSHOT_PARAMS_SKIPPEDELEMENTSFROMSCREENSHOT.split(";");
-                for (String locator : skippedElementLocators) {
-                    if (ElementActions.getElementsCount(driver, By.xpath(locator),
-                            RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1) {
-                        skippedElementsList.add(driver.findElement(By.xpath(locator)));
-                    }
-                }
-
-                WebElement[] skippedElementsArray = new WebElement[skippedElementsList.size()];
-                skippedElementsArray = skippedElementsList.toArray(skippedElementsArray);
-
-                return ScreenshotUtilities.makeFullScreenshot(driver, skippedElementsArray);
-            } else {
-                return ScreenshotUtilities.makeFullScreenshot(driver);
-            }
-        } catch (Exception e) {
-            ReportManager.log(e);
-            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        }
+        return takeFullPageScreenshot(driver, false);
     }
 
     public static byte[] takeElementScreenshot(WebDriver driver, By targetElementLocator) {
-        return takeElementScreenshot(driver, targetElementLocator, false);
+        return takeElementScreenshot(driver, targetElementLocator, false, false);
     }
 
-    public static synchronized void attachAnimatedGif() {
+    public static void attachAnimatedGif() {
+        // all the frames of the current test must be written before the gif is closed
+        waitForScreenshotProcessing();
+        AnimatedGif gif = animatedGif.get();
         // stop and attach
-        if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(gifRelativePathWithFileName)) {
+        if (Boolean.TRUE.equals(CREATE_GIF) && gif != null) {
             try {
-                ReportManager.attach("Animated Gif", testCaseName, new FileInputStream(gifRelativePathWithFileName));
-                if (!gifWriter.equals(new ThreadLocal<>())) {
-                    gifWriter.get().close();
+                if (gif.writer != null) {
+                    gif.writer.close();
                 }
-                if (!gifOutputStream.equals(new ThreadLocal<>())) {
-                    gifOutputStream.get().close();
+                if (gif.outputStream != null) {
+                    gif.outputStream.close();
                 }
-
-                gifOutputStream = new ThreadLocal<>();
-                gifWriter = new ThreadLocal<>();
-                gifRelativePathWithFileName = "";
+                ReportManager.attach("Animated Gif", gif.testCaseName, new FileInputStream(gif.relativePathWithFileName));
             } catch (FileNotFoundException e) {
                 // this happens when the gif fails to start, maybe the browser window was
                 // already closed
             } catch (IOException | NullPointerException | IllegalStateException e) {
                 ReportManager.log(e);
+            } finally {
+                animatedGif.remove();
+            }
+        }
+    }
+
+    /**
+     * Blocks until all the screenshots captured by the current thread are
+     * processed, highlighted, watermarked, and appended to the animated gif.
+     */
+    public static void waitForScreenshotProcessing() {
+        CompletableFuture<byte[]> lastProcessingTask = pendingProcessing.get();
+        if (lastProcessingTask != null) {
+            try {
+                lastProcessingTask.join();
+            } catch (CompletionException | CancellationException e) {
+                ReportManager.logDiscrete(e);
             }
+            pendingProcessing.remove();
+        }
+    }
+
+    /**
+     * Blocks until all the screenshots captured by all threads are processed.
+     * Used before closing the execution so that no attachments are lost.
+     */
+    public static void waitForAllScreenshotProcessing() {
+        try {
+            CompletableFuture.allOf(inFlightProcessing.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException | CancellationException e) {
+            ReportManager.logDiscrete(e);
         }
     }
 
@@ -287,14 +319,14 @@ public class ScreenshotManager {
             elementLocator) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
+        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator.get() != null
                 && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
+            internalElementLocator = aiGeneratedElementLocator.get();
         }
 
         if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION)) {
             FileActions.createFolder(AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH);
-            WebElement targetElement = driver.findElement(internalElementLocator);
+            WebElement targetElement = ElementCache.findElement(driver, internalElementLocator);
             File screenshotFile = null;
             try {
                 screenshotFile = targetElement.getScreenshotAs(OutputType.FILE);
@@ -324,20 +356,23 @@ public class ScreenshotManager {
      * @param driver         the current instance of Selenium webdriver
      * @param elementLocator the locator of the webElement under test (By xpath, id,
      *                       selector, name ...etc)
-     * @param appendedText   the text that needs to be appended to the name of the
-     *                       screenshot to make it more recognizable
+     * @param passFailStatus A flag to determine whether the action has passed or
+     *                       failed, appended to the name of the screenshot to make
+     *                       it more recognizable
+     * @param isValidationPoint true if the screenshot documents a validation
      * @param takeScreenshot determines whether or not to take a screenshot given
      *                       the screenshotParams_whenToTakeAScreenshot parameter
      *                       from the pom.xml file
      * @return screenshot list object
      */
-    private static synchronized List<Object> internalCaptureScreenShot(WebDriver driver, By elementLocator,
-                                                                       String actionName, String appendedText, boolean takeScreenshot) {
+    private static List<Object> internalCaptureScreenShot(WebDriver driver, By elementLocator,
+                                                          String actionName, boolean passFailStatus,
+                                                          boolean isValidationPoint, boolean takeScreenshot) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
+        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator.get() != null
                 && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
+            internalElementLocator = aiGeneratedElementLocator.get();
         }
 
         // Suggested: add to animated gif only in case of click, navigation, or validation actions.
@@ -366,14 +401,16 @@ public class ScreenshotManager {
                         RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1)) {
 
                     if ("JavaScript".equals(SCREENSHOT_PARAMS_HIGHLIGHTMETHOD)) {
-                        element = driver.findElement(internalElementLocator);
+                        element = ElementCache.findElement(driver, internalElementLocator);
                         js = (JavascriptExecutor) driver;
                         regularElementStyle = highlightElementAndReturnDefaultStyle(element, js,
-                                setHighlightedElementStyle());
+                                setHighlightedElementStyle(passFailStatus));
                     } else {
                         // TODO: AI rect isn't in the proper location on Windows
                         // default to using AI
-                        elementLocation = driver.findElement(internalElementLocator).getRect();
+                        // the element was just counted, so its probe is still current
+                        ElementProbe probe = ElementProbe.takeLastProbe(driver, internalElementLocator);
+                        elementLocation = probe != null ? probe.getRect() : ElementCache.findElement(driver, internalElementLocator).getRect();
                     }
                 }
             } catch (StaleElementReferenceException e) {
@@ -382,26 +419,19 @@ public class ScreenshotManager {
                 ReportManager.log(e);
             }
 
-            /*
-             * Take the screenshot and store it as a file
-             */
-            byte[] src;
-
             /*
              * Attempt to take a full page screenshot, take a regular screenshot upon
              * failure
              */
             try {
-                src = takeScreenshot(driver);
+                // frames that don't document a validation or a failure, and aren't highlighted later, can be captured as lossy jpeg
+                boolean isLossy = passFailStatus && !isValidationPoint && elementLocation == null;
+                byte[] src = takeScreenshot(driver, internalElementLocator, isLossy);
 
                 /*
                  * Declare screenshot file name
                  */
-                testCaseName = ReportManager.getTestMethodName();
-                screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
-                if (!"".equals(appendedText)) {
-                    screenshotFileName = screenshotFileName + "_" + appendedText;
-                }
+                String screenshotFileName = prepareScreenshotFileName(actionName, passFailStatus);
 
                 /*
                  * If an elementLocator was passed, unhighlight that element after taking the
@@ -412,21 +442,7 @@ public class ScreenshotManager {
                     js.executeScript("arguments[0].setAttribute('style', arguments[1]);", element, regularElementStyle);
                 }
 
-                if (takeScreenshot && !SCREENSHOT_PARAMS_HIGHLIGHTMETHOD.equals("JavaScript") && elementLocation != null) {
-                    Color color;
-                    if (globalPassFailStatus) {
-                        color = new Color(165, 210, 165); // green
-                    } else {
-                        color = new Color(255, 255, 153); // yellow
-                    }
-                    src = ImageProcessingActions.highlightElementInScreenshot(src, elementLocation, color);
-                }
-                startOrAppendToAnimatedGif(src);
-                if (takeScreenshot) {
-                    return addScreenshotToReport(src);
-                } else {
-                    return null;
-                }
+                return processScreenshot(src, elementLocation, passFailStatus, screenshotFileName, takeScreenshot);
             } catch (WebDriverException e) {
                 // this happens when a browser session crashes mid-execution, or the docker is
                 // unregistered
@@ -436,23 +452,168 @@ public class ScreenshotManager {
         return null;
     }
 
-    private static byte[] takeScreenshot(WebDriver driver) {
+    private static String prepareScreenshotFileName(String actionName, boolean passFailStatus) {
+        return System.currentTimeMillis() + "_" + ReportManager.getTestMethodName() + "_" + actionName + "_"
+                + (passFailStatus ? "passed" : "failed");
+    }
+
+    /**
+     * Hands the raw screenshot over to the post-processing stage, so that the
+     * calling test thread only pays for capturing it. The highlighting,
+     * watermarking, encoding, and animated gif frames are handled in the
+     * background, and the returned attachment carries the pending content.
+     *
+     * @param screenshot         the raw screenshot as captured by the driver
+     * @param elementLocation    the location of the element to be highlighted,
+     *                           or null to skip highlighting
+     * @param passFailStatus     determines the highlighting color
+     * @param screenshotFileName the name of the screenshot attachment
+     * @param takeScreenshot     determines whether the screenshot should be
+     *                           attached, or only added to the animated gif
+     * @return screenshot list object, or null if the screenshot is not attached
+     */
+    private static List<Object> processScreenshot(byte[] screenshot, Rectangle elementLocation, boolean passFailStatus,
+                                                  String screenshotFileName, boolean takeScreenshot) {
+        AnimatedGif gif = Boolean.TRUE.equals(CREATE_GIF) ? getOrCreateAnimatedGif() : null;
+        // lossy frames are attached as they were encoded, without the watermark, instead of being re-encoded as png
+        boolean isAttachedAsJpeg = elementLocation == null && isJpeg(screenshot);
+        CompletableFuture<byte[]> processedScreenshot = submitProcessingTask(() -> {
+            byte[] src = screenshot;
+            if (src != null && elementLocation != null) {
+                Color color;
+                if (passFailStatus) {
+                    color = new Color(165, 210, 165); // green
+                } else {
+                    color = new Color(255, 255, 153); // yellow
+                }
+                src = ImageProcessingActions.highlightElementInScreenshot(src, elementLocation, color);
+            }
+            startOrAppendToAnimatedGif(gif, src);
+            if (takeScreenshot) {
+                return isAttachedAsJpeg ? src : addScreenshotToReport(src);
+            } else {
+                return null;
+            }
+        });
+        if (takeScreenshot) {
+            return Arrays.asList(isAttachedAsJpeg ? "JPEG Screenshot" : "Screenshot", screenshotFileName, processedScreenshot);
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isJpeg(byte[] screenshot) {
+        return screenshot != null && screenshot.length > 2 && screenshot[0] == (byte) 0xFF && screenshot[1] == (byte) 0xD8;
+    }
+
+    private static CompletableFuture<byte[]> submitProcessingTask(Supplier<byte[]> processingTask) {
+        if (!Boolean.TRUE.equals(ASYNCHRONOUS_PROCESSING)) {
+            return CompletableFuture.completedFuture(processingTask.get());
+        }
+        CompletableFuture<byte[]> previousProcessingTask = pendingProcessing.get();
+        AtomicInteger pendingCount = pendingProcessingCount.get();
+        if (previousProcessingTask != null && pendingCount.get() >= PROCESSING_QUEUE_SIZE) {
+            // the chain is full, so the test thread waits for its pending frames, then processes this one itself to keep them in order
+            waitForScreenshotProcessing();
+            try {
+                return CompletableFuture.completedFuture(processingTask.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        final CompletableFuture<byte[]> processingTaskResult;
+        if (previousProcessingTask == null) {
+            processingTaskResult = CompletableFuture.supplyAsync(processingTask, processingExecutor);
+        } else {
+            // a failed frame should not prevent the following frames from being processed
+            processingTaskResult = previousProcessingTask.handle((result, throwable) -> result)
+                    .thenApplyAsync(previousResult -> processingTask.get(), processingExecutor);
+        }
+        pendingProcessing.set(processingTaskResult);
+        pendingCount.incrementAndGet();
+        inFlightProcessing.add(processingTaskResult);
+        processingTaskResult.whenComplete((result, throwable) -> {
+            pendingCount.decrementAndGet();
+            inFlightProcessing.remove(processingTaskResult);
+        });
+        return processingTaskResult;
+    }
+
+    private static ExecutorService createProcessingExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger(1);
+        return new ThreadPoolExecutor(PROCESSING_THREADS, PROCESSING_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(PROCESSING_QUEUE_SIZE),
+                runnable -> {
+                    Thread processingThread = new Thread(runnable, "SHAFT-ScreenshotProcessor-" + threadCounter.getAndIncrement());
+                    processingThread.setDaemon(true);
+                    return processingThread;
+                },
+                // once the queue is full, the submitting thread processes its own screenshot
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static byte[] takeScreenshot(WebDriver driver, By targetElementLocator, boolean isLossy) {
         return switch (SCREENSHOT_PARAMS_SCREENSHOTTYPE.toLowerCase().trim()) {
-            default -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            case "fullpage" -> takeFullPageScreenshot(driver);
-            case "element" -> takeElementScreenshot(driver, targetElementLocator, true);
+            default -> takeRegularScreenshot(driver, isLossy);
+            case "fullpage" -> takeFullPageScreenshot(driver, isLossy);
+            case "element" -> takeElementScreenshot(driver, targetElementLocator, true, isLossy);
         };
     }
 
+    private static byte[] takeRegularScreenshot(WebDriver driver, boolean isLossy) {
+        byte[] screenshot = DevToolsScreenshot.captureViewport(driver, isLossy);
+        if (screenshot != null) {
+            return screenshot;
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    private static byte[] takeFullPageScreenshot(WebDriver driver, boolean isLossy) {
+        try {
+            if (SCREENSHOT_PARAMS_SKIPPEDELEMENTSFROMSCREENSHOT.length() > 0) {
+                List<WebElement> skippedElementsList = new ArrayList<>();
+                String[] skippedElementLocators = SCREENSHOT_PARAMS_SKIPPEDELEMENTSFROMSCREENSHOT.split(";");
+                for (String locator : skippedElementLocators) {
+                    if (ElementActions.getElementsCount(driver, By.xpath(locator),
+                            RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1) {
+                        skippedElementsList.add(driver.findElement(By.xpath(locator)));
+                    }
+                }
+
+                WebElement[] skippedElementsArray = new WebElement[skippedElementsList.size()];
+                skippedElementsArray = skippedElementsList.toArray(skippedElementsArray);
+
+                return ScreenshotUtilities.makeFullScreenshot(driver, skippedElementsArray);
+            } else {
+                // the whole page is captured in a single call, without scrolling and stitching
+                byte[] screenshot = DevToolsScreenshot.captureFullPage(driver, isLossy);
+                if (screenshot != null) {
+                    return screenshot;
+                }
+                return ScreenshotUtilities.makeFullScreenshot(driver);
+            }
+        } catch (Exception e) {
+            ReportManager.log(e);
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        }
+    }
+
     private static byte[] takeElementScreenshot(WebDriver driver, By targetElementLocator, Boolean
-            returnRegularScreenshotInCaseOfFailure) {
+            returnRegularScreenshotInCaseOfFailure, boolean isLossy) {
         try {
             if (targetElementLocator != null && ElementActions.getElementsCount(driver, targetElementLocator,
                     RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1) {
-                return driver.findElement(targetElementLocator).getScreenshotAs(OutputType.BYTES);
+                ElementProbe probe = ElementProbe.takeLastProbe(driver, targetElementLocator);
+                WebElement targetElement = ElementCache.findElement(driver, targetElementLocator);
+                byte[] screenshot = DevToolsScreenshot.captureElement(driver,
+                        probe != null ? probe.getRect() : targetElement.getRect(), isLossy);
+                if (screenshot != null) {
+                    return screenshot;
+                }
+                return targetElement.getScreenshotAs(OutputType.BYTES);
             } else {
                 if (returnRegularScreenshotInCaseOfFailure) {
-                    return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                    return takeRegularScreenshot(driver, isLossy);
                 } else {
                     return new byte[]{};
                 }
@@ -467,7 +628,7 @@ public class ScreenshotManager {
         }
     }
 
-    private static List<Object> addScreenshotToReport(byte[] screenshotFile) {
+    private static byte[] addScreenshotToReport(byte[] screenshotFile) {
         /*
          * Adding Screenshot to the Report.
          *
@@ -480,10 +641,9 @@ public class ScreenshotManager {
 
             ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream();
             ImageIO.write(screenshotImage, "png", screenshotOutputStream);
-            return Arrays.asList("Screenshot", screenshotFileName,
-                    new ByteArrayInputStream(screenshotOutputStream.toByteArray()));
-        } catch (IOException e) {
-            ReportManager.log(e);
+            return screenshotOutputStream.toByteArray();
+        } catch (IOException | NullPointerException | IllegalArgumentException e) {
+            ReportManager.logDiscrete(e);
             return null;
         }
     }
@@ -506,11 +666,11 @@ public class ScreenshotManager {
         return regularElementStyle;
     }
 
-    private static String setHighlightedElementStyle() {
+    private static String setHighlightedElementStyle(boolean passFailStatus) {
         String backgroud;
         String backgroundColor;
 
-        if (globalPassFailStatus) {
+        if (passFailStatus) {
             backgroud = "#46aad2";
             backgroundColor = "#A5D2A5";
         } else {
@@ -523,45 +683,32 @@ public class ScreenshotManager {
 
     }
 
-    private static synchronized void startAnimatedGif(byte[] screenshot) {
-        // TODO: refactor performance to reduce severe drop when enabling this option
+    private static AnimatedGif getOrCreateAnimatedGif() {
+        if (animatedGif.get() == null) {
+            animatedGif.set(new AnimatedGif(ReportManager.getTestMethodName()));
+        }
+        return animatedGif.get();
+    }
+
+    private static void startAnimatedGif(AnimatedGif gif, byte[] screenshot) {
         if (Boolean.TRUE.equals(CREATE_GIF) && screenshot != null) {
             try {
-                testCaseName = ReportManager.getTestMethodName();
-                String gifFileName = FileSystems.getDefault().getSeparator() + System.currentTimeMillis() + "_"
-                        + testCaseName + ".gif";
-                gifRelativePathWithFileName = SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME + gifFileName;
+                // create a new BufferedOutputStream
+                FileActions.createFile(SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME, gif.fileName);
+                gif.outputStream = new FileImageOutputStream(new File(gif.relativePathWithFileName));
 
-                // grab the output image type from the first image in the sequence
-                BufferedImage firstImage = ImageIO.read(new ByteArrayInputStream(screenshot));
+                // create a gif sequence with 500 milliseconds between frames, which loops infinitely
+                // the size of the gif is set by the first frame, all the following frames are scaled to fit it
+                gif.writer = new AnimatedGifManager(gif.outputStream, GIF_FRAME_DELAY);
 
-                // create a new BufferedOutputStream
-                FileActions.createFile(SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME, gifFileName);
-                gifOutputStream.set(new FileImageOutputStream(new File(gifRelativePathWithFileName)));
-
-                // create a gif sequence with the type of the first image, 500 milliseconds
-                // between frames, which loops infinitely
-                gifWriter.set(
-                        new AnimatedGifManager(gifOutputStream.get(), firstImage.getType(), GIF_FRAME_DELAY));
-
-                // draw initial blank image to set the size of the GIF...
-                BufferedImage initialImage = new BufferedImage(firstImage.getWidth(), firstImage.getHeight(),
-                        firstImage.getType());
-                Graphics2D initialImageGraphics = initialImage.createGraphics();
-                initialImageGraphics.setBackground(Color.WHITE);
-                initialImageGraphics.clearRect(0, 0, firstImage.getWidth(), firstImage.getHeight());
-
-                // write out initialImage to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(initialImage));
-                initialImageGraphics.dispose();
                 // write out first image to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(firstImage));
+                appendToAnimatedGif(gif, screenshot);
             } catch (NullPointerException | NoSuchSessionException e) {
                 // this happens in case the start animated Gif is triggered in a none-test
                 // method
                 // or this happens when the window is already closed
             } catch (IOException | WebDriverException e) {
-                ReportManager.log(e);
+                ReportManager.logDiscrete(e);
             }
         }
     }
@@ -577,12 +724,7 @@ public class ScreenshotManager {
                 screenshotGraphics.setComposite(
                         AlphaComposite.getInstance(AlphaComposite.SRC_OVER, SCREENSHOT_PARAMS_WATERMARKOPACITY));
 
-                BufferedImage shaftLogo;
-                // read from custom location
-                String watermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("defaultProperties/", System.getProperty("watermarkImagePath"));
-                shaftLogo = ImageIO.read(new File(watermarkImagePath));
-                shaftLogo = toBufferedImage(
-                        shaftLogo.getScaledInstance(screenshot.getWidth() / 8, -1, Image.SCALE_SMOOTH));
+                BufferedImage shaftLogo = getScaledWatermark(screenshot.getWidth());
                 screenshotGraphics.drawImage(shaftLogo, screenshot.getWidth() - shaftLogo.getWidth(),
                         screenshot.getHeight() - shaftLogo.getHeight(), null);
                 screenshotGraphics.dispose();
@@ -593,6 +735,21 @@ public class ScreenshotManager {
         return screenshot;
     }
 
+    private static BufferedImage getScaledWatermark(int screenshotWidth) throws IOException {
+        if (watermarkImage == null) {
+            // read from custom location
+            String watermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("defaultProperties/", System.getProperty("watermarkImagePath"));
+            watermarkImage = ImageIO.read(new File(watermarkImagePath));
+        }
+        BufferedImage scaledWatermark = scaledWatermarks.get(screenshotWidth);
+        if (scaledWatermark == null) {
+            scaledWatermark = toBufferedImage(
+                    watermarkImage.getScaledInstance(screenshotWidth / 8, -1, Image.SCALE_SMOOTH));
+            scaledWatermarks.putIfAbsent(screenshotWidth, scaledWatermark);
+        }
+        return scaledWatermark;
+    }
+
     private static BufferedImage toBufferedImage(Image img) {
         if (img instanceof BufferedImage) {
             return (BufferedImage) img;
@@ -610,23 +767,23 @@ public class ScreenshotManager {
         return bimage;
     }
 
-    private static synchronized void startOrAppendToAnimatedGif(byte[] screenshot) {
+    private static void startOrAppendToAnimatedGif(AnimatedGif gif, byte[] screenshot) {
         // ensure that animatedGif is started, else force start it
-        if (Boolean.TRUE.equals(CREATE_GIF)) {
-            if ("".equals(gifRelativePathWithFileName)) {
-                startAnimatedGif(screenshot);
+        if (Boolean.TRUE.equals(CREATE_GIF) && gif != null) {
+            if (gif.writer == null) {
+                startAnimatedGif(gif, screenshot);
             } else {
-                appendToAnimatedGif(screenshot);
+                appendToAnimatedGif(gif, screenshot);
             }
         }
     }
 
-    private static synchronized void appendToAnimatedGif(byte[] screenshot) {
+    private static void appendToAnimatedGif(AnimatedGif gif, byte[] screenshot) {
         try {
-            BufferedImage image;
-            if (screenshot != null) {
-                image = ImageIO.read(new ByteArrayInputStream(screenshot));
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(image));
+            // frames are downscaled while being decoded, and skipped if they are identical to the previous frame
+            BufferedImage frame = gif.writer.prepareFrame(screenshot);
+            if (frame != null) {
+                gif.writer.writeToSequence(overlayShaftEngineLogo(frame));
             }
         } catch (NoSuchSessionException e) {
             // this happens when attempting to append to a non existing gif, expected
@@ -634,7 +791,26 @@ public class ScreenshotManager {
             // removed the old solution, the new fix is to ignore this exception, this will
             // leave the gif intact and will attach it even after failing to append to it
         } catch (WebDriverException | IOException | IllegalStateException | IllegalArgumentException | NullPointerException e) {
-            ReportManager.log(e);
+            ReportManager.logDiscrete(e);
+        }
+    }
+
+    /**
+     * The animated gif of the current test. It is created on the test thread
+     * and only written to by that thread's post-processing chain.
+     */
+    private static final class AnimatedGif {
+        private final String testCaseName;
+        private final String fileName;
+        private final String relativePathWithFileName;
+        private ImageOutputStream outputStream;
+        private AnimatedGifManager writer;
+
+        private AnimatedGif(String testCaseName) {
+            this.testCaseName = testCaseName;
+            this.fileName = FileSystems.getDefault().getSeparator() + System.currentTimeMillis() + "_" + testCaseName
+                    + ".gif";
+            this.relativePathWithFileName = SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME + fileName;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.shaft.gui.image;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locates a reference template within a page screenshot. Instead of a single
+ * full resolution pass, the template is first searched for inside the region
+ * where it was last found, then on a downscaled copy of the page whose best
+ * candidate is refined at full resolution. Templates are also searched for at
+ * multiple scales, to tolerate DPI and zoom differences from the baseline.
+ */
+class TemplateMatcher {
+    // the template is downscaled as long as its shortest side stays at least this long
+    private static final int MINIMUM_COARSE_TEMPLATE_SIDE = 16;
+    private static final int MAXIMUM_PYRAMID_FACTOR = 8;
+    // keyed by the reference image and the page size, since the same element is laid out differently in other viewports
+    private static final Map<String, Rect> lastKnownLocations = new ConcurrentHashMap<>();
+
+    private TemplateMatcher() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Finds the best match of the template within the page
+     *
+     * @param referenceImagePath the path of the reference image, used to remember
+     *                           where it was last found in a page of the same
+     *                           size
+     * @param page               the decoded page screenshot
+     * @param template           the decoded reference image
+     * @param matchMethod        an Imgproc.TM_* matching method, non normalized
+     *                           methods are replaced by their normalized versions
+     *                           so that scores can be compared across scales
+     * @return the best match, or null if the template is larger than the page at
+     * all scales
+     */
+    static Match findBestMatch(String referenceImagePath, Mat page, Mat template, int matchMethod) {
+        int method = matchMethod % 2 == 0 ? matchMethod + 1 : matchMethod;
+        double acceptanceScore = Double.parseDouble(System.getProperty("openCV_templateMatchingAcceptanceScore", "0.98").trim());
+
+        // the element is most likely still where it was found the last time
+        String locationKey = referenceImagePath + "_" + page.cols() + "x" + page.rows();
+        Rect lastKnownLocation = lastKnownLocations.get(locationKey);
+        if (lastKnownLocation != null) {
+            int margin = Math.max(lastKnownLocation.width, lastKnownLocation.height);
+            Match match = matchWithinRegion(page, template, method, expand(lastKnownLocation, margin, page));
+            if (match != null && match.score >= acceptanceScore) {
+                return match;
+            }
+        }
+
+        Match bestMatch = null;
+        Map<Integer, Mat> coarsePages = new HashMap<>();
+        try {
+            for (double scale : getScales()) {
+                Match match = matchAtScale(page, template, method, scale, acceptanceScore, coarsePages);
+                if (match != null && (bestMatch == null || match.score > bestMatch.score)) {
+                    bestMatch = match;
+                }
+                if (bestMatch != null && bestMatch.score >= acceptanceScore) {
+                    break;
+                }
+            }
+        } finally {
+            coarsePages.values().forEach(Mat::release);
+        }
+
+        if (bestMatch != null && bestMatch.score >= acceptanceScore) {
+            lastKnownLocations.put(locationKey, bestMatch.rectangle);
+        } else {
+            // a location that didn't match isn't worth searching first the next time
+            lastKnownLocations.remove(locationKey);
+        }
+        return bestMatch;
+    }
+
+    private static Match matchAtScale(Mat page, Mat template, int method, double scale, double acceptanceScore,
+                                      Map<Integer, Mat> coarsePages) {
+        Mat scaledTemplate = scale == 1 ? template : resize(template, scale);
+        try {
+            if (scaledTemplate.cols() > page.cols() || scaledTemplate.rows() > page.rows()) {
+                return null;
+            }
+            int factor = getPyramidFactor(scaledTemplate);
+            Match refinedMatch = null;
+            if (factor > 1) {
+                Mat coarsePage = coarsePages.computeIfAbsent(factor, key -> resize(page, 1.0 / key));
+                Mat coarseTemplate = resize(scaledTemplate, 1.0 / factor);
+                Match coarseMatch;
+                try {
+                    coarseMatch = matchWithinRegion(coarsePage, coarseTemplate, method,
+                            new Rect(0, 0, coarsePage.cols(), coarsePage.rows()));
+                } finally {
+                    coarseTemplate.release();
+                }
+                if (coarseMatch != null) {
+                    // the coarse location is only accurate to within a few pixels, so it is refined at full resolution
+                    Rect candidate = new Rect(coarseMatch.rectangle.x * factor, coarseMatch.rectangle.y * factor,
+                            scaledTemplate.cols(), scaledTemplate.rows());
+                    refinedMatch = matchWithinRegion(page, scaledTemplate, method, expand(candidate, factor * 2, page));
+                }
+            }
+            // a template that is too small to be searched coarsely is always searched across the whole page, whatever its
+            // scale, while a larger one is only searched again when the coarse search at its original scale is not conclusive
+            if (factor == 1 || ((refinedMatch == null || refinedMatch.score < acceptanceScore) && scale == 1)) {
+                Match fullMatch = matchWithinRegion(page, scaledTemplate, method, new Rect(0, 0, page.cols(), page.rows()));
+                if (fullMatch != null && (refinedMatch == null || fullMatch.score > refinedMatch.score)) {
+                    refinedMatch = fullMatch;
+                }
+            }
+            return refinedMatch;
+        } finally {
+            if (scaledTemplate != template) {
+                scaledTemplate.release();
+            }
+        }
+    }
+
+    private static Match matchWithinRegion(Mat page, Mat template, int method, Rect region) {
+        if (region.width < template.cols() || region.height < template.rows()) {
+            return null;
+        }
+        Mat searchArea = page.submat(region);
+        Mat result = new Mat();
+        try {
+            Imgproc.matchTemplate(searchArea, template, result, method);
+            Core.MinMaxLocResult mmr = Core.minMaxLoc(result);
+            boolean isSquaredDifference = method == Imgproc.TM_SQDIFF_NORMED;
+            org.opencv.core.Point location = isSquaredDifference ? mmr.minLoc : mmr.maxLoc;
+            double score = isSquaredDifference ? 1 - mmr.minVal : mmr.maxVal;
+            return new Match(new Rect((int) location.x + region.x, (int) location.y + region.y,
+                    template.cols(), template.rows()), score);
+        } finally {
+            result.release();
+            searchArea.release();
+        }
+    }
+
+    private static int getPyramidFactor(Mat template) {
+        int shortestSide = Math.min(template.cols(), template.rows());
+        int factor = 1;
+        while (factor * 2 <= MAXIMUM_PYRAMID_FACTOR && shortestSide / (factor * 2) >= MINIMUM_COARSE_TEMPLATE_SIDE) {
+            factor *= 2;
+        }
+        return factor;
+    }
+
+    private static Mat resize(Mat source, double scale) {
+        Mat resized = new Mat();
+        Size size = new Size(Math.max(1, Math.round(source.cols() * scale)), Math.max(1, Math.round(source.rows() * scale)));
+        Imgproc.resize(source, resized, size, 0, 0, scale < 1 ? Imgproc.INTER_AREA : Imgproc.INTER_LINEAR);
+        return resized;
+    }
+
+    private static Rect expand(Rect rectangle, int margin, Mat page) {
+        int x = Math.max(0, rectangle.x - margin);
+        int y = Math.max(0, rectangle.y - margin);
+        int width = Math.min(page.cols(), rectangle.x + rectangle.width + margin) - x;
+        int height = Math.min(page.rows(), rectangle.y + rectangle.height + margin) - y;
+        return new Rect(x, y, Math.max(0, width), Math.max(0, height));
+    }
+
+    private static List<Double> getScales() {
+        List<Double> scales = new ArrayList<>();
+        // the original scale is always attempted first
+        scales.add(1.0);
+        for (String scale : System.getProperty("openCV_templateMatchingScales", "1").split(",")) {
+            if (!scale.isBlank() && !scales.contains(Double.parseDouble(scale.trim()))) {
+                scales.add(Double.parseDouble(scale.trim()));
+            }
+        }
+        return scales;
+    }
+
+    /**
+     * The location of a template within a page, and how closely it matched.
+     */
+    static class Match {
+        private final Rect rectangle;
+        private final double score;
+
+        private Match(Rect rectangle, double score) {
+            this.rectangle = rectangle;
+            this.score = score;
+        }
+
+        Rect getRectangle() {
+            return rectangle;
+        }
+
+        double getScore() {
+            return score;
+        }
+    }
+}
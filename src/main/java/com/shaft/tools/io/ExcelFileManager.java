@@ -204,6 +204,54 @@ public class ExcelFileManager {
         return getColumnNameUsingRowNameAndCellData(getDefaultSheetName(), rowName, cellData);
     }
 
+    /**
+     * Reads all the data rows from the first sheet in the desired excel workbook.
+     * The first row is treated as the header, and every other row is read up to
+     * the last header cell. This is useful as a row source for
+     * DatabaseActions.executeBatch.
+     *
+     * @return a list that holds the values of every data row, in order
+     */
+    public List<List<String>> getSheetData() {
+        return getSheetData(getDefaultSheetName());
+    }
+
+    /**
+     * Reads all the data rows from a specific sheet name inside the excel file.
+     * The first row is treated as the header, and every other row is read up to
+     * the last header cell. This is useful as a row source for
+     * DatabaseActions.executeBatch.
+     *
+     * @param sheetName the name of the target excel sheet
+     * @return a list that holds the values of every data row, in order
+     */
+    public List<List<String>> getSheetData(String sheetName) {
+        List<List<String>> sheetData = new ArrayList<>();
+        try {
+            sheet = workbook.getSheet(sheetName);
+            int columnsCount = sheet.getRow(0).getLastCellNum();
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                row = sheet.getRow(i);
+                // empty rows are returned as null, and are skipped
+                if (row != null) {
+                    List<String> rowData = new ArrayList<>();
+                    for (int j = 0; j < columnsCount; j++) {
+                        cell = row.getCell(j);
+                        rowData.add(cell != null ? getCellData() : "");
+                    }
+                    sheetData.add(rowData);
+                }
+            }
+        } catch (Exception e) {
+            ReportManager.log(e);
+            ReportManager.log("Failed to read data from the Test Data Sheet [" + sheetName
+                    + "], under the following path [" + excelFilePath + "].");
+            Assert.fail("Failed to read data from the Test Data Sheet [" + sheetName
+                    + "], under the following path [" + excelFilePath + "].");
+        }
+        return sheetData;
+    }
+
     private void initializeVariables() {
         fis = null;
         workbook = null;
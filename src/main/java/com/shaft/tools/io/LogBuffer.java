@@ -0,0 +1,133 @@
+package com.shaft.tools.io;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An append-only, thread-safe text log that keeps a bounded chunk in memory.
+ * Once the chunk grows beyond the threshold, it is spilled to a temporary file,
+ * so the memory footprint stays flat regardless of how long the log grows. The
+ * content can be read back as a stream without building a single String.
+ */
+public class LogBuffer {
+    private static final String SPILL_THRESHOLD_PROPERTY_NAME = "executionLogInMemoryThresholdInKilobytes";
+    private final String name;
+    private final StringBuilder memoryChunk = new StringBuilder();
+    private int spillThresholdInCharacters;
+    private Path spillFile = null;
+    private OutputStream spillOutputStream = null;
+    private long spilledBytes = 0;
+    private boolean isSpillingDisabled = false;
+    private boolean isBlank = true;
+
+    /**
+     * Creates a new log buffer that spills to disk once its in-memory chunk
+     * exceeds the executionLogInMemoryThresholdInKilobytes property.
+     *
+     * @param name the name of this log, used as a prefix for its temporary file
+     */
+    public LogBuffer(String name) {
+        this(name, -1);
+    }
+
+    /**
+     * Creates a new log buffer that spills to disk once its in-memory chunk
+     * exceeds the given number of characters.
+     *
+     * @param name                       the name of this log, used as a prefix
+     *                                   for its temporary file
+     * @param spillThresholdInCharacters the maximum number of characters kept in
+     *                                   memory
+     */
+    public LogBuffer(String name, int spillThresholdInCharacters) {
+        this.name = name;
+        this.spillThresholdInCharacters = spillThresholdInCharacters;
+    }
+
+    /**
+     * Appends the text to the end of this log.
+     *
+     * @param text the text to be appended
+     */
+    public synchronized void append(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (isBlank && !text.isBlank()) {
+            isBlank = false;
+        }
+        memoryChunk.append(text);
+        if (!isSpillingDisabled && memoryChunk.length() >= getSpillThresholdInCharacters()) {
+            spill();
+        }
+    }
+
+    /**
+     * Appends the text followed by a line separator to the end of this log, as
+     * one entry that cannot be interleaved with entries from other threads.
+     *
+     * @param text the text to be appended
+     */
+    public synchronized void appendLine(String text) {
+        append(text);
+        append(System.lineSeparator());
+    }
+
+    /**
+     * @return true if nothing but white space was appended to this log
+     */
+    public synchronized boolean isBlank() {
+        return isBlank;
+    }
+
+    /**
+     * Opens a stream over a snapshot of the current content of this log. The
+     * spilled part is read from disk, so the whole log is never loaded into
+     * memory at once. Entries appended after this call are not included.
+     *
+     * @return an input stream over the content of this log
+     */
+    public synchronized InputStream openInputStream() {
+        byte[] memoryChunkBytes = memoryChunk.toString().getBytes(StandardCharsets.UTF_8);
+        if (spillFile != null) {
+            try {
+                spillOutputStream.flush();
+                return new SequenceInputStream(
+                        new BoundedInputStream(Files.newInputStream(spillFile), spilledBytes),
+                        new ByteArrayInputStream(memoryChunkBytes));
+            } catch (IOException e) {
+                // fall back to the part of the log that is still in memory
+            }
+        }
+        return new ByteArrayInputStream(memoryChunkBytes);
+    }
+
+    private int getSpillThresholdInCharacters() {
+        if (spillThresholdInCharacters < 0) {
+            spillThresholdInCharacters = Integer.parseInt(System.getProperty(SPILL_THRESHOLD_PROPERTY_NAME, "1024").trim()) * 1024;
+        }
+        return spillThresholdInCharacters;
+    }
+
+    private void spill() {
+        try {
+            if (spillOutputStream == null) {
+                spillFile = Files.createTempFile(name + "_", ".log");
+                spillFile.toFile().deleteOnExit();
+                spillOutputStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+            }
+            byte[] memoryChunkBytes = memoryChunk.toString().getBytes(StandardCharsets.UTF_8);
+            spillOutputStream.write(memoryChunkBytes);
+            spilledBytes += memoryChunkBytes.length;
+            memoryChunk.setLength(0);
+        } catch (IOException e) {
+            // this happens when the temporary directory is not writable, the log is kept in memory instead
+            // the log cannot be reported through the ReportManager as it is the one writing to this buffer
+            isSpillingDisabled = true;
+        }
+    }
+}
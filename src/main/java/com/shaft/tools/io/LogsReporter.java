@@ -1,7 +1,11 @@
 package com.shaft.tools.io;
 
+import com.shaft.api.RestActions;
 import com.shaft.cli.FileActions;
+import com.shaft.db.DatabaseActions;
 import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.element.WaitStatistics;
+import com.shaft.gui.image.ScreenshotManager;
 import org.testng.annotations.AfterSuite;
 
 import java.text.SimpleDateFormat;
@@ -12,7 +16,11 @@ public class LogsReporter {
     @AfterSuite
     public void closureActivities() {
         initializeClosureActivities();
+        waitForPendingAttachments();
         attachBrowserLogs();
+        closeDatabaseConnections();
+        closeApiConnections();
+        logWaitStatistics();
         attachFullLogs();
         attachCucumberReport();
     }
@@ -31,12 +39,30 @@ public class LogsReporter {
         }
     }
 
+    private void closeDatabaseConnections() {
+        DatabaseActions.closeAllConnections();
+    }
+
+    private void closeApiConnections() {
+        RestActions.closeAllConnections();
+    }
+
+    private void logWaitStatistics() {
+        WaitStatistics.logSummary();
+    }
+
     private void attachCucumberReport() {
         if (FileActions.doesFileExist("allure-results/cucumberReport.html")) {
             ReportManager.attach("HTML", "Cucumber Execution Report", FileActions.readFromFile("allure-results/cucumberReport.html"));
         }
     }
 
+    private void waitForPendingAttachments() {
+        // screenshots are processed in the background, and must all be written before the report is generated
+        ScreenshotManager.waitForAllScreenshotProcessing();
+        ReportManager.waitForAsynchronousAttachments();
+    }
+
     private void initializeClosureActivities() {
         ReportManager.logClosureActivitiesInitialization();
     }
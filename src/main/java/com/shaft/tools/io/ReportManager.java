@@ -3,18 +3,28 @@ package com.shaft.tools.io;
 import com.shaft.api.RestActions;
 import com.shaft.cli.FileActions;
 import com.shaft.cli.TerminalActions;
+import com.shaft.tools.support.StackHelpers;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.Step;
 import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Reporter;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("unused")
@@ -29,8 +39,8 @@ public class ReportManager {
     private static final String OS_WINDOWS = "Windows-64";
     private static final String allureExtractionLocation = System.getProperty("user.home") + File.separator + ".m2"
             + File.separator + "repository" + File.separator + "allure" + File.separator;
-    private static String fullLog = "";
-    private static String issuesLog = "";
+    private static final LogBuffer fullLog = new LogBuffer("SHAFT_Engine_Execution_Log");
+    private static final LogBuffer issuesLog = new LogBuffer("SHAFT_Engine_Issues_Log");
     private static int issueCounter = 1;
     private static boolean discreteLogging = false;
     private static int totalNumberOfTests = 0;
@@ -47,6 +57,7 @@ public class ReportManager {
     private static List<List<String>> listOfOpenIssuesForPassedTests = new ArrayList<>();
     private static List<List<String>> listOfNewIssuesForFailedTests = new ArrayList<>();
     private static String featureName = "";
+    private static final Set<CompletableFuture<Void>> pendingAttachments = ConcurrentHashMap.newKeySet();
 
     private ReportManager() {
         throw new IllegalStateException("Utility class");
@@ -76,11 +87,11 @@ public class ReportManager {
         ReportManager.listOfNewIssuesForFailedTests = listOfNewIssuesForFailedTests;
     }
 
-    public static void logIssue(String issue) {
-        if (issuesLog.trim().equals("")) {
-            issuesLog += issueCounter + ", " + issue.trim();
+    public static synchronized void logIssue(String issue) {
+        if (issuesLog.isBlank()) {
+            issuesLog.append(issueCounter + ", " + issue.trim());
         } else {
-            issuesLog += System.lineSeparator() + issueCounter + ", " + issue.trim();
+            issuesLog.append(System.lineSeparator() + issueCounter + ", " + issue.trim());
         }
         issueCounter++;
     }
@@ -115,7 +126,7 @@ public class ReportManager {
             });
         }
 
-        if (!issuesLog.trim().equals("")) {
+        if (!issuesLog.isBlank()) {
             return "Issue Summary: Total Issues = " + (issueCounter - 1) + ", New issues for Failed Tests = "
                     + failedTestsWithoutOpenIssuesCounter + ", Open issues for Passed Tests = "
                     + openIssuesForPassedTestsCounter + ", Open issues for Failed Tests = "
@@ -232,6 +243,9 @@ public class ReportManager {
                         if (attachment.get(2) instanceof String) {
                             attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                     new ByteArrayInputStream(attachment.get(2).toString().getBytes()));
+                        } else if (attachment.get(2) instanceof CompletableFuture) {
+                            createAsynchronousAttachment(attachment.get(0).toString(), attachment.get(1).toString(),
+                                    (CompletableFuture<?>) attachment.get(2));
                         } else {
                             attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                     (InputStream) attachment.get(2));
@@ -313,7 +327,6 @@ public class ReportManager {
      */
     public static void attachTestLog(String currentMethodName, String testLog) {
         appendToFullLog(testLog);
-        appendToFullLog(System.lineSeparator());
         if (!testLog.isBlank()) {
             createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Current Method log: " + currentMethodName,
                     new ByteArrayInputStream(testLog.getBytes()));
@@ -321,7 +334,7 @@ public class ReportManager {
     }
 
     public static void attachFullLog(String executionEndTimestamp) {
-        if (!fullLog.trim().equals("")) {
+        if (!fullLog.isBlank()) {
             String fullLogCreated = "Successfully created attachment [" + SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - "
                     + "Execution log" + "]";
             createReportEntry(fullLogCreated, true);
@@ -329,18 +342,35 @@ public class ReportManager {
                     + System.getProperty(SHAFT_ENGINE_VERSION_PROPERTY_NAME) + "]" + System.lineSeparator()
                     + "SHAFT Engine is licensed under the MIT License: [https://github.com/MohabMohie/SHAFT_ENGINE/blob/master/LICENSE].";
             createImportantReportEntry(copyrights, true);
-            createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Execution log: " + executionEndTimestamp,
-                    new ByteArrayInputStream(fullLog.trim().getBytes()));
+            attachLogBuffer(fullLog, "Execution log: " + executionEndTimestamp);
         }
     }
 
     public static void attachIssuesLog(String executionEndTimestamp) {
         String issueSummary = prepareIssuesLog();
-        if (!issuesLog.trim().equals("")) {
-            log(issueSummary,
-                    Collections.singletonList(
-                            Arrays.asList(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Issues log CSV: " + executionEndTimestamp,
-                                    new ByteArrayInputStream(issuesLog.trim().getBytes()))));
+        if (!issuesLog.isBlank()) {
+            log(issueSummary);
+            String attachmentName = "Issues log CSV: " + executionEndTimestamp;
+            attachLogBuffer(issuesLog, attachmentName);
+            createReportEntry("Successfully created attachment [" + SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - "
+                    + attachmentName + "]", false);
+        }
+    }
+
+    /**
+     * Streams the content of a log buffer directly to the report, instead of
+     * copying it into memory first, and closes the stream, which may be reading
+     * the spilled part of the log from disk
+     *
+     * @param logBuffer      the log that will be attached
+     * @param attachmentName the name of this attachment
+     */
+    private static void attachLogBuffer(LogBuffer logBuffer, String attachmentName) {
+        try (InputStream logContent = logBuffer.openInputStream()) {
+            attachBasedOnFileType(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, attachmentName, logContent,
+                    "Attachment: " + SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - " + attachmentName);
+        } catch (IOException e) {
+            slf4jLogger.info("Error while creating Attachment", e);
         }
     }
 
@@ -371,20 +401,20 @@ public class ReportManager {
         }
     }
 
-    public static String getCallingMethodFullName() {
-        StackTraceElement[] callingStack = Thread.currentThread().getStackTrace();
-        StringBuilder callingMethodFullName = new StringBuilder();
-        for (int i = 1; i < callingStack.length; i++) {
-            if (!callingStack[i].getClassName().contains("com.shaft")) {
-                callingMethodFullName.append(callingStack[i].getClassName());
-                if (!callingStack[i].getMethodName().isEmpty()) {
-                    callingMethodFullName.append(".");
-                    callingMethodFullName.append(callingStack[i].getMethodName());
-                }
-                break;
-            }
+    /**
+     * Blocks until the content of all the attachments that are still being
+     * prepared in the background is written to the execution report.
+     */
+    public static void waitForAsynchronousAttachments() {
+        try {
+            CompletableFuture.allOf(pendingAttachments.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException | CancellationException e) {
+            logDiscrete(e);
         }
-        return callingMethodFullName.toString();
+    }
+
+    public static String getCallingMethodFullName() {
+        return StackHelpers.getFirstExternalMethodFullName();
     }
 
     public static String getTestClassName() {
@@ -450,12 +480,13 @@ public class ReportManager {
     }
 
     /**
-     * Appends a log entry to the complete log of the current execution session.
+     * Appends a log entry, followed by a line separator, to the complete log of
+     * the current execution session.
      *
      * @param log the log entry that needs to be appended to the full log
      */
     private static void appendToFullLog(String log) {
-        fullLog += log;
+        fullLog.appendLine(log);
     }
 
     private static void createReportEntry(String logText, Boolean addToFullLog) {
@@ -467,7 +498,6 @@ public class ReportManager {
         Reporter.log(log, true);
         if (addToFullLog) {
             appendToFullLog(log);
-            appendToFullLog(System.lineSeparator());
         }
     }
 
@@ -482,7 +512,6 @@ public class ReportManager {
         Reporter.log(log, true);
         if (Boolean.TRUE.equals(addToFullLog)) {
             appendToFullLog(log);
-            appendToFullLog(System.lineSeparator());
         }
         setDiscreteLogging(initialLoggingStatus);
     }
@@ -512,6 +541,9 @@ public class ReportManager {
                 } else if (attachment != null) {
                     if (attachment.get(2) instanceof byte[]) {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), new ByteArrayInputStream((byte[]) attachment.get(2)));
+                    } else if (attachment.get(2) instanceof CompletableFuture) {
+                        createAsynchronousAttachment(attachment.get(0).toString(), attachment.get(1).toString(),
+                                (CompletableFuture<?>) attachment.get(2));
                     } else {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), (InputStream) attachment.get(2));
                     }
@@ -567,9 +599,80 @@ public class ReportManager {
         }
     }
 
+    /**
+     * Links the attachment to the current step right away, and writes its
+     * content once it is ready. Used for attachments that are processed in the
+     * background, like screenshots. If the content fails or is empty, the link
+     * points to a placeholder image instead, and the cause is logged.
+     *
+     * @param attachmentType    the type of this attachment
+     * @param attachmentName    the name of this attachment
+     * @param attachmentContent the pending content of this attachment, expected
+     *                          to complete with a byte array
+     */
+    private static void createAsynchronousAttachment(String attachmentType, String attachmentName,
+                                                     CompletableFuture<?> attachmentContent) {
+        String attachmentDescription = "Attachment: " + attachmentType + " - " + attachmentName;
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String attachmentSource;
+        String imageFormat;
+        if (attachmentType.toLowerCase().contains("gif")) {
+            imageFormat = "gif";
+            attachmentSource = lifecycle.prepareAttachment(attachmentDescription, "image/gif", ".gif");
+        } else if (attachmentType.toLowerCase().contains("jpeg")) {
+            imageFormat = "jpg";
+            attachmentSource = lifecycle.prepareAttachment(attachmentDescription, "image/jpeg", ".jpg");
+        } else {
+            imageFormat = "png";
+            attachmentSource = lifecycle.prepareAttachment(attachmentDescription, "image/png", ".png");
+        }
+
+        CompletableFuture<Void> attachmentWriter = attachmentContent.handle((content, throwable) -> {
+            if (throwable == null && content instanceof byte[] && ((byte[]) content).length > 0) {
+                lifecycle.writeAttachment(attachmentSource, new ByteArrayInputStream((byte[]) content));
+                createReportEntry("Successfully created attachment [" + attachmentType + " - " + attachmentName + "]",
+                        false);
+            } else {
+                // the link was already added to the report, so it points to a placeholder instead of a missing file
+                lifecycle.writeAttachment(attachmentSource, new ByteArrayInputStream(createPlaceholderImage(imageFormat)));
+                String failure = "Failed to create attachment [" + attachmentType + " - " + attachmentName + "]";
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    slf4jLogger.info(failure, cause);
+                    createReportEntry(failure + ": " + cause, true);
+                } else {
+                    createReportEntry(failure + ": it has no content.", true);
+                }
+            }
+            return null;
+        });
+        pendingAttachments.add(attachmentWriter);
+        attachmentWriter.whenComplete((result, throwable) -> pendingAttachments.remove(attachmentWriter));
+    }
+
+    private static byte[] createPlaceholderImage(String imageFormat) {
+        BufferedImage placeholder = new BufferedImage(320, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = placeholder.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, placeholder.getWidth(), placeholder.getHeight());
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.drawString("This attachment could not be created.", 10, 25);
+        graphics.dispose();
+        ByteArrayOutputStream placeholderContent = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(placeholder, imageFormat, placeholderContent);
+        } catch (IOException e) {
+            slf4jLogger.info("Failed to create a placeholder image", e);
+        }
+        return placeholderContent.toByteArray();
+    }
+
     private static synchronized void attachBasedOnFileType(String attachmentType, String attachmentName,
                                                            InputStream attachmentContent, String attachmentDescription) {
-        if (attachmentType.toLowerCase().contains("screenshot")) {
+        if (attachmentType.toLowerCase().contains("jpeg")) {
+            Allure.addAttachment(attachmentDescription, "image/jpeg", attachmentContent, ".jpg");
+        } else if (attachmentType.toLowerCase().contains("screenshot")) {
             Allure.addAttachment(attachmentDescription, "image/png", attachmentContent, ".png");
         } else if (attachmentType.toLowerCase().contains("recording")) {
             Allure.addAttachment(attachmentDescription, "video/mp4", attachmentContent, ".mp4");
@@ -691,9 +794,7 @@ public class ReportManager {
     }
 
     private static Boolean isInternalStep() {
-        String callingMethodName = (new Throwable()).getStackTrace()[2].toString();
-
-        return callingMethodName.contains("com.shaft");
+        return StackHelpers.getCallingClassName(2).contains("com.shaft");
     }
 
     /**
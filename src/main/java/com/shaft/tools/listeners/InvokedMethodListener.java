@@ -84,6 +84,7 @@ public class InvokedMethodListener implements IInvokedMethodListener {
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
         if (!method.getTestMethod().getQualifiedName().contains("closureActivities")) {
             RecordManager.attachVideoRecording();
+            ScreenshotManager.waitForScreenshotProcessing();
             ScreenshotManager.attachAnimatedGif();
             // configuration method attachment is not added to the report (Allure ->
             // threadContext.getCurrent(); -> empty)
@@ -285,6 +285,166 @@ public enum JSHelpers {
             }"""),
     ELEMENT_SCROLL_TO_VIEWPORT(
             "(function(){'use strict';var api;api=function(x,y){var elm,scrollX,scrollY,newX,newY;scrollX=window.pageXOffset;scrollY=window.pageYOffset;window.scrollTo(x,y);newX=x-window.pageXOffset;newY=y-window.pageYOffset;elm=this.elementFromPoint(newX,newY);window.scrollTo(scrollX,scrollY);return elm;};this.document.elementFromAbsolutePoint=api;}).call(this);return document.elementFromAbsolutePoint(arguments[0], arguments[1]);"),
+    ELEMENT_PROBE("""
+            /** find all the elements matching a locator, and describe the first one in a single round-trip
+             **/
+            var strategy = arguments[0];
+            var selector = arguments[1];
+            var elements = [];
+            try {
+                if (strategy === 'xpath') {
+                    var snapshot = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    for (var i = 0; i < snapshot.snapshotLength; i++) {
+                        var node = snapshot.snapshotItem(i);
+                        if (node.nodeType !== Node.ELEMENT_NODE) {
+                            return null;
+                        }
+                        elements.push(node);
+                    }
+                } else {
+                    if (strategy === 'id') {
+                        selector = '#' + CSS.escape(selector);
+                    } else if (strategy === 'name') {
+                        selector = '*[name="' + selector.replace(/(["\\\\])/g, '\\\\$1') + '"]';
+                    } else if (strategy === 'className') {
+                        selector = '.' + CSS.escape(selector);
+                    }
+                    elements = document.querySelectorAll(selector);
+                }
+            } catch (err) {
+                return null;
+            }
+            if (elements.length === 0) {
+                return {count: 0};
+            }
+            var element = elements[0];
+            var rect = element.getBoundingClientRect();
+            var style = window.getComputedStyle(element);
+            var viewportWidth = window.innerWidth || document.documentElement.clientWidth;
+            var viewportHeight = window.innerHeight || document.documentElement.clientHeight;
+            return {
+                count: elements.length,
+                element: element,
+                displayed: rect.width > 0 && rect.height > 0 && style.display !== 'none'
+                    && style.visibility !== 'hidden' && style.opacity !== '0',
+                enabled: !element.disabled,
+                inViewport: rect.top >= 0 && rect.left >= 0 && rect.bottom <= viewportHeight && rect.right <= viewportWidth,
+                x: rect.left + window.pageXOffset,
+                y: rect.top + window.pageYOffset,
+                width: rect.width,
+                height: rect.height,
+                text: element.innerText === undefined ? '' : element.innerText,
+                textContent: element.textContent === null ? '' : element.textContent,
+                value: element.value === undefined || element.value === null ? element.getAttribute('value') : String(element.value)
+            };"""),
+    ELEMENT_WAIT_FOR_MATCH("""
+            /** wait until a locator matches at least one element, then probe it; $PROBE is replaced by the ELEMENT_PROBE script
+             **/
+            var strategy = arguments[0];
+            var selector = arguments[1];
+            var timeout = arguments[2];
+            var callback = arguments[arguments.length - 1];
+            var probe = function () {
+                $PROBE
+            };
+            var result = probe(strategy, selector);
+            if (result === null || result.count > 0) {
+                callback(result);
+                return;
+            }
+            var done = false;
+            var finish = function (finalResult) {
+                if (!done) {
+                    done = true;
+                    observer.disconnect();
+                    clearTimeout(timer);
+                    callback(finalResult);
+                }
+            };
+            var observer = new MutationObserver(function () {
+                var currentResult = probe(strategy, selector);
+                if (currentResult === null || currentResult.count > 0) {
+                    finish(currentResult);
+                }
+            });
+            observer.observe(document, {childList: true, subtree: true, attributes: true});
+            var timer = setTimeout(function () {
+                finish(probe(strategy, selector));
+            }, timeout);"""),
+    PAGE_WAIT_FOR_IDLE("""
+            /** install an idle tracker that counts pending XHR and fetch requests and records the latest DOM mutation,
+             ** then wait until the page is idle; the tracker stays installed until the page is unloaded
+             **/
+            var quietPeriod = arguments[0];
+            var timeout = arguments[1];
+            var maximumMutationWait = arguments[2];
+            var callback = arguments[arguments.length - 1];
+            var start = Date.now();
+            var tracker = window.__shaftIdleTracker;
+            var isInstalled = !tracker;
+            if (isInstalled) {
+                /** nothing is known about the page before the tracker is installed, so it must stay quiet for a full
+                 ** quiet period after that, and the requests that were already pending are checked by the caller
+                 **/
+                tracker = window.__shaftIdleTracker = {pendingRequests: 0, lastMutation: start};
+                var requestFinished = function () {
+                    tracker.pendingRequests = Math.max(0, tracker.pendingRequests - 1);
+                };
+                var originalSend = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                    tracker.pendingRequests++;
+                    this.addEventListener('loadend', requestFinished);
+                    return originalSend.apply(this, arguments);
+                };
+                if (window.fetch) {
+                    var originalFetch = window.fetch;
+                    window.fetch = function () {
+                        tracker.pendingRequests++;
+                        var request = originalFetch.apply(this, arguments);
+                        request.then(requestFinished, requestFinished);
+                        return request;
+                    };
+                }
+                /** attribute changes, for example the style changes of an animation, don't add or change any content
+                 ** that could be interacted with, so they aren't waited for
+                 **/
+                new MutationObserver(function () {
+                    tracker.lastMutation = Date.now();
+                }).observe(document, {childList: true, subtree: true, characterData: true});
+            }
+            /** pages that never stop mutating, for example because of an animation, are only waited for up to a limit
+             **/
+            var mutationsDeadline = start + Math.max(quietPeriod, maximumMutationWait);
+            var isIdle = function () {
+                var now = Date.now();
+                if (document.readyState !== 'complete' || tracker.pendingRequests > 0) {
+                    return false;
+                }
+                if (window.jQuery && window.jQuery.active > 0) {
+                    return false;
+                }
+                try {
+                    if (window.angular && window.angular.element(document).injector()
+                            && window.angular.element(document).injector().get('$http').pendingRequests.length > 0) {
+                        return false;
+                    }
+                } catch (err) {}
+                return now - tracker.lastMutation >= quietPeriod || now >= mutationsDeadline;
+            };
+            var check = function () {
+                if (isIdle()) {
+                    callback({idle: true, installed: isInstalled, waited: Date.now() - start});
+                } else if (Date.now() - start >= timeout) {
+                    callback({idle: false, installed: isInstalled, waited: Date.now() - start});
+                } else if (document.visibilityState === 'visible' && window.requestAnimationFrame) {
+                    /** checking once per animation frame also waits for pending frames to be rendered
+                     **/
+                    window.requestAnimationFrame(check);
+                } else {
+                    setTimeout(check, 10);
+                }
+            };
+            check();"""),
     WINDOW_FOCUS("window.focus();"), WINDOW_RESET_LOCATION("window.moveTo(0,0);"),
     WINDOW_RESIZE("window.resizeTo($WIDTH,$HEIGHT);"), NAVIGATION_STOP("return window.stop;"),
     DOCUMENT_READYSTATE("return document.readyState");
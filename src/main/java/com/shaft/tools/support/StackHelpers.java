@@ -0,0 +1,58 @@
+package com.shaft.tools.support;
+
+public class StackHelpers {
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String SHAFT_ENGINE_PACKAGE = "com.shaft";
+
+    private StackHelpers() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the name of the method at the given depth of the calling stack,
+     * relative to the method that invokes this helper. A depth of 1 is the
+     * direct caller of that method, which is the action name in most cases.
+     * <p>
+     * Unlike Thread.currentThread().getStackTrace(), only the requested frames
+     * are walked, and the rest of the stack is never materialized.
+     *
+     * @param depth the number of frames to skip above the invoking method
+     * @return the method name, or an empty string if the stack is not that deep
+     */
+    public static String getCallingMethodName(int depth) {
+        return STACK_WALKER.walk(frames -> frames.skip(depth + 1L).findFirst())
+                .map(StackWalker.StackFrame::getMethodName)
+                .orElse("");
+    }
+
+    /**
+     * Returns the fully qualified name of the class at the given depth of the
+     * calling stack, relative to the method that invokes this helper. A depth of
+     * 1 is the class of the direct caller of that method.
+     *
+     * @param depth the number of frames to skip above the invoking method
+     * @return the class name, or an empty string if the stack is not that deep
+     */
+    public static String getCallingClassName(int depth) {
+        return STACK_WALKER.walk(frames -> frames.skip(depth + 1L).findFirst())
+                .map(StackWalker.StackFrame::getClassName)
+                .orElse("");
+    }
+
+    /**
+     * Returns the full name (class name and method name) of the first method in
+     * the calling stack that is not part of SHAFT_Engine, which is the test
+     * method or page object method that triggered the current action.
+     *
+     * @return the full name of the first external method, or an empty string if
+     * the whole stack belongs to SHAFT_Engine
+     */
+    public static String getFirstExternalMethodFullName() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().contains(SHAFT_ENGINE_PACKAGE))
+                .findFirst())
+                .map(frame -> frame.getMethodName().isEmpty() ? frame.getClassName()
+                        : frame.getClassName() + "." + frame.getMethodName())
+                .orElse("");
+    }
+}
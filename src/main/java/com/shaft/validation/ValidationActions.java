@@ -8,6 +8,7 @@ import com.shaft.gui.image.ImageProcessingActions;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.support.JavaActions;
+import com.shaft.tools.support.StackHelpers;
 import io.restassured.response.Response;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -478,11 +479,11 @@ class ValidationActions {
         }
 
         // get validation method name
-        String validationMethodName = (new Throwable()).getStackTrace()[2].getMethodName();
-        String callingAssertionOrVerificationMethodName = (new Throwable()).getStackTrace()[3].getMethodName();
+        String validationMethodName = StackHelpers.getCallingMethodName(2);
+        String callingAssertionOrVerificationMethodName = StackHelpers.getCallingMethodName(3);
 
         if (validationMethodName.contains("reportValidationResult")) {
-            callingAssertionOrVerificationMethodName = (new Throwable()).getStackTrace()[4].getMethodName();
+            callingAssertionOrVerificationMethodName = StackHelpers.getCallingMethodName(4);
         }
         validationMethodName = callingAssertionOrVerificationMethodName;
 
@@ -528,10 +529,10 @@ class ValidationActions {
         // create a screenshot attachment if needed
         if (expectedValue != null && expectedValue.toLowerCase().contains("locator")) {
             if (lastUsedDriver != null && lastUsedElementLocator != null) {
-                attachments.add(ScreenshotManager.captureScreenShot(lastUsedDriver, lastUsedElementLocator,
+                attachments.add(ScreenshotManager.captureValidationScreenShot(lastUsedDriver, lastUsedElementLocator,
                         validationMethodName, validationState.getValue()));
             } else if (lastUsedDriver != null) {
-                attachments.add(ScreenshotManager.captureScreenShot(lastUsedDriver, validationMethodName,
+                attachments.add(ScreenshotManager.captureValidationScreenShot(lastUsedDriver, validationMethodName,
                         validationState.getValue()));
             }
             // reset lastUsed variables
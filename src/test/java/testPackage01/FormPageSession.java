@@ -0,0 +1,112 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementCache;
+import com.shaft.gui.element.JavaScriptWaitManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local page with a text box, and a button that copies its text to a result
+ * paragraph, opened in a headless Chrome session that counts every command it
+ * sends to the browser as a round-trip. Each command can also be delayed, to
+ * simulate the latency of a remote grid.
+ */
+class FormPageSession {
+    static final By TEXT_BOX = By.id("name");
+    static final By BUTTON = By.id("submit");
+    static final By RESULT = By.id("result");
+    private final AtomicLong roundTripsCount = new AtomicLong();
+    private final ChromeDriverService service;
+    private final WebDriver driver;
+    private final String pageUrl;
+    private volatile long simulatedLatencyMillis = 0;
+
+    private FormPageSession(String folderName) throws IOException {
+        Path page = Files.createDirectories(Paths.get("target", folderName)).resolve("page.html");
+        Files.writeString(page, "<html><body>"
+                + "<input id='name' type='text'>"
+                + "<button id='submit' onclick=\"document.getElementById('result').innerText = document.getElementById('name').value\">Submit</button>"
+                + "<p id='result'>-</p>"
+                + "</body></html>");
+        pageUrl = page.toUri().toString();
+
+        WebDriverManager.chromedriver().setup();
+        service = ChromeDriverService.createDefaultService();
+        service.start();
+        HttpCommandExecutor executor = new HttpCommandExecutor(service.getUrl());
+        driver = new RemoteWebDriver(command -> {
+            if (!DriverCommand.NEW_SESSION.equals(command.getName())) {
+                roundTripsCount.incrementAndGet();
+                sleep(simulatedLatencyMillis);
+            }
+            return executor.execute(command);
+        }, new ChromeOptions().setHeadless(true));
+        JavaScriptWaitManager.setDriver(driver);
+    }
+
+    /**
+     * Writes the page under the target folder, and starts a session that can
+     * open it
+     *
+     * @param folderName the folder of the page, under the target folder
+     * @return the started session, which must be quit after the test class
+     * @throws IOException if the page could not be written
+     */
+    static FormPageSession start(String folderName) throws IOException {
+        return new FormPageSession(folderName);
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Opens the page, and drops the elements that were cached on the previous
+     * one
+     */
+    void openPage() {
+        driver.get(pageUrl);
+        ElementCache.invalidate(driver);
+    }
+
+    long getRoundTripsCount() {
+        return roundTripsCount.get();
+    }
+
+    long getSimulatedLatencyMillis() {
+        return simulatedLatencyMillis;
+    }
+
+    void setSimulatedLatencyMillis(long simulatedLatencyMillis) {
+        this.simulatedLatencyMillis = simulatedLatencyMillis;
+    }
+
+    void quit() {
+        ElementCache.invalidate(driver);
+        driver.quit();
+        service.stop();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package testPackage01;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local http server that answers every request of the API tests, so that
+ * they don't depend on the network or on a public service. Every request is
+ * answered after a fixed latency, by the responder of the test.
+ */
+class StubServer {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private StubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a stub server on a free local port
+     *
+     * @param latencyMillis the time that every request waits before it is
+     *                      answered, or 0 to answer right away
+     * @param responder     creates the response of every request
+     * @return the started server, which must be stopped after the test class
+     * @throws IOException if the server could not be started
+     */
+    static StubServer start(int latencyMillis, Responder responder) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StubResponse response = responder.respond(exchange);
+            if (response.contentType != null) {
+                exchange.getResponseHeaders().add("Content-Type", response.contentType);
+            }
+            exchange.sendResponseHeaders(response.statusCode, response.body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(response.body);
+            }
+        });
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        return new StubServer(server, executor);
+    }
+
+    /**
+     * @return the base URI of this server, ending with a slash
+     */
+    String getServiceURI() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface Responder {
+        StubResponse respond(HttpExchange exchange);
+    }
+
+    static class StubResponse {
+        private final int statusCode;
+        private final String contentType;
+        private final byte[] body;
+
+        StubResponse(int statusCode, String contentType, byte[] body) {
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static StubResponse ok(String body) {
+            return new StubResponse(200, null, body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static StubResponse ok(String contentType, byte[] body) {
+            return new StubResponse(200, contentType, body);
+        }
+    }
+}
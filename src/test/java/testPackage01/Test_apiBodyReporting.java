@@ -0,0 +1,148 @@
+package testPackage01;
+
+import com.shaft.api.RestActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.ExecutableItem;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Test_apiBodyReporting {
+    private static final int BODY_ITEMS = 50_000;
+    private static final String RESPONSE_ATTACHMENT = "Attachment: API Response - ";
+    private static final String SMALL_BODY = "{\"id\":1,\"name\":\"small item\",\"tags\":[\"first\",\"second\"]}";
+    private static final List<String> REPORTING_PROPERTIES = List.of("apiBodyFormattingOnFailureOnly",
+            "apiBodyPrettyPrintingThresholdInKilobytes", "apiBodyReportingMaximumSizeInKilobytes");
+    private final Map<String, String> initialProperties = new HashMap<>();
+    private boolean initialDiscreteLogging;
+    private StubServer stubServer;
+    private String serviceURI;
+    private String largeBody;
+
+    @Test(description = "Cap the attachment of a multi megabyte response, and report it as it is")
+    public void reportLargeResponseBody() throws IOException {
+        setReportingProperties("true", "256", "1024");
+        RestActions.buildNewRequest(serviceURI, "items", RestActions.RequestType.GET).performRequest();
+
+        String reportedBody = getLastResponseAttachment("JSON Body");
+        int maximumSize = 1024 * 1024;
+        String truncationMarker = "\n\n[Truncated: showing the first " + maximumSize + " of "
+                + largeBody.getBytes(StandardCharsets.UTF_8).length + " bytes]";
+        Assertions.assertEquals(largeBody.substring(0, maximumSize) + truncationMarker, reportedBody);
+    }
+
+    @Test(description = "Report the whole response when there is no size cap, without pretty printing it above the threshold")
+    public void reportLargeResponseBodyAbovePrettyPrintingThreshold() throws IOException {
+        setReportingProperties("false", "256", "0");
+        RestActions.buildNewRequest(serviceURI, "items", RestActions.RequestType.GET).performRequest();
+
+        Assertions.assertEquals(largeBody, getLastResponseAttachment("JSON Body"));
+    }
+
+    @Test(description = "Pretty print a small response only when formatting is enabled for passed steps")
+    public void reportSmallResponseBodyBelowPrettyPrintingThreshold() throws IOException {
+        setReportingProperties("true", "256", "1024");
+        RestActions.buildNewRequest(serviceURI, "small", RestActions.RequestType.GET).performRequest();
+        Assertions.assertEquals(SMALL_BODY, getLastResponseAttachment("JSON Body"));
+
+        setReportingProperties("false", "256", "1024");
+        RestActions.buildNewRequest(serviceURI, "small", RestActions.RequestType.GET).performRequest();
+        String reportedBody = getLastResponseAttachment("JSON Body");
+        Assertions.assertTrue(reportedBody.contains("\n  \"id\": 1"));
+        Assertions.assertTrue(!reportedBody.contains("[Truncated:"));
+    }
+
+    @Test(description = "Pretty print the response of a failed step, even when passed steps are reported as they are")
+    public void reportFailedResponseBody() throws IOException {
+        setReportingProperties("true", "256", "1024");
+        boolean isFailed = false;
+        try {
+            RestActions.buildNewRequest(serviceURI, "small", RestActions.RequestType.GET).setTargetStatusCode(201).performRequest();
+        } catch (AssertionError e) {
+            isFailed = true;
+        }
+        Assertions.assertTrue(isFailed);
+        Assertions.assertTrue(getLastResponseAttachment("JSON Body").contains("\n  \"name\": \"small item\""));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        StringBuilder items = new StringBuilder("[");
+        for (int i = 0; i < BODY_ITEMS; i++) {
+            items.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item ").append(i)
+                    .append("\",\"tags\":[\"first\",\"second\"]}");
+        }
+        largeBody = items.append("]").toString();
+        byte[] largeBodyBytes = largeBody.getBytes(StandardCharsets.UTF_8);
+        byte[] smallBodyBytes = SMALL_BODY.getBytes(StandardCharsets.UTF_8);
+
+        stubServer = StubServer.start(0, exchange -> StubServer.StubResponse.ok("application/json",
+                exchange.getRequestURI().getPath().endsWith("small") ? smallBodyBytes : largeBodyBytes));
+        serviceURI = stubServer.getServiceURI();
+
+        REPORTING_PROPERTIES.forEach(property -> initialProperties.put(property, System.getProperty(property)));
+        // discrete steps are logged without attachments
+        initialDiscreteLogging = ReportManager.isDiscreteLogging();
+        ReportManager.setDiscreteLogging(false);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        initialProperties.forEach((property, value) -> {
+            if (value == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, value);
+            }
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        stubServer.stop();
+        ReportManager.setDiscreteLogging(initialDiscreteLogging);
+    }
+
+    private void setReportingProperties(String formattingOnFailureOnly, String prettyPrintingThresholdInKilobytes,
+                                        String maximumSizeInKilobytes) {
+        System.setProperty("apiBodyFormattingOnFailureOnly", formattingOnFailureOnly);
+        System.setProperty("apiBodyPrettyPrintingThresholdInKilobytes", prettyPrintingThresholdInKilobytes);
+        System.setProperty("apiBodyReportingMaximumSizeInKilobytes", maximumSizeInKilobytes);
+    }
+
+    /**
+     * Finds the last response body that was attached to the current test, checks
+     * its name, and reads its content from the allure results directory
+     */
+    private String getLastResponseAttachment(String expectedBodyName) throws IOException {
+        List<Attachment> attachments = new ArrayList<>();
+        Allure.getLifecycle().updateTestCase(testResult -> collectResponseAttachments(testResult, attachments));
+        Assertions.assertTrue(!attachments.isEmpty());
+        Attachment attachment = attachments.get(attachments.size() - 1);
+        Assertions.assertEquals(RESPONSE_ATTACHMENT + expectedBodyName, attachment.getName());
+        return new String(Files.readAllBytes(Paths.get(System.getProperty("allure.results.directory", "allure-results"),
+                attachment.getSource())), StandardCharsets.UTF_8);
+    }
+
+    private void collectResponseAttachments(ExecutableItem item, List<Attachment> attachments) {
+        item.getAttachments().stream()
+                .filter(attachment -> attachment.getName().startsWith(RESPONSE_ATTACHMENT))
+                .forEach(attachments::add);
+        for (ExecutableItem step : item.getSteps()) {
+            collectResponseAttachments(step, attachments);
+        }
+    }
+}
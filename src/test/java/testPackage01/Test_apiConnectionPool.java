@@ -0,0 +1,67 @@
+package testPackage01;
+
+import com.shaft.api.RestActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Test_apiConnectionPool {
+    private static final int REQUESTS = 200;
+    private final Set<String> clientSockets = ConcurrentHashMap.newKeySet();
+    private StubServer stubServer;
+    private String serviceURI;
+
+    @Test(description = "Compare the throughput and the number of opened sockets with and without the connection pool")
+    public void sendRequestsWithAndWithoutPool() {
+        System.setProperty("apiConnectionPoolSize", "0");
+        int socketsWithoutPool = benchmarkRequests();
+        System.setProperty("apiConnectionPoolSize", "100");
+        int socketsWithPool = benchmarkRequests();
+        Assertions.assertTrue(socketsWithPool < socketsWithoutPool);
+    }
+
+    @Test(description = "Send the session headers with every request when the base specs are cached")
+    public void reuseBaseSpecsWithSessionHeaders() {
+        RestActions session = new RestActions(serviceURI).addHeaderVariable("X-Session", "first");
+        session.buildNewRequest("echo", RestActions.RequestType.GET).performRequest();
+        session.addHeaderVariable("X-Session", "second");
+        Assertions.assertEquals("second", RestActions.getResponseBody(
+                session.buildNewRequest("echo", RestActions.RequestType.GET).performRequest()));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        stubServer = StubServer.start(0, exchange -> {
+            clientSockets.add(exchange.getRemoteAddress().toString());
+            String sessionHeader = exchange.getRequestHeaders().getFirst("X-Session");
+            return StubServer.StubResponse.ok(sessionHeader == null ? "{}" : sessionHeader);
+        });
+        serviceURI = stubServer.getServiceURI();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        stubServer.stop();
+        RestActions.closeAllConnections();
+        System.clearProperty("apiConnectionPoolSize");
+    }
+
+    private int benchmarkRequests() {
+        clientSockets.clear();
+        RestActions session = new RestActions(serviceURI);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            session.buildNewRequest("stub", RestActions.RequestType.GET).performRequest();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
+        ReportManager.log("API connection pool size [" + System.getProperty("apiConnectionPoolSize") + "]: ["
+                + REQUESTS * 1000 / elapsedMillis + "] requests per second, using [" + clientSockets.size() + "] sockets.");
+        return clientSockets.size();
+    }
+}
@@ -0,0 +1,66 @@
+package testPackage01;
+
+import com.shaft.api.LoadTestResults;
+import com.shaft.api.RestActions;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+public class Test_apiLoadTest {
+    private static final int SERVER_LATENCY_MILLIS = 10;
+    private StubServer stubServer;
+    private String serviceURI;
+
+    @Test(description = "Send requests to a local stub server at a constant rate and report the latency percentiles")
+    public void constantRate() {
+        LoadTestResults results = RestActions.buildNewLoadTest("Constant rate",
+                RestActions.buildNewRequest(serviceURI, "ok", RestActions.RequestType.GET))
+                .setConstantRate(100)
+                .setDuration(Duration.ofSeconds(5))
+                .performLoadTest();
+        Assertions.assertTrue(results.getRequestsCount() >= 450);
+        Assertions.assertTrue(results.getErrorRate() == 0);
+        Assertions.assertTrue(results.getLatencyPercentile(50) >= SERVER_LATENCY_MILLIS);
+        Assertions.assertTrue(results.getLatencyPercentile(50) <= results.getLatencyPercentile(99.9));
+    }
+
+    @Test(description = "Ramp up the request rate and count the requests that don't return their target status code")
+    public void rampUpWithErrors() {
+        LoadTestResults results = RestActions.buildNewLoadTest("Ramp up",
+                RestActions.buildNewRequest(serviceURI, "ok", RestActions.RequestType.GET),
+                RestActions.buildNewRequest(serviceURI, "error", RestActions.RequestType.GET))
+                .setRampUp(10, 200)
+                .setDuration(Duration.ofSeconds(5))
+                .performLoadTest();
+        Assertions.assertTrue(results.getErrorRate() > 40 && results.getErrorRate() < 60);
+    }
+
+    @Test(description = "Send requests back to back from a fixed number of virtual users")
+    public void virtualUsers() {
+        LoadTestResults results = RestActions.buildNewLoadTest("Virtual users",
+                RestActions.buildNewRequest(serviceURI, "ok", RestActions.RequestType.GET))
+                .setVirtualUsers(10)
+                .setDuration(Duration.ofSeconds(5))
+                .performLoadTest();
+        // every virtual user can't send more than one request per server latency
+        Assertions.assertTrue(results.getThroughput() <= 10 * 1000.0 / SERVER_LATENCY_MILLIS);
+        Assertions.assertTrue(results.getRequestsCount() > 0);
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        stubServer = StubServer.start(SERVER_LATENCY_MILLIS, exchange -> new StubServer.StubResponse(
+                exchange.getRequestURI().getPath().endsWith("error") ? 500 : 200, null, "{}".getBytes(StandardCharsets.UTF_8)));
+        serviceURI = stubServer.getServiceURI();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        stubServer.stop();
+    }
+}
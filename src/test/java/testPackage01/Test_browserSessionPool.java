@@ -0,0 +1,102 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.browser.DriverSessionPool;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class Test_browserSessionPool {
+    private static final int TESTS = 5;
+    private static final long PREWARM_TIMEOUT_MILLIS = 60_000;
+
+    @Test(description = "Reuse the same pooled browser session for every test, and report the browser startup time per test with and without the pool")
+    public void startBrowsersWithAndWithoutPool() {
+        System.setProperty("browserSessionPoolSize", "0");
+        Set<String> sessionIdsWithoutPool = benchmarkBrowserStartup();
+        Assertions.assertEquals(TESTS, sessionIdsWithoutPool.size());
+
+        System.setProperty("browserSessionPoolSize", "1");
+        // the first session is launched on the critical path, while the spare one is launched in the background
+        WebDriver driver = BrowserFactory.getBrowser();
+        String pooledSessionId = getSessionId(driver);
+        BrowserActions.closeCurrentWindow(driver);
+        waitForIdleSessions();
+        Set<String> sessionIdsWithPool = benchmarkBrowserStartup();
+        Assertions.assertEquals(Set.of(pooledSessionId), sessionIdsWithPool);
+    }
+
+    @Test(description = "Reset the cookies and storage of every site that a pooled browser session visited before it is reused by the next test")
+    public void resetPooledSession() {
+        System.setProperty("browserSessionPoolSize", "1");
+        WebDriver driver = BrowserFactory.getBrowser();
+        String sessionId = getSessionId(driver);
+        BrowserActions.navigateToURL(driver, "https://duckduckgo.com/");
+        driver.manage().addCookie(new Cookie("pooled", "true"));
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.setItem('pooled', 'true');");
+        // the test ends on another site, so the first site's cookies and storage aren't the current page's
+        BrowserActions.navigateToURL(driver, "https://www.example.com/");
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.setItem('pooled', 'true'); window.open('about:blank');");
+        BrowserActions.closeCurrentWindow(driver);
+
+        WebDriver reusedDriver = BrowserFactory.getBrowser();
+        Assertions.assertEquals(sessionId, getSessionId(reusedDriver));
+        Assertions.assertEquals(1, reusedDriver.getWindowHandles().size());
+        Assertions.assertEquals("about:blank", reusedDriver.getCurrentUrl());
+        BrowserActions.navigateToURL(reusedDriver, "https://www.example.com/");
+        Assertions.assertNull(((JavascriptExecutor) reusedDriver).executeScript("return window.localStorage.getItem('pooled');"));
+        BrowserActions.navigateToURL(reusedDriver, "https://duckduckgo.com/");
+        Assertions.assertNull(reusedDriver.manage().getCookieNamed("pooled"));
+        Assertions.assertNull(((JavascriptExecutor) reusedDriver).executeScript("return window.localStorage.getItem('pooled');"));
+        BrowserActions.closeCurrentWindow(reusedDriver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        BrowserFactory.closeAllDrivers();
+        System.clearProperty("browserSessionPoolSize");
+    }
+
+    /**
+     * @return the ids of the browser sessions that the tests used
+     */
+    private Set<String> benchmarkBrowserStartup() {
+        Set<String> sessionIds = new HashSet<>();
+        long totalStartupNanos = 0;
+        for (int i = 0; i < TESTS; i++) {
+            long startTime = System.nanoTime();
+            WebDriver driver = BrowserFactory.getBrowser();
+            totalStartupNanos += System.nanoTime() - startTime;
+            sessionIds.add(getSessionId(driver));
+            BrowserActions.closeCurrentWindow(driver);
+        }
+        ReportManager.log("Browser session pool size [" + System.getProperty("browserSessionPoolSize")
+                + "]: the browser was ready after [" + totalStartupNanos / 1_000_000 / TESTS + "] milliseconds per test.");
+        return sessionIds;
+    }
+
+    private String getSessionId(WebDriver driver) {
+        return ((RemoteWebDriver) driver).getSessionId().toString();
+    }
+
+    private void waitForIdleSessions() {
+        long deadline = System.currentTimeMillis() + PREWARM_TIMEOUT_MILLIS;
+        while (DriverSessionPool.getIdleSessionsCount() == 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package testPackage01;
+
+import com.shaft.api.RequestBuilder;
+import com.shaft.api.RestActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class Test_concurrentApiRequests {
+    private static final int REQUESTS = 200;
+    private static final int SERVER_LATENCY_MILLIS = 20;
+    private StubServer stubServer;
+    private String serviceURI;
+
+    @Test(description = "Benchmark sequential and concurrent requests, and collect the responses in order")
+    public void performRequestsSequentiallyAndConcurrently() {
+        RestActions session = new RestActions(serviceURI);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            session.buildNewRequest("echo/" + i, RestActions.RequestType.GET).performRequest();
+        }
+        long sequentialMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        List<RequestBuilder> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(session.buildNewRequest("echo/" + i, RestActions.RequestType.GET));
+        }
+        startTime = System.nanoTime();
+        List<Response> responses = RestActions.performRequestsConcurrently(requests);
+        long concurrentMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        ReportManager.log("Performed [" + REQUESTS + "] requests in [" + sequentialMillis
+                + "] milliseconds sequentially, and in [" + concurrentMillis + "] milliseconds concurrently.");
+        for (int i = 0; i < REQUESTS; i++) {
+            Assertions.assertEquals("/echo/" + i, RestActions.getResponseBody(responses.get(i)));
+        }
+    }
+
+    @Test(description = "Perform a request in the background, and report it on the test's thread")
+    public void performRequestAsync() {
+        Response response = RestActions.buildNewRequest(serviceURI, "echo/async", RestActions.RequestType.GET)
+                .performRequestAsync().report();
+        Assertions.assertEquals("/echo/async", RestActions.getResponseBody(response));
+    }
+
+    @Test(description = "Fail the response of a request in the background when it has an unexpected status code, without reporting it",
+            expectedExceptions = CompletionException.class)
+    public void failRequestAsyncWithUnexpectedStatusCode() {
+        CompletableFuture<Response> response = RestActions.buildNewRequest(serviceURI, "echo/async", RestActions.RequestType.GET)
+                .setTargetStatusCode(201).performRequestAsync().getResponse();
+        response.thenApply(RestActions::getResponseBody).join();
+    }
+
+    @Test(description = "Fail when reporting a request that was performed in the background and has an unexpected status code",
+            expectedExceptions = AssertionError.class)
+    public void reportRequestAsyncWithUnexpectedStatusCode() {
+        RestActions.buildNewRequest(serviceURI, "echo/async", RestActions.RequestType.GET).setTargetStatusCode(201)
+                .performRequestAsync().report();
+    }
+
+    @Test(description = "Fail after all the requests finish when one of them has an unexpected status code",
+            expectedExceptions = AssertionError.class)
+    public void failConcurrentRequestsWithUnexpectedStatusCode() {
+        RestActions session = new RestActions(serviceURI);
+        List<RequestBuilder> requests = new ArrayList<>();
+        requests.add(session.buildNewRequest("echo/1", RestActions.RequestType.GET));
+        requests.add(session.buildNewRequest("echo/2", RestActions.RequestType.GET).setTargetStatusCode(201));
+        RestActions.performRequestsConcurrently(requests);
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        stubServer = StubServer.start(SERVER_LATENCY_MILLIS,
+                exchange -> StubServer.StubResponse.ok(exchange.getRequestURI().getPath()));
+        serviceURI = stubServer.getServiceURI();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        stubServer.stop();
+    }
+}
@@ -0,0 +1,129 @@
+package testPackage01;
+
+import com.shaft.db.DatabaseActions;
+import com.shaft.db.DatabaseActions.DatabaseType;
+import com.shaft.db.Row;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.h2.tools.Server;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Test_dbConnectionPool {
+    private static final String PORT = "5435";
+    private static final int QUERIES_PER_THREAD = 500;
+    private static final int SEEDED_ROWS = 100_000;
+    private Server server;
+    private DatabaseActions dbActions;
+
+    @Test(description = "Run parameterized queries against the embedded database and check that the result is correct")
+    public void executeParameterizedQuery() {
+        ResultSet queryResult = dbActions.executeSelectQuery("select name from benchmark where id = ?", 7);
+        Assertions.assertEquals("name_7", DatabaseActions.getResult(queryResult));
+        Assertions.assertEquals(1, DatabaseActions.getRowCount(queryResult));
+    }
+
+    @Test(description = "Stream the rows of a query through a forward-only cursor and stop at the first match")
+    public void executeStreamingQuery() {
+        long rowCount = dbActions.executeStreamingSelectQuery("select id, name from benchmark where id >= ?",
+                row -> Assertions.assertTrue(row.getString("name").startsWith("name_")), 50);
+        Assertions.assertEquals(50L, rowCount);
+
+        try (Stream<Row> rows = dbActions.executeStreamingSelectQuery("select id, name from benchmark order by id")) {
+            Assertions.assertEquals("name_3", rows.filter(row -> row.getString(1).equals("3"))
+                    .findFirst().map(row -> row.getString("name")).orElse(""));
+        }
+
+        ResultSet queryResult = dbActions.executeSelectQuery("select id, name from benchmark order by id");
+        Assertions.assertEquals("5\tname_5", DatabaseActions.getRow(queryResult, "name", "name_5", true));
+    }
+
+    @Test(threadPoolSize = 4, invocationCount = 4, dependsOnMethods = "executeParameterizedQuery",
+            description = "Run queries from parallel threads and report the throughput, thread count, and open file descriptors")
+    public void executeQueriesInParallel() {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < QUERIES_PER_THREAD; i++) {
+            dbActions.executeSelectQuery("select name from benchmark where id = ?", i % 100);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        ReportManager.log("Thread [" + Thread.currentThread().getName() + "] performed ["
+                + QUERIES_PER_THREAD * 1_000_000_000L / Math.max(1, elapsedNanos) + "] queries per second. Live threads ["
+                + Thread.activeCount() + "], open file descriptors [" + getOpenFileDescriptorCount() + "].");
+        // the thread count must not grow with the number of queries, as connections and timeout executors are reused
+        Assertions.assertTrue(Thread.activeCount() < 100);
+    }
+
+    @Test(description = "Seed a large number of rows using JDBC batching, and from a CSV file")
+    public void executeBatchSeeding() throws IOException {
+        dbActions.executeUpdateQuery("drop table if exists seeding");
+        dbActions.executeUpdateQuery("create table seeding (id int primary key, name varchar(50))");
+        long startTime = System.nanoTime();
+        long insertedRows = dbActions.executeBatch("insert into seeding values (?, ?)",
+                () -> IntStream.range(0, SEEDED_ROWS).mapToObj(i -> (Object) new Object[]{i, "name_" + i}).iterator());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        ReportManager.log("Seeded [" + SEEDED_ROWS + "] rows in [" + elapsedMillis + "] milliseconds.");
+        Assertions.assertEquals((long) SEEDED_ROWS, insertedRows);
+
+        Path csvFile = Files.createTempFile("seeding", ".csv");
+        Files.write(csvFile, List.of("id,name", SEEDED_ROWS + ",\"last, \"\"quoted\"\" name\""));
+        dbActions.executeBatchFromCsvFile("insert into seeding values (?, ?)", csvFile.toString());
+        Assertions.assertEquals("last, \"quoted\" name",
+                DatabaseActions.getResult(dbActions.executeSelectQuery("select name from seeding where id = ?", SEEDED_ROWS)));
+    }
+
+    @Test(description = "Fail a batch, and check that its rows are neither committed nor replayed by the next batch")
+    public void executeFailingBatch() {
+        dbActions.executeUpdateQuery("drop table if exists failing");
+        dbActions.executeUpdateQuery("create table failing (id int primary key, name varchar(50))");
+        boolean isFailed = false;
+        try {
+            dbActions.executeBatch("insert into failing values (?, ?)", List.of(List.of(1, "first"), List.of(1, "duplicate")));
+        } catch (AssertionError expectedFailure) {
+            // the duplicate primary key fails the whole batch
+            isFailed = true;
+        }
+        Assertions.assertTrue(isFailed);
+        dbActions.executeBatch("insert into failing values (?, ?)", List.of(List.of(2, "second")));
+        Assertions.assertEquals("2", DatabaseActions.getResult(dbActions.executeSelectQuery("select id from failing")));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws SQLException {
+        server = Server.createPgServer("-pgPort", PORT, "-baseDir", "target/h2", "-ifNotExists").start();
+        dbActions = new DatabaseActions(DatabaseType.POSTGRE_SQL, "localhost", PORT, "benchmark", "sa", "sa");
+        dbActions.executeUpdateQuery("drop table if exists benchmark");
+        dbActions.executeUpdateQuery("create table benchmark (id int primary key, name varchar(50))");
+        dbActions.executeBatch("insert into benchmark values (?, ?)",
+                IntStream.range(0, 100).mapToObj(i -> List.of(i, "name_" + i)).collect(Collectors.toList()));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        DatabaseActions.closeAllConnections();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private long getOpenFileDescriptorCount() {
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof UnixOperatingSystemMXBean) {
+            return ((UnixOperatingSystemMXBean) operatingSystem).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,73 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.image.DevToolsScreenshot;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.function.Supplier;
+
+public class Test_devToolsScreenshot {
+    private static final int SCREENSHOTS = 10;
+    private WebDriver driver;
+
+    @Test(description = "Compare the capture time and size of regular and DevTools viewport screenshots")
+    public void captureViewport() {
+        long regularSize = benchmarkCapture("TakesScreenshot", () -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        long pngSize = benchmarkCapture("DevTools png", () -> DevToolsScreenshot.captureViewport(driver, false));
+        long jpegSize = benchmarkCapture("DevTools jpeg", () -> DevToolsScreenshot.captureViewport(driver, true));
+        Assertions.assertTrue(regularSize > 0 && pngSize > 0);
+        Assertions.assertTrue(jpegSize < pngSize);
+    }
+
+    @Test(description = "Capture an element and the whole page using a single DevTools call")
+    public void captureElementAndFullPage() {
+        byte[] element = DevToolsScreenshot.captureElement(driver, driver.findElement(By.tagName("h1")).getRect(), false);
+        long fullPageSize = benchmarkCapture("DevTools full page", () -> DevToolsScreenshot.captureFullPage(driver, false));
+        Assertions.assertTrue(element != null && element.length > 0);
+        Assertions.assertTrue(fullPageSize > 0);
+    }
+
+    @Test(description = "Fall back to regular screenshots when the DevTools capture path is disabled")
+    public void disableDevToolsCapture() {
+        System.setProperty("screenshotParams_captureUsingDevTools", "false");
+        try {
+            Assertions.assertEquals(null, DevToolsScreenshot.captureViewport(driver, false));
+        } finally {
+            System.clearProperty("screenshotParams_captureUsingDevTools");
+        }
+    }
+
+    @BeforeClass
+    public void beforeClass() {
+        driver = BrowserFactory.getBrowser(BrowserFactory.BrowserType.GOOGLE_CHROME);
+        BrowserActions.navigateToURL(driver, "https://en.wikipedia.org/wiki/Java_(programming_language)");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        BrowserActions.closeCurrentWindow(driver);
+    }
+
+    private long benchmarkCapture(String captureMethod, Supplier<byte[]> capture) {
+        long totalNanos = 0;
+        long size = 0;
+        for (int i = 0; i < SCREENSHOTS; i++) {
+            long startTime = System.nanoTime();
+            byte[] screenshot = capture.get();
+            totalNanos += System.nanoTime() - startTime;
+            size = screenshot == null ? 0 : screenshot.length;
+        }
+        ReportManager.log(captureMethod + ": [" + totalNanos / 1_000_000 / SCREENSHOTS + "] milliseconds and ["
+                + size / 1024 + "] KB per screenshot.");
+        return size;
+    }
+}
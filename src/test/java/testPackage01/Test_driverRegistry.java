@@ -0,0 +1,38 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.browser.DriverRegistry;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class Test_driverRegistry {
+    private static final int THREADS = 8;
+    private static final int SESSIONS = 24;
+    private int initialClosedSessionsCount;
+
+    @Test(threadPoolSize = THREADS, invocationCount = SESSIONS, description = "Create and quit browser sessions from many threads at the same time")
+    public void createAndQuitSessionsInParallel() {
+        WebDriver driver = BrowserFactory.getBrowser();
+        Assertions.assertTrue(DriverRegistry.getActiveSessionsCount() > 0);
+        BrowserActions.navigateToURL(driver, "about:blank");
+        BrowserActions.closeCurrentWindow(driver);
+        // closing the same session twice must not close it again, or change the counters
+        BrowserActions.closeCurrentWindow(driver);
+    }
+
+    @Test(dependsOnMethods = "createAndQuitSessionsInParallel", description = "Count every session exactly once after the parallel test")
+    public void countClosedSessions() {
+        Assertions.assertEquals(0, DriverRegistry.getActiveSessionsCount());
+        Assertions.assertEquals(SESSIONS, DriverRegistry.getClosedSessionsCount() - initialClosedSessionsCount);
+        BrowserFactory.closeAllDrivers();
+        Assertions.assertTrue(BrowserFactory.isBrowsersListEmpty());
+    }
+
+    @BeforeClass
+    public void beforeClass() {
+        initialClosedSessionsCount = DriverRegistry.getClosedSessionsCount();
+    }
+}
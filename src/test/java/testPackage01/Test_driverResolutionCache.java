@@ -0,0 +1,91 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.browser.DriverResolutionCache;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+public class Test_driverResolutionCache {
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private Path cacheFile;
+
+    @Test(description = "Set the driver executable property from the persistent resolution cache, without resolving it again")
+    public void resolveDriverFromCache() throws IOException {
+        // a driver file that WebDriverManager could never have resolved, so that the property can only come from the cache file
+        Path cachedDriver = Files.createDirectories(cacheFile.getParent()).resolve("cachedDriver");
+        Files.write(cachedDriver, new byte[0]);
+        System.setProperty("cacheDriverResolution", "true");
+        System.setProperty(CHROME_DRIVER_PROPERTY, cachedDriver.toString());
+        DriverResolutionCache.store(CHROME_DRIVER_PROPERTY, "1.0");
+        Path nextRunCacheFile = Files.copy(cacheFile, cacheFile.resolveSibling("next-run-resolution.properties"),
+                StandardCopyOption.REPLACE_EXISTING);
+        try {
+            // a new run starts without the driver executable property, and reads it from a copy of the cache file
+            System.setProperty("driverResolutionCacheFilePath", nextRunCacheFile.toString());
+            System.clearProperty(CHROME_DRIVER_PROPERTY);
+            long startTime = System.nanoTime();
+            boolean isResolvedFromCache = DriverResolutionCache.setupFromCache(CHROME_DRIVER_PROPERTY);
+            long cachedResolutionMicros = (System.nanoTime() - startTime) / 1000;
+
+            ReportManager.log("Resolved the driver using the resolution cache in [" + cachedResolutionMicros + "] microseconds.");
+            Assertions.assertTrue(isResolvedFromCache);
+            Assertions.assertEquals(cachedDriver.toString(), System.getProperty(CHROME_DRIVER_PROPERTY));
+        } finally {
+            // the fake driver is removed from both cache files, so that the browser tests resolve a real one
+            DriverResolutionCache.invalidate(CHROME_DRIVER_PROPERTY);
+            System.setProperty("driverResolutionCacheFilePath", cacheFile.toString());
+            DriverResolutionCache.invalidate(CHROME_DRIVER_PROPERTY);
+            System.clearProperty(CHROME_DRIVER_PROPERTY);
+        }
+    }
+
+    @Test(description = "Compare the browser startup time with and without the persistent resolution cache")
+    public void startBrowserWithAndWithoutCache() {
+        long startupMillisWithoutCache = benchmarkBrowserStartup(false);
+        // the first start with the cache enabled resolves the driver and stores it, like the first run on a new agent
+        benchmarkBrowserStartup(true);
+        long startupMillisWithCache = benchmarkBrowserStartup(true);
+        ReportManager.log("The browser was ready after [" + startupMillisWithoutCache
+                + "] milliseconds without the resolution cache, and after [" + startupMillisWithCache + "] milliseconds with it.");
+        Assertions.assertTrue(Files.exists(cacheFile));
+    }
+
+    @Test(description = "Resolve the driver again when the cached driver file no longer exists")
+    public void invalidateMissingDriver() throws IOException {
+        Path missingDriver = Files.createDirectories(cacheFile.getParent()).resolve("missingDriver");
+        System.setProperty(CHROME_DRIVER_PROPERTY, missingDriver.toString());
+        DriverResolutionCache.store(CHROME_DRIVER_PROPERTY, "0.0");
+        Assertions.assertTrue(!DriverResolutionCache.setupFromCache(CHROME_DRIVER_PROPERTY));
+        DriverResolutionCache.invalidate(CHROME_DRIVER_PROPERTY);
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        cacheFile = Paths.get("target", "driverResolutionCache", "shaft-resolution.properties");
+        Files.deleteIfExists(cacheFile);
+        System.setProperty("driverResolutionCacheFilePath", cacheFile.toString());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        System.clearProperty("driverResolutionCacheFilePath");
+        System.clearProperty("cacheDriverResolution");
+    }
+
+    private long benchmarkBrowserStartup(boolean isCacheEnabled) {
+        System.setProperty("cacheDriverResolution", String.valueOf(isCacheEnabled));
+        long startTime = System.nanoTime();
+        BrowserActions.closeCurrentWindow(BrowserFactory.getBrowser());
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
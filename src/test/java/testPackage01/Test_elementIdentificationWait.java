@@ -0,0 +1,64 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.WaitStatistics;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class Test_elementIdentificationWait {
+    private static final String ELEMENT_IDENTIFICATION_WAIT = "Element identification";
+    private static final By delayedElement = By.cssSelector("#delayed");
+    private WebDriver driver;
+    private String delayedPageUrl;
+
+    @Test(description = "Identify an element that is added to the page shortly after it is loaded, with and without observing the page")
+    public void identifyDelayedElement() {
+        for (String isObservingPage : new String[]{"false", "true"}) {
+            System.setProperty("probeElementsUsingJavaScript", isObservingPage);
+            driver.get(delayedPageUrl);
+            long initialWaitsCount = WaitStatistics.getWaitsCount(ELEMENT_IDENTIFICATION_WAIT);
+            long startTime = System.nanoTime();
+            int elementsCount = ElementActions.getElementsCount(driver, delayedElement);
+            ReportManager.log("Observing the page [" + isObservingPage + "]: the delayed element was identified after ["
+                    + (System.nanoTime() - startTime) / 1_000_000 + "] milliseconds.");
+            Assertions.assertEquals(1, elementsCount);
+            Assertions.assertEquals("delayed", ElementActions.getText(driver, delayedElement));
+            Assertions.assertTrue(WaitStatistics.getWaitsCount(ELEMENT_IDENTIFICATION_WAIT) > initialWaitsCount);
+        }
+    }
+
+    @Test(description = "Report zero matching elements once the wait for an element that is never added expires")
+    public void identifyMissingElement() {
+        driver.get(delayedPageUrl);
+        Assertions.assertEquals(0, ElementActions.getElementsCount(driver, By.cssSelector("#missing"), 1));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        Path delayedPage = Files.createDirectories(Paths.get("target", "elementIdentificationWait")).resolve("delayedPage.html");
+        Files.writeString(delayedPage, "<html><body><script>"
+                + "setTimeout(function () { var element = document.createElement('p'); element.id = 'delayed';"
+                + " element.innerText = 'delayed'; document.body.appendChild(element); }, 50);"
+                + "</script></body></html>");
+        delayedPageUrl = delayedPage.toUri().toString();
+        driver = BrowserFactory.getBrowser();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        System.clearProperty("probeElementsUsingJavaScript");
+        BrowserActions.closeCurrentWindow(driver);
+    }
+}
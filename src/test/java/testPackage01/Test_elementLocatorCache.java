@@ -0,0 +1,111 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.ElementCache;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+public class Test_elementLocatorCache {
+    private static final int ACTIONS = 50;
+    private FormPageSession session;
+    private WebDriver driver;
+
+    @Test(description = "Compare the WebDriver round-trips and latency per action with and without the element cache")
+    public void performActionsWithAndWithoutCache() {
+        System.setProperty("probeElementsUsingJavaScript", "false");
+        double uncachedRoundTrips = benchmarkActions(false, ACTIONS);
+        double cachedRoundTrips = benchmarkActions(true, ACTIONS);
+        Assertions.assertTrue(cachedRoundTrips < uncachedRoundTrips);
+    }
+
+    @Test(description = "Reuse a cached element after the page was reloaded without navigation actions")
+    public void recoverFromStaleCachedElement() {
+        System.setProperty("cacheIdentifiedElements", "true");
+        session.openPage();
+        ElementActions.type(driver, FormPageSession.TEXT_BOX, "before reload");
+        // the cached element goes stale, and is found again on the reloaded page
+        driver.navigate().refresh();
+        ElementActions.type(driver, FormPageSession.TEXT_BOX, "after reload");
+        ElementActions.click(driver, FormPageSession.BUTTON);
+        Assertions.assertEquals("after reload", ElementActions.getText(driver, FormPageSession.RESULT));
+    }
+
+    @Test(description = "Find a cached element again once it was re-rendered, by waiting for it to be added back to the page")
+    public void recoverFromReRenderedCachedElement() {
+        System.setProperty("cacheIdentifiedElements", "true");
+        session.openPage();
+        WebElement cachedElement = ElementCache.findElement(driver, FormPageSession.TEXT_BOX);
+        // the element is removed, and an identical one is added back after a short while
+        ((JavascriptExecutor) driver).executeScript("var element = document.getElementById('name'); var parent = element.parentNode;"
+                + " var replacement = element.cloneNode(true); parent.removeChild(element);"
+                + " setTimeout(function () { parent.insertBefore(replacement, parent.firstChild); }, 200);");
+        Assertions.assertEquals("input", cachedElement.getTagName());
+    }
+
+    @Test(description = "Fail to identify a cached element once it is no longer unique, for locators that can't be probed")
+    public void detectDuplicatedCachedElement() {
+        System.setProperty("cacheIdentifiedElements", "true");
+        System.setProperty("probeElementsUsingJavaScript", "false");
+        String initialUniquenessCheck = System.setProperty("forceCheckElementLocatorIsUnique", "true");
+        try {
+            session.openPage();
+            ElementActions.type(driver, FormPageSession.TEXT_BOX, "unique");
+            ((JavascriptExecutor) driver).executeScript("document.body.appendChild(document.getElementById('name').cloneNode(true));");
+            boolean isFailed = false;
+            try {
+                ElementActions.type(driver, FormPageSession.TEXT_BOX, "duplicated");
+            } catch (AssertionError expectedFailure) {
+                isFailed = true;
+            }
+            Assertions.assertTrue(isFailed);
+        } finally {
+            if (initialUniquenessCheck != null) {
+                System.setProperty("forceCheckElementLocatorIsUnique", initialUniquenessCheck);
+            } else {
+                System.clearProperty("forceCheckElementLocatorIsUnique");
+            }
+        }
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        session = FormPageSession.start("elementLocatorCache");
+        driver = session.getDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        System.clearProperty("cacheIdentifiedElements");
+        System.clearProperty("probeElementsUsingJavaScript");
+        if (session != null) {
+            session.quit();
+        }
+    }
+
+    private double benchmarkActions(boolean isCacheEnabled, int actions) {
+        System.setProperty("cacheIdentifiedElements", String.valueOf(isCacheEnabled));
+        session.openPage();
+
+        long initialRoundTrips = session.getRoundTripsCount();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < actions; i++) {
+            ElementActions.type(driver, FormPageSession.TEXT_BOX, "text " + i);
+            ElementActions.click(driver, FormPageSession.BUTTON);
+            Assertions.assertEquals("text " + i, ElementActions.getText(driver, FormPageSession.RESULT));
+        }
+        long elapsedMicros = (System.nanoTime() - startTime) / 1000;
+        double roundTripsPerAction = (double) (session.getRoundTripsCount() - initialRoundTrips) / (actions * 3);
+
+        ReportManager.log("Element cache enabled [" + isCacheEnabled + "]: [" + roundTripsPerAction + "] round-trips and ["
+                + elapsedMicros / (actions * 3) + "] microseconds per action.");
+        return roundTripsPerAction;
+    }
+}
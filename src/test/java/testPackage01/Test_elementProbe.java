@@ -0,0 +1,81 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+public class Test_elementProbe {
+    private static final int REMOTE_GRID_ACTIONS = 10;
+    private static final long REMOTE_GRID_LATENCY_MILLIS = 50;
+    private FormPageSession session;
+    private WebDriver driver;
+
+    @Test(description = "Compare the WebDriver round-trips and latency per action with and without the JavaScript element probe, on a simulated remote grid")
+    public void performActionsWithAndWithoutProbe() {
+        session.setSimulatedLatencyMillis(REMOTE_GRID_LATENCY_MILLIS);
+        try {
+            System.setProperty("probeElementsUsingJavaScript", "false");
+            double roundTripsWithoutProbe = benchmarkActions();
+            System.setProperty("probeElementsUsingJavaScript", "true");
+            double roundTripsWithProbe = benchmarkActions();
+            Assertions.assertTrue(roundTripsWithProbe < roundTripsWithoutProbe);
+        } finally {
+            session.setSimulatedLatencyMillis(0);
+        }
+    }
+
+    @Test(description = "Type into an empty text box, and check that the typed text is confirmed without setting it again using JavaScript")
+    public void typeIntoEmptyTextBox() {
+        System.setProperty("probeElementsUsingJavaScript", "true");
+        session.openPage();
+        // counts the non-empty values that are set using JavaScript, which typing using WebDriver doesn't do
+        ((JavascriptExecutor) driver).executeScript("window.valuesSetUsingJavaScript = 0;"
+                + " var valueProperty = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value');"
+                + " Object.defineProperty(document.getElementById('name'), 'value', {get: valueProperty.get, set: function (value) {"
+                + " if (value !== '') { window.valuesSetUsingJavaScript++; } valueProperty.set.call(this, value); }});");
+        ElementActions.type(driver, FormPageSession.TEXT_BOX, "typed text");
+        ElementActions.click(driver, FormPageSession.BUTTON);
+        Assertions.assertEquals("typed text", ElementActions.getText(driver, FormPageSession.RESULT));
+        Assertions.assertEquals(0L, ((JavascriptExecutor) driver).executeScript("return window.valuesSetUsingJavaScript;"));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        session = FormPageSession.start("elementProbe");
+        driver = session.getDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        System.clearProperty("probeElementsUsingJavaScript");
+        if (session != null) {
+            session.quit();
+        }
+    }
+
+    private double benchmarkActions() {
+        session.openPage();
+
+        long initialRoundTrips = session.getRoundTripsCount();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < REMOTE_GRID_ACTIONS; i++) {
+            ElementActions.type(driver, FormPageSession.TEXT_BOX, "text " + i);
+            ElementActions.click(driver, FormPageSession.BUTTON);
+            Assertions.assertEquals("text " + i, ElementActions.getText(driver, FormPageSession.RESULT));
+        }
+        long elapsedMicros = (System.nanoTime() - startTime) / 1000;
+        double roundTripsPerAction = (double) (session.getRoundTripsCount() - initialRoundTrips) / (REMOTE_GRID_ACTIONS * 3);
+
+        ReportManager.log("JavaScript probe enabled [" + System.getProperty("probeElementsUsingJavaScript")
+                + "], simulated latency [" + session.getSimulatedLatencyMillis() + "] ms: [" + roundTripsPerAction + "] round-trips and ["
+                + elapsedMicros / (REMOTE_GRID_ACTIONS * 3) + "] microseconds per action.");
+        return roundTripsPerAction;
+    }
+}
@@ -0,0 +1,66 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.element.JavaScriptWaitManager;
+import com.shaft.gui.element.WaitStatistics;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class Test_pageIdleWait {
+    private static final String LAZY_LOADING_WAIT = "Lazy loading";
+    private WebDriver driver;
+    private String mutatingPageUrl;
+
+    @Test(description = "Wait for a page that keeps changing its DOM for a short while to become idle, on the first wait after navigation")
+    public void waitForPageIdle() {
+        driver.get(mutatingPageUrl);
+        long startTime = System.nanoTime();
+        JavaScriptWaitManager.waitForLazyLoading();
+        ReportManager.log("The page became idle after [" + (System.nanoTime() - startTime) / 1_000_000 + "] milliseconds, with ["
+                + WaitStatistics.getWaitsCount(LAZY_LOADING_WAIT) + "] lazy loading waits taking ["
+                + WaitStatistics.getTotalWaitMillis(LAZY_LOADING_WAIT) + "] milliseconds so far.");
+        WaitStatistics.logSummary();
+        // the page stops changing after 300 milliseconds, and is idle once it stays unchanged for the quiet period
+        Assertions.assertEquals("20", ((JavascriptExecutor) driver)
+                .executeScript("return document.getElementById('counter').innerText;"));
+    }
+
+    @Test(description = "Wait for a page that changes its DOM again after it was already idle")
+    public void waitForPageIdleAgain() {
+        driver.get(mutatingPageUrl);
+        JavaScriptWaitManager.waitForLazyLoading();
+        ((JavascriptExecutor) driver).executeScript("restartCounter();");
+        // the idle tracker is already installed on this page, so it is used on its own
+        JavaScriptWaitManager.waitForLazyLoading();
+        Assertions.assertEquals("40", ((JavascriptExecutor) driver)
+                .executeScript("return document.getElementById('counter').innerText;"));
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        Path mutatingPage = Files.createDirectories(Paths.get("target", "pageIdleWait")).resolve("mutatingPage.html");
+        Files.writeString(mutatingPage, "<html><body><p id='counter'>0</p><script>"
+                + "var counter = 0; function restartCounter() { var target = counter + 20; var timer = setInterval(function () {"
+                + " document.getElementById('counter').innerText = ++counter; if (counter === target) { clearInterval(timer); } }, 15); }"
+                + " restartCounter();"
+                + "</script></body></html>");
+        mutatingPageUrl = mutatingPage.toUri().toString();
+        driver = BrowserFactory.getBrowser();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        BrowserActions.closeCurrentWindow(driver);
+    }
+}
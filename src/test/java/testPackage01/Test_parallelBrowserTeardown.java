@@ -0,0 +1,65 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.browser.DriverRegistry;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.ExecutableItem;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Test_parallelBrowserTeardown {
+    private static final int BROWSERS = 6;
+    private static final String WEBDRIVER_LOGS_ATTACHMENT = "Attachment: Selenium WebDriver Logs - ";
+
+    @Test(description = "Close all browsers serially and in parallel, and check that every session is closed and its logs are attached")
+    public void closeAllDriversSeriallyAndInParallel() {
+        try {
+            long serialTeardownMillis = closeAllDrivers("1");
+            long parallelTeardownMillis = closeAllDrivers(String.valueOf(BROWSERS));
+            ReportManager.log("Closed [" + BROWSERS + "] browsers in [" + serialTeardownMillis + "] milliseconds serially, and in ["
+                    + parallelTeardownMillis + "] milliseconds in parallel.");
+        } finally {
+            System.clearProperty("browserTeardownThreadPoolSize");
+        }
+    }
+
+    private long closeAllDrivers(String threadPoolSize) {
+        System.setProperty("browserTeardownThreadPoolSize", threadPoolSize);
+        for (int i = 0; i < BROWSERS; i++) {
+            WebDriver driver = BrowserFactory.getBrowser();
+            BrowserActions.navigateToURL(driver, "https://duckduckgo.com/");
+        }
+        long attachedLogsCount = getWebDriverLogsAttachmentsCount();
+
+        long startTime = System.nanoTime();
+        BrowserFactory.closeAllDrivers();
+        long teardownMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        Assertions.assertTrue(BrowserFactory.isBrowsersListEmpty());
+        Assertions.assertEquals(0, DriverRegistry.getActiveSessionsCount());
+        Assertions.assertEquals(0, DriverRegistry.getIdleSessionsCount());
+        // every driver has at least its own driver log, so each one adds at least one attachment
+        Assertions.assertTrue(getWebDriverLogsAttachmentsCount() - attachedLogsCount >= BROWSERS);
+        return teardownMillis;
+    }
+
+    private long getWebDriverLogsAttachmentsCount() {
+        AtomicLong attachmentsCount = new AtomicLong();
+        Allure.getLifecycle().updateTestCase(testResult -> attachmentsCount.set(countWebDriverLogsAttachments(testResult)));
+        return attachmentsCount.get();
+    }
+
+    private long countWebDriverLogsAttachments(ExecutableItem item) {
+        long attachmentsCount = item.getAttachments().stream()
+                .filter(attachment -> attachment.getName().startsWith(WEBDRIVER_LOGS_ATTACHMENT)).count();
+        for (ExecutableItem step : item.getSteps()) {
+            attachmentsCount += countWebDriverLogsAttachments(step);
+        }
+        return attachmentsCount;
+    }
+}
@@ -0,0 +1,42 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class Test_parallelScreenshots {
+    private static final int SCREENSHOTS_PER_THREAD = 10;
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    @Test(threadPoolSize = 4, invocationCount = 4, description = "Capture screenshots from parallel threads and report the throughput per thread")
+    public void captureScreenshotsInParallel() {
+        BrowserActions.navigateToURL(driver.get(), "https://duckduckgo.com/");
+        long startTime = System.nanoTime();
+        for (int i = 0; i < SCREENSHOTS_PER_THREAD; i++) {
+            List<Object> screenshot = ScreenshotManager.captureScreenShot(driver.get(), "assertScreenshot", true);
+            Assertions.assertTrue(screenshot != null);
+            Assertions.assertTrue(String.valueOf(screenshot.get(1)).contains(ReportManager.getTestMethodName()));
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        ReportManager.log("Thread [" + Thread.currentThread().getName() + "] captured [" + SCREENSHOTS_PER_THREAD
+                + "] screenshots in [" + elapsedMillis + "] milliseconds.");
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver.set(BrowserFactory.getBrowser());
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        BrowserActions.closeCurrentWindow(driver.get());
+    }
+}
@@ -0,0 +1,125 @@
+package testPackage01;
+
+import com.shaft.api.RestActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.xml.XmlPath;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Test_responseValueExtraction {
+    private static final int ITEMS = 10_000;
+    private static final int EXTRACTED_FIELDS = 20;
+    private StubServer stubServer;
+    private String serviceURI;
+
+    @Test(description = "Extract many fields from a large JSON response, and parse its body only once")
+    public void extractJsonValues() {
+        Response response = RestActions.buildNewRequest(serviceURI, "items.json", RestActions.RequestType.GET).performRequest();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < EXTRACTED_FIELDS; i++) {
+            JsonPath.from(response.asString()).getString("items[" + i + "].name");
+        }
+        long uncachedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        Map<String, AtomicInteger> parsingCalls = new ConcurrentHashMap<>();
+        Response countingResponse = countParsingCalls(response, parsingCalls);
+        startTime = System.nanoTime();
+        for (int i = 0; i < EXTRACTED_FIELDS; i++) {
+            Assertions.assertEquals("item " + i, RestActions.getResponseJSONValue(countingResponse, "items[" + i + "].name"));
+        }
+        // paths that aren't compiled are evaluated by RestAssured, against the same parsed document
+        Assertions.assertEquals("item 5", RestActions.getResponseJSONValue(countingResponse, "items.find { it.id == 5 }.name"));
+        long cachedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        ReportManager.log("Extracted [" + EXTRACTED_FIELDS + "] JSON values in [" + uncachedMillis
+                + "] milliseconds by parsing the body every time, and in [" + cachedMillis + "] milliseconds using the cache.");
+        Assertions.assertEquals(1, parsingCalls.getOrDefault("jsonPath", new AtomicInteger()).get());
+    }
+
+    @Test(description = "Evaluate simple and Groovy JSON paths against the cached document like RestAssured does")
+    public void evaluateJsonPaths() {
+        Response response = RestActions.buildNewRequest(serviceURI, "items.json", RestActions.RequestType.GET).performRequest();
+        String[] jsonPaths = {"items[0].id", "items[-1].name", "items[0].tags[1]", "items.size()", "items.find { it.id == 5 }.name", "missing.value"};
+        for (String jsonPath : jsonPaths) {
+            Assertions.assertEquals(response.jsonPath().getString(jsonPath), RestActions.getResponseJSONValue(response, jsonPath));
+        }
+        Assertions.assertEquals(response.jsonPath().getList("items.id"), RestActions.getResponseJSONValueAsList(response, "items.id"));
+    }
+
+    @Test(description = "Extract many fields from a large XML response, and parse its body only once")
+    public void extractXmlValues() {
+        Response response = RestActions.buildNewRequest(serviceURI, "items.xml", RestActions.RequestType.GET).performRequest();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < EXTRACTED_FIELDS; i++) {
+            XmlPath.from(response.asString()).getString("items.item[" + i + "].name");
+        }
+        long uncachedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        Map<String, AtomicInteger> parsingCalls = new ConcurrentHashMap<>();
+        Response countingResponse = countParsingCalls(response, parsingCalls);
+        startTime = System.nanoTime();
+        for (int i = 0; i < EXTRACTED_FIELDS; i++) {
+            Assertions.assertEquals("item " + i, RestActions.getResponseXMLValue(countingResponse, "items.item[" + i + "].name"));
+        }
+        long cachedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        ReportManager.log("Extracted [" + EXTRACTED_FIELDS + "] XML values in [" + uncachedMillis
+                + "] milliseconds by parsing the body every time, and in [" + cachedMillis + "] milliseconds using the cache.");
+        Assertions.assertEquals(1, parsingCalls.getOrDefault("xmlPath", new AtomicInteger()).get());
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        StringBuilder xml = new StringBuilder("<items>");
+        for (int i = 0; i < ITEMS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item ").append(i)
+                    .append("\",\"tags\":[\"first\",\"second\"],\"description\":\"a fairly long description of item ")
+                    .append(i).append("\"}");
+            xml.append("<item><id>").append(i).append("</id><name>item ").append(i)
+                    .append("</name><description>a fairly long description of item ").append(i).append("</description></item>");
+        }
+        byte[] jsonBody = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        byte[] xmlBody = xml.append("</items>").toString().getBytes(StandardCharsets.UTF_8);
+
+        stubServer = StubServer.start(0, exchange -> exchange.getRequestURI().getPath().endsWith(".xml")
+                ? StubServer.StubResponse.ok("application/xml", xmlBody)
+                : StubServer.StubResponse.ok("application/json", jsonBody));
+        serviceURI = stubServer.getServiceURI();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        stubServer.stop();
+    }
+
+    /**
+     * Wraps the response to count how many times each of its methods, like
+     * jsonPath and xmlPath which parse its body, is called
+     */
+    private Response countParsingCalls(Response response, Map<String, AtomicInteger> calls) {
+        return (Response) Proxy.newProxyInstance(Response.class.getClassLoader(), new Class<?>[]{Response.class},
+                (proxy, method, arguments) -> {
+                    calls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                    try {
+                        return method.invoke(response, arguments);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,142 @@
+package unitTests;
+
+import com.shaft.gui.image.AnimatedGifManager;
+import com.shaft.tools.io.PropertyFileManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public class tests_image_animatedGif {
+    private int maximumResolution;
+    private long maximumSizeInBytes;
+
+    @Test
+    public void prepareFrame_identicalFrames_expectedToBeSkipped() throws IOException {
+        try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            TestableGifManager gif = new TestableGifManager(outputStream);
+            BufferedImage page = createSolidImage(200, 100, Color.WHITE);
+            Assertions.assertTrue(gif.prepare(encode(page)) != null);
+            Assertions.assertNull(gif.prepare(encode(page)));
+
+            // a single different pixel is within the duplicate frame threshold
+            page.setRGB(10, 10, Color.RED.getRGB());
+            Assertions.assertNull(gif.prepare(encode(page)));
+
+            Graphics2D graphics = page.createGraphics();
+            graphics.setColor(Color.BLUE);
+            graphics.fillRect(0, 0, 100, 50);
+            graphics.dispose();
+            Assertions.assertTrue(gif.prepare(encode(page)) != null);
+        }
+    }
+
+    @Test
+    public void prepareFrame_oversizedScreenshot_expectedToBeSubsampled() throws IOException {
+        try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            TestableGifManager gif = new TestableGifManager(outputStream);
+            BufferedImage frame = gif.prepare(encode(createSolidImage(maximumResolution * 4, maximumResolution * 2, Color.WHITE)));
+            Assertions.assertEquals(maximumResolution, frame.getWidth());
+            Assertions.assertEquals(maximumResolution / 2, frame.getHeight());
+        }
+    }
+
+    @Test
+    public void prepareFrame_differentAspectRatio_expectedToBeLetterboxed() throws IOException {
+        try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            TestableGifManager gif = new TestableGifManager(outputStream);
+            // the first frame decides the size of the canvas
+            gif.prepare(encode(createSolidImage(400, 200, Color.WHITE)));
+            BufferedImage frame = gif.prepare(encode(createSolidImage(200, 200, Color.RED)));
+            Assertions.assertEquals(400, frame.getWidth());
+            Assertions.assertEquals(200, frame.getHeight());
+            Assertions.assertEquals(Color.BLACK.getRGB(), frame.getRGB(10, 100));
+            Assertions.assertEquals(Color.BLACK.getRGB(), frame.getRGB(390, 100));
+            Assertions.assertEquals(Color.RED.getRGB(), frame.getRGB(200, 100));
+        }
+    }
+
+    @Test
+    public void writeToSequence_maximumSizeReached_expectedToStopAddingFrames() throws IOException {
+        try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            TestableGifManager gif = new TestableGifManager(outputStream);
+            Random random = new Random(1);
+            BufferedImage frame;
+            int writtenFrames = 0;
+            // noise doesn't compress, so every frame adds roughly one byte per pixel
+            while ((frame = gif.prepare(encode(createNoiseImage(random)))) != null && writtenFrames < 1000) {
+                gif.write(frame);
+                writtenFrames++;
+            }
+            long sizeAtLimit = outputStream.getStreamPosition();
+            Assertions.assertTrue(sizeAtLimit >= maximumSizeInBytes);
+            Assertions.assertNull(gif.prepare(encode(createNoiseImage(random))));
+            Assertions.assertEquals(sizeAtLimit, outputStream.getStreamPosition());
+            gif.finish();
+        }
+    }
+
+    @BeforeClass
+    public void beforeClass() {
+        if (System.getProperty("animatedGif_maximumResolution") == null) {
+            PropertyFileManager.readPropertyFiles();
+        }
+        maximumResolution = Integer.parseInt(System.getProperty("animatedGif_maximumResolution").trim());
+        maximumSizeInBytes = Long.parseLong(System.getProperty("animatedGif_maximumSizeInMegabytes").trim()) * 1024 * 1024;
+    }
+
+    private BufferedImage createSolidImage(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private BufferedImage createNoiseImage(Random random) {
+        BufferedImage image = new BufferedImage(maximumResolution, maximumResolution, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                // a limited number of colors, so the palette of each frame is cheap to build
+                image.setRGB(x, y, random.nextInt(200) * 0x010101);
+            }
+        }
+        return image;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Exposes the frame preparation and writing steps, which are only used by
+     * ScreenshotManager
+     */
+    private static class TestableGifManager extends AnimatedGifManager {
+        TestableGifManager(ImageOutputStream outputStream) throws IOException {
+            super(outputStream, 500);
+        }
+
+        BufferedImage prepare(byte[] screenshot) throws IOException {
+            return prepareFrame(screenshot);
+        }
+
+        void write(BufferedImage frame) throws IOException {
+            writeToSequence(frame);
+        }
+
+        void finish() throws IOException {
+            close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package unitTests;
+
+import com.shaft.gui.image.ImageProcessingActions;
+import com.shaft.validation.Assertions;
+import com.shaft.validation.Verifications;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class tests_image_imageFolderComparison {
+    private static final int IMAGES_COUNT = 3;
+
+    @Test
+    public void compareImageFolders_identicalImages_expectedToPass() throws IOException {
+        Path comparisonFolder = prepareFolders("identical", -1);
+        ImageProcessingActions.compareImageFolders(comparisonFolder.resolve("reference").toString(),
+                comparisonFolder.resolve("test").toString(), 100);
+
+        Assertions.assertNull(Verifications.getVerificationErrorToForceFail());
+        // files are only written for the pairs that fail
+        Assertions.assertTrue(!Files.exists(comparisonFolder.resolve("test").resolve("failedImagesDirectory")));
+    }
+
+    @Test
+    public void compareImageFolders_oneChangedImage_expectedToWriteItsDiff() throws IOException {
+        int changedImageIndex = 1;
+        Path comparisonFolder = prepareFolders("changed", changedImageIndex);
+        ImageProcessingActions.compareImageFolders(comparisonFolder.resolve("reference").toString(),
+                comparisonFolder.resolve("test").toString(), 100);
+
+        // the failed pair is a soft verification failure, which is reset so that this test only checks the output
+        boolean isVerificationFailed = Verifications.getVerificationErrorToForceFail() != null;
+        Verifications.resetVerificationStateAfterFailing();
+        Assertions.assertTrue(isVerificationFailed);
+
+        Path failedImagesFolder = comparisonFolder.resolve("test").resolve("failedImagesDirectory");
+        String changedImageName = getImageName(changedImageIndex);
+        List<String> failedImages;
+        try (Stream<Path> files = Files.list(failedImagesFolder)) {
+            failedImages = files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+        // only one of the pairs failed, so the other ones matched
+        Assertions.assertEquals(Arrays.asList(changedImageName + "_diffImage.png", changedImageName + "_refrenceImage",
+                changedImageName + "_testImage"), failedImages);
+
+        BufferedImage diffImage = ImageIO.read(failedImagesFolder.resolve(changedImageName + "_diffImage.png").toFile());
+        Assertions.assertEquals(Color.RED.getRGB(), diffImage.getRGB(25, 25));
+        Assertions.assertTrue(diffImage.getRGB(75, 75) != Color.RED.getRGB());
+    }
+
+    /**
+     * Writes the same images to a reference folder and a test folder, except for
+     * the test image at the changed index, which gets a black square in its top
+     * left corner
+     */
+    private Path prepareFolders(String folderName, int changedImageIndex) throws IOException {
+        Path comparisonFolder = Paths.get("target", "imageFolderComparison", folderName);
+        Files.createDirectories(comparisonFolder.resolve("reference"));
+        Files.createDirectories(comparisonFolder.resolve("test"));
+        for (int i = 0; i < IMAGES_COUNT; i++) {
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(new Color(40 * i, 120, 200));
+            graphics.fillRect(0, 0, 100, 100);
+            ImageIO.write(image, "png", comparisonFolder.resolve("reference").resolve(getImageName(i)).toFile());
+            if (i == changedImageIndex) {
+                graphics.setColor(Color.BLACK);
+                graphics.fillRect(0, 0, 50, 50);
+            }
+            graphics.dispose();
+            ImageIO.write(image, "png", comparisonFolder.resolve("test").resolve(getImageName(i)).toFile());
+        }
+        return comparisonFolder;
+    }
+
+    private String getImageName(int index) {
+        return "screenshot_" + index + ".png";
+    }
+}
@@ -0,0 +1,181 @@
+package unitTests;
+
+import com.shaft.gui.image.ImageProcessingActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class tests_image_templateMatching {
+    private static final int MATCHES = 2000;
+    private static final int BENCHMARK_MATCHES = 5;
+    private static final int ELEMENT_X = 120;
+    private static final int ELEMENT_Y = 80;
+    private byte[] screenshot;
+    private String referenceImagePath;
+
+    @Test
+    public void findImageWithinCurrentPage_repeatedMatches_expectedToPass() {
+        List<Integer> expectedLocation = Arrays.asList(ELEMENT_X + 1, ELEMENT_Y + 1);
+        // warm up the template cache before measuring
+        Assertions.assertEquals(expectedLocation,
+                ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, screenshot, Imgproc.TM_CCORR_NORMED));
+
+        long residentMemoryBefore = getResidentMemoryInKilobytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MATCHES; i++) {
+            ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, screenshot, Imgproc.TM_CCORR_NORMED);
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        long residentMemoryAfter = getResidentMemoryInKilobytes();
+
+        ReportManager.log("Performed [" + MATCHES + "] template matches in [" + elapsedMillis
+                + "] milliseconds. Resident memory before [" + residentMemoryBefore + "] KB, after ["
+                + residentMemoryAfter + "] KB.");
+        Assertions.assertEquals(expectedLocation,
+                ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, screenshot, Imgproc.TM_CCORR_NORMED));
+    }
+
+    @Test
+    public void findImageWithinCurrentPage_fullHdPage_expectedToPass() throws IOException {
+        benchmarkTemplateMatching(1920, 1080, 1);
+    }
+
+    @Test
+    public void findImageWithinCurrentPage_4kPage_expectedToPass() throws IOException {
+        benchmarkTemplateMatching(3840, 2160, 1);
+    }
+
+    @Test
+    public void findImageWithinCurrentPage_zoomedPage_expectedToPass() throws IOException {
+        // the page was captured at 125% zoom, while the reference image was captured at 100%
+        benchmarkTemplateMatching(1920, 1080, 1.25);
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        Random random = new Random(1);
+        BufferedImage page = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < page.getHeight(); y++) {
+            for (int x = 0; x < page.getWidth(); x++) {
+                page.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        screenshot = encode(page);
+        referenceImagePath = writeReferenceImage("reference.png", page.getSubimage(ELEMENT_X, ELEMENT_Y, 50, 40));
+    }
+
+    private void benchmarkTemplateMatching(int width, int height, double zoom) throws IOException {
+        BufferedImage referencePage = createPage(width, height);
+        int elementX = width / 2 + 37;
+        int elementY = height / 3 + 11;
+        String pageReferenceImagePath = writeReferenceImage("reference_" + width + "x" + height + "_" + zoom + ".png",
+                referencePage.getSubimage(elementX, elementY, 160, 48));
+
+        BufferedImage page = referencePage;
+        if (zoom != 1) {
+            page = new BufferedImage((int) (width * zoom), (int) (height * zoom), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = page.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(referencePage, 0, 0, page.getWidth(), page.getHeight(), null);
+            graphics.dispose();
+        }
+        byte[] pageScreenshot = encode(page);
+        List<Integer> expectedLocation = Arrays.asList((int) (elementX * zoom) + 1, (int) (elementY * zoom) + 1);
+
+        // the first match searches the whole page, and the later ones start from the last known location
+        long startTime = System.nanoTime();
+        List<Integer> location = ImageProcessingActions.findImageWithinCurrentPage(pageReferenceImagePath, pageScreenshot, Imgproc.TM_CCORR_NORMED);
+        long firstMatchMillis = (System.nanoTime() - startTime) / 1_000_000;
+        startTime = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_MATCHES; i++) {
+            location = ImageProcessingActions.findImageWithinCurrentPage(pageReferenceImagePath, pageScreenshot, Imgproc.TM_CCORR_NORMED);
+        }
+        long repeatedMatchMillis = (System.nanoTime() - startTime) / 1_000_000 / BENCHMARK_MATCHES;
+
+        // the previous implementation: a single full resolution pass over the decoded page
+        Mat template = Imgcodecs.imread(pageReferenceImagePath, Imgcodecs.IMREAD_COLOR);
+        startTime = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_MATCHES; i++) {
+            MatOfByte encodedPage = new MatOfByte(pageScreenshot);
+            Mat decodedPage = Imgcodecs.imdecode(encodedPage, Imgcodecs.IMREAD_COLOR);
+            Mat result = new Mat();
+            Imgproc.matchTemplate(decodedPage, template, result, Imgproc.TM_CCORR_NORMED);
+            result.release();
+            decodedPage.release();
+            encodedPage.release();
+        }
+        long fullResolutionMillis = (System.nanoTime() - startTime) / 1_000_000 / BENCHMARK_MATCHES;
+        template.release();
+
+        ReportManager.log("Template matching on a [" + page.getWidth() + "x" + page.getHeight() + "] page: full resolution ["
+                + fullResolutionMillis + "] ms, first match [" + firstMatchMillis + "] ms, repeated match ["
+                + repeatedMatchMillis + "] ms.");
+        if (zoom == 1) {
+            Assertions.assertEquals(expectedLocation, location);
+        } else {
+            // scaled matches are accurate to within a few pixels
+            Assertions.assertTrue(Math.abs(expectedLocation.get(0) - location.get(0)) <= 4
+                    && Math.abs(expectedLocation.get(1) - location.get(1)) <= 4);
+        }
+    }
+
+    private BufferedImage createPage(int width, int height) {
+        // blocks of solid colors and lines of text, which resemble a web page more than random noise does
+        Random random = new Random(width);
+        BufferedImage page = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = page.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        for (int i = 0; i < 400; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(300), 10 + random.nextInt(120));
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.drawString("Element " + i, random.nextInt(width), random.nextInt(height));
+        }
+        graphics.dispose();
+        return page;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private String writeReferenceImage(String fileName, BufferedImage referenceImage) throws IOException {
+        Path referenceFolder = Files.createDirectories(Paths.get("target", "templateMatching"));
+        File referenceFile = referenceFolder.resolve(fileName).toFile();
+        ImageIO.write(referenceImage, "png", referenceFile);
+        return referenceFile.getPath();
+    }
+
+    private long getResidentMemoryInKilobytes() {
+        // only available on linux, where native allocations are reflected in the resident set size
+        try {
+            return Files.readAllLines(Paths.get("/proc/self/status")).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst().orElse(-1L);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package unitTests;
+
+import com.shaft.tools.io.LogBuffer;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class tests_io_logBuffer {
+
+    @Test
+    public void isBlank_whiteSpaceOnly_expectedToPass() {
+        LogBuffer logBuffer = new LogBuffer("tests_io_logBuffer", 16);
+        logBuffer.append(System.lineSeparator());
+        Assertions.assertTrue(logBuffer.isBlank());
+        logBuffer.append("entry");
+        Assertions.assertTrue(!logBuffer.isBlank());
+    }
+
+    @Test
+    public void openInputStream_contentSpilledToDisk_expectedToPass() throws IOException {
+        LogBuffer logBuffer = new LogBuffer("tests_io_logBuffer", 16);
+        StringBuilder expectedLog = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            logBuffer.appendLine("log entry number " + i);
+            expectedLog.append("log entry number ").append(i).append(System.lineSeparator());
+        }
+        try (InputStream logContent = logBuffer.openInputStream()) {
+            Assertions.assertEquals(expectedLog.toString(), new String(logContent.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void appendLine_parallelThreads_expectedToPass() throws InterruptedException, IOException {
+        LogBuffer logBuffer = new LogBuffer("tests_io_logBuffer", 64);
+        int threadsCount = 8;
+        int entriesPerThread = 500;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadsCount; t++) {
+            int threadNumber = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < entriesPerThread; i++) {
+                    logBuffer.appendLine("thread " + threadNumber + " entry " + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        try (InputStream logContent = logBuffer.openInputStream()) {
+            String[] entries = new String(logContent.readAllBytes(), StandardCharsets.UTF_8).split(System.lineSeparator());
+            Assertions.assertEquals(threadsCount * entriesPerThread, entries.length);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package unitTests;
+
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.support.StackHelpers;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+public class tests_support_stackHelpers {
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    public void getCallingMethodName_directCaller_expectedToPass() {
+        Assertions.assertEquals("getCallingMethodName_directCaller_expectedToPass", simulatedPassAction());
+    }
+
+    @Test
+    public void getCallingMethodName_matchesThreadStackTrace_expectedToPass() {
+        Assertions.assertEquals(simulatedLegacyPassAction(), simulatedPassAction());
+    }
+
+    @Test
+    public void getCallingClassName_directCaller_expectedToPass() {
+        Assertions.assertEquals(tests_support_stackHelpers.class.getName(), StackHelpers.getCallingClassName(0));
+    }
+
+    @Test
+    public void getFirstExternalMethodFullName_testMethod_expectedToPass() {
+        Assertions.assertEquals("unitTests.tests_support_stackHelpers.getFirstExternalMethodFullName_testMethod_expectedToPass",
+                ReportManager.getCallingMethodFullName());
+    }
+
+    @Test
+    public void actionNameLookupOverhead_stackWalkerVersusThreadStackTrace() {
+        // warm up both mechanisms before measuring
+        for (int i = 0; i < ITERATIONS; i++) {
+            simulatedLegacyPassAction();
+            simulatedPassAction();
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            simulatedLegacyPassAction();
+        }
+        long legacyNanosPerAction = (System.nanoTime() - startTime) / ITERATIONS;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            simulatedPassAction();
+        }
+        long stackWalkerNanosPerAction = (System.nanoTime() - startTime) / ITERATIONS;
+
+        ReportManager.log("Action name lookup overhead: Thread.getStackTrace() [" + legacyNanosPerAction
+                + "] nanoseconds per action, StackWalker [" + stackWalkerNanosPerAction + "] nanoseconds per action.");
+    }
+
+    private String simulatedPassAction() {
+        return StackHelpers.getCallingMethodName(1);
+    }
+
+    private String simulatedLegacyPassAction() {
+        return Thread.currentThread().getStackTrace()[2].getMethodName();
+    }
+}